@@ -1,3 +1,4 @@
+import service.LiveMatchService;
 import ui.LoginFrame;
 import util.DBConnection;
 import util.DatabaseInitializer;
@@ -9,6 +10,8 @@ import java.sql.Connection;
 public class Main {
     public static void main(String[] args) {
 
+        DatabaseInitializer.initialize();
+        new Thread(LiveMatchService.getInstance()::warmUp, "live-match-warm-up").start();
         new LoginFrame();
 
     }
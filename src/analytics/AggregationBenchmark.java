@@ -0,0 +1,116 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * AggregationBenchmark
+ *
+ * <p>
+ * Compares the sequential and the parallel path of {@link ParallelAggregator} on synthetic
+ * performance and game event tables of 10k, 100k and 1M rows. Every job is warmed up, then
+ * timed as the best of several runs; the parallel result is checked against the sequential
+ * one and against {@link ColumnQuery}, and the benchmark stops if they differ.
+ * </p>
+ *
+ * <p>Example usage (parallelism defaults to the number of cores):
+ * <pre>
+ * java -cp out analytics.AggregationBenchmark 8
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class AggregationBenchmark {
+
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int WARMUP_RUNS = 5;
+    private static final int TIMED_RUNS = 7;
+    private static final String[] EVENT_TYPES = {"Goal", "Assist", "Yellow Card", "Red Card", "Substitution"};
+
+    public static void main(String[] args) {
+        int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Parallelism " + parallelism + ", " + Runtime.getRuntime().availableProcessors() + " cores");
+        System.out.printf("%-18s %10s %12s %12s %8s%n", "job", "rows", "seq rows/s", "par rows/s", "speedup");
+
+        try (ParallelAggregator sequential = new ParallelAggregator(1);
+             ParallelAggregator parallel = new ParallelAggregator(parallelism)) {
+            for (int rows : SIZES) {
+                AnalyticsStore store = synthetic(rows, 42L);
+                ColumnTable performance = store.getPerformance();
+                ColumnTable events = store.getEvents();
+
+                GroupedResult expected = performance.query().groupBy("team_id").sum("goals");
+                compare("team totals", rows, expected,
+                        () -> sequential.totalsByKey(performance, "team_id", "goals"),
+                        () -> parallel.totalsByKey(performance, "team_id", "goals"));
+                compare("player per 90", rows, null,
+                        () -> sequential.per90ByPlayer(performance, "goals"),
+                        () -> parallel.per90ByPlayer(performance, "goals"));
+                compare("minute histogram", rows, null,
+                        () -> Arrays.toString(sequential.eventsPerMinute(events, type -> type.equals("Goal"))),
+                        () -> Arrays.toString(parallel.eventsPerMinute(events, type -> type.equals("Goal"))));
+            }
+        }
+    }
+
+    /**
+     * Builds random tables: 20 teams of 25 players, 380 matches a season over five seasons and
+     * one event per performance row.
+     *
+     * @param rows rows per table
+     * @param seed random seed, the same seed gives the same data
+     * @return the synthetic store
+     */
+    public static AnalyticsStore synthetic(int rows, long seed) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        ColumnTable.Builder performance = new ColumnTable.Builder("performance",
+                "player_id", "match_id", "team_id", "match_date", "goals", "assists", "minutes_played");
+        ColumnTable.Builder events = new ColumnTable.Builder("game_event",
+                "event_id", "match_id", "player_id", "team_id", "match_date", "event_time", "event_type").text(6);
+        for (int i = 0; i < rows; i++) {
+            int player = 1 + random.nextInt(500);
+            int team = 1 + (player - 1) / 25;
+            int match = 1 + random.nextInt(1900);
+            int date = 20200801 + (match / 380) * 10000 + random.nextInt(28);
+            performance.set(0, player).set(1, match).set(2, team).set(3, date)
+                    .set(4, random.nextInt(10) == 0 ? 1 + random.nextInt(3) : 0)
+                    .set(5, random.nextInt(8) == 0 ? 1 : 0)
+                    .set(6, 1 + random.nextInt(90))
+                    .endRow();
+            events.set(0, i + 1).set(1, match).set(2, player).set(3, team).set(4, date)
+                    .set(5, random.nextInt(95)).set(6, EVENT_TYPES[random.nextInt(EVENT_TYPES.length)])
+                    .endRow();
+        }
+        return new AnalyticsStore(performance.build(), events.build(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void compare(String job, int rows, Object expected,
+                                Supplier<Object> sequential,
+                                Supplier<Object> parallel) {
+        Object seqResult = sequential.get();
+        Object parResult = parallel.get();
+        if (!seqResult.equals(parResult) || (expected != null && !expected.equals(seqResult))) {
+            throw new IllegalStateException(job + " at " + rows + " rows: parallel result differs from sequential");
+        }
+        double seqNanos = best(sequential);
+        double parNanos = best(parallel);
+        System.out.printf("%-18s %10d %12.0f %12.0f %7.2fx%n", job, rows,
+                rows / (seqNanos / 1e9), rows / (parNanos / 1e9), seqNanos / parNanos);
+    }
+
+    /** Best time of the timed runs after warming up, in nanoseconds. */
+    private static double best(Supplier<Object> job) {
+        for (int i = 0; i < WARMUP_RUNS; i++) job.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            long start = System.nanoTime();
+            job.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,199 @@
+package analytics;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * AnalyticsStore
+ *
+ * <p>
+ * Columnar in-memory snapshot of the {@code performance} and {@code game_event} tables for
+ * season analytics. Each table is read once with a single streaming query (rows are copied
+ * straight into growing {@code int[]} columns, nothing is kept per row), joined with the
+ * match date and the player's current team so that the usual filters need no lookups. After
+ * that every scan, filter and group-by runs on primitive arrays through {@link ColumnQuery}
+ * without touching SQLite.
+ * </p>
+ *
+ * <p>Columns:
+ * <ul>
+ *   <li>{@code performance}: player_id, match_id, team_id, match_date, goals, assists,
+ *       minutes_played</li>
+ *   <li>{@code game_event}: event_id, match_id, player_id, team_id, match_date, event_time and
+ *       event_type (dictionary encoded)</li>
+ * </ul>
+ * Dates are {@code yyyymmdd} numbers; missing IDs and dates are {@link ColumnTable#NULL} and
+ * missing counts are 0.
+ * </p>
+ *
+ * <p>The snapshot does not follow later writes; call {@link #reload()} to take a new one. It is
+ * dropped when the database is closed, e.g. before a restore.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * AnalyticsStore store = AnalyticsStore.get();
+ * GroupedResult goalsPerTeam = store.getPerformance().query()
+ *         .between("match_date", 20240101, 20241231)
+ *         .groupBy("team_id").sum("goals");
+ * int goalEvents = store.getEvents().query().equalTo("event_type", "Goal").count();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class AnalyticsStore {
+
+    private static final String PERFORMANCE_SQL = """
+            SELECT pf.player_id, pf.match_id, p.team_id, m.match_date, pf.goals, pf.assists, pf.minutes_played
+            FROM performance pf
+            LEFT JOIN players p ON p.player_id = pf.player_id
+            LEFT JOIN matches m ON m.match_id = pf.match_id""";
+
+    private static final String EVENTS_SQL = """
+            SELECT ge.event_id, ge.match_id, ge.player_id, p.team_id, m.match_date, ge.event_time, ge.event_type
+            FROM game_event ge
+            LEFT JOIN players p ON p.player_id = ge.player_id
+            LEFT JOIN matches m ON m.match_id = ge.match_id""";
+
+    /** Rows the driver is asked to fetch per round trip while streaming. */
+    private static final int FETCH_SIZE = 4096;
+
+    private static AnalyticsStore current;
+
+    static {
+        // a restored backup holds different data; the next get() loads it
+        DBConnection.addCloseListener(() -> {
+            synchronized (AnalyticsStore.class) {
+                current = null;
+            }
+        });
+    }
+
+    private final ColumnTable performance;
+    private final ColumnTable events;
+    private final long loadMillis;
+    private final long loadedAt;
+
+    /**
+     * Wraps already built tables, for example synthetic data for benchmarks.
+     *
+     * @param performance table with the performance columns
+     * @param events      table with the game event columns
+     * @param loadMillis  time it took to build them
+     */
+    public AnalyticsStore(ColumnTable performance, ColumnTable events, long loadMillis) {
+        this.performance = performance;
+        this.events = events;
+        this.loadMillis = loadMillis;
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the shared snapshot, loading it on first use.
+     *
+     * @return the snapshot
+     * @throws SQLException if the tables cannot be read
+     */
+    public static synchronized AnalyticsStore get() throws SQLException {
+        if (current == null) current = load();
+        return current;
+    }
+
+    /**
+     * Replaces the shared snapshot with a fresh one.
+     *
+     * @return the new snapshot
+     * @throws SQLException if the tables cannot be read; the old snapshot is kept
+     */
+    public static synchronized AnalyticsStore reload() throws SQLException {
+        current = load();
+        return current;
+    }
+
+    /**
+     * Reads both tables into a new snapshot.
+     *
+     * @return the snapshot
+     * @throws SQLException if the tables cannot be read
+     */
+    public static AnalyticsStore load() throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = DBConnection.getConnection()) {
+            ColumnTable performance = loadPerformance(conn);
+            ColumnTable events = loadEvents(conn);
+            AnalyticsStore store = new AnalyticsStore(performance, events, (System.nanoTime() - start) / 1_000_000);
+            System.out.println("✅ Analytics snapshot loaded: " + store);
+            return store;
+        }
+    }
+
+    private static ColumnTable loadPerformance(Connection conn) throws SQLException {
+        ColumnTable.Builder b = new ColumnTable.Builder("performance",
+                "player_id", "match_id", "team_id", "match_date", "goals", "assists", "minutes_played");
+        try (PreparedStatement stmt = conn.prepareStatement(PERFORMANCE_SQL)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    b.set(0, idOrNull(rs, 1)).set(1, idOrNull(rs, 2)).set(2, idOrNull(rs, 3))
+                            .set(3, ColumnTable.parseDate(rs.getString(4)))
+                            .set(4, rs.getInt(5)).set(5, rs.getInt(6)).set(6, rs.getInt(7))
+                            .endRow();
+                }
+            }
+        }
+        return b.build();
+    }
+
+    private static ColumnTable loadEvents(Connection conn) throws SQLException {
+        ColumnTable.Builder b = new ColumnTable.Builder("game_event",
+                "event_id", "match_id", "player_id", "team_id", "match_date", "event_time", "event_type").text(6);
+        try (PreparedStatement stmt = conn.prepareStatement(EVENTS_SQL)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    b.set(0, rs.getInt(1)).set(1, idOrNull(rs, 2)).set(2, idOrNull(rs, 3)).set(3, idOrNull(rs, 4))
+                            .set(4, ColumnTable.parseDate(rs.getString(5)))
+                            .set(5, rs.getInt(6)).set(6, rs.getString(7))
+                            .endRow();
+                }
+            }
+        }
+        return b.build();
+    }
+
+    /** Reads an ID column, mapping SQL NULL to {@link ColumnTable#NULL}. */
+    private static int idOrNull(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? ColumnTable.NULL : value;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the performance table. */
+    public ColumnTable getPerformance() { return performance; }
+
+    /** Returns the game event table. */
+    public ColumnTable getEvents() { return events; }
+
+    /** Returns how long loading took, in milliseconds. */
+    public long getLoadMillis() { return loadMillis; }
+
+    /** Returns when the snapshot was taken (epoch milliseconds). */
+    public long getLoadedAt() { return loadedAt; }
+
+    /** Returns a rough estimate of the memory used by both tables. */
+    public long estimateMemoryBytes() {
+        return performance.estimateMemoryBytes() + events.estimateMemoryBytes();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnalyticsStore[performance=%d rows, events=%d rows, load=%d ms, memory~%d KB]",
+                performance.getRowCount(), events.getRowCount(), loadMillis, estimateMemoryBytes() / 1024);
+    }
+}
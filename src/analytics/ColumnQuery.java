@@ -0,0 +1,254 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * ColumnQuery
+ *
+ * <p>
+ * Filter, aggregate and group-by over a {@link ColumnTable}. A query keeps a selection vector:
+ * the numbers of the rows that passed the filters so far, in increasing order, in one
+ * {@code int[]}. Every filter scans one column and compacts the selection in place; the loops
+ * write each row unconditionally and only advance the write position when the row passes, so
+ * they have no unpredictable branch and no per-row allocation. Aggregates then read only the
+ * selected rows.
+ * </p>
+ *
+ * <p>Filters on a text column test each distinct value once through its dictionary and then
+ * compare codes. Rows whose value is {@link ColumnTable#NULL} never pass a range filter.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * GroupedResult goals = performance.query()
+ *         .between("match_date", 20240101, 20241231)
+ *         .atLeast("minutes_played", 1)
+ *         .groupBy("player_id")
+ *         .sum("goals");
+ * long cards = events.query().whereText("event_type", t -&gt; t.toLowerCase().contains("card")).count();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public final class ColumnQuery {
+
+    private final ColumnTable table;
+    private int[] selection; // null until the first filter: all rows are selected
+    private int size;
+
+    ColumnQuery(ColumnTable table) {
+        this.table = table;
+        this.size = table.getRowCount();
+    }
+
+    // ---------- Filters ----------
+
+    /**
+     * Keeps the rows whose value lies in {@code [min, max]}.
+     *
+     * @param column column name
+     * @param min    smallest accepted value
+     * @param max    largest accepted value
+     * @return this query
+     */
+    public ColumnQuery between(String column, int min, int max) {
+        int[] values = table.column(column);
+        int lo = Math.max(min, ColumnTable.NULL + 1);
+        if (selection == null) {
+            int[] out = new int[size];
+            int n = 0;
+            for (int row = 0; row < size; row++) {
+                int v = values[row];
+                out[n] = row;
+                n += (v >= lo & v <= max) ? 1 : 0;
+            }
+            selection = out;
+            size = n;
+        } else {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                int v = values[row];
+                selection[n] = row;
+                n += (v >= lo & v <= max) ? 1 : 0;
+            }
+            size = n;
+        }
+        return this;
+    }
+
+    /** Keeps the rows whose value equals {@code value}. */
+    public ColumnQuery equalTo(String column, int value) {
+        return between(column, value, value);
+    }
+
+    /** Keeps the rows whose value is at least {@code min}. */
+    public ColumnQuery atLeast(String column, int min) {
+        return between(column, min, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keeps the rows of a text column equal to {@code value}; a value that never occurs selects
+     * nothing.
+     */
+    public ColumnQuery equalTo(String column, String value) {
+        int code = table.dictionary(column).codeOf(value);
+        if (code == ColumnTable.NULL) {
+            selection = new int[0];
+            size = 0;
+            return this;
+        }
+        return between(column, code, code);
+    }
+
+    /**
+     * Keeps the rows of a text column whose value passes the test. The test runs once per
+     * distinct value.
+     */
+    public ColumnQuery whereText(String column, Predicate<String> test) {
+        boolean[] accepted = table.dictionary(column).matching(test);
+        return where(column, code -> code != ColumnTable.NULL && accepted[code]);
+    }
+
+    /** Keeps the rows whose value passes the test. */
+    public ColumnQuery where(String column, IntPredicate test) {
+        int[] values = table.column(column);
+        int[] rows = selection != null ? selection : new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            int row = selection != null ? selection[i] : i;
+            if (test.test(values[row])) rows[n++] = row;
+        }
+        selection = rows;
+        size = n;
+        return this;
+    }
+
+    // ---------- Aggregates ----------
+
+    /** Returns the number of selected rows. */
+    public int count() {
+        return size;
+    }
+
+    /** Returns the sum of a column over the selected rows, ignoring missing values. */
+    public long sum(String column) {
+        int[] values = table.column(column);
+        long total = 0;
+        if (selection == null) {
+            for (int row = 0; row < size; row++) total += valueOrZero(values[row]);
+        } else {
+            for (int i = 0; i < size; i++) total += valueOrZero(values[selection[i]]);
+        }
+        return total;
+    }
+
+    /** Returns the selected row numbers in increasing order. */
+    public int[] rows() {
+        if (selection == null) {
+            int[] all = new int[size];
+            for (int row = 0; row < size; row++) all[row] = row;
+            return all;
+        }
+        return Arrays.copyOf(selection, size);
+    }
+
+    /**
+     * Groups the selected rows by the value of a column; rows with a missing key are skipped.
+     *
+     * @param keyColumn column to group by
+     * @return the grouping, to be finished with {@link Grouping#sum(String)} or {@link Grouping#count()}
+     */
+    public Grouping groupBy(String keyColumn) {
+        return new Grouping(keyColumn);
+    }
+
+    static long valueOrZero(int value) {
+        return value == ColumnTable.NULL ? 0 : value;
+    }
+
+    /**
+     * Group-by stage of a query.
+     */
+    public final class Grouping {
+        private final String keyColumn;
+
+        private Grouping(String keyColumn) {
+            this.keyColumn = keyColumn;
+        }
+
+        /** Sums a column per group. */
+        public GroupedResult sum(String valueColumn) {
+            return aggregate(table.column(valueColumn));
+        }
+
+        /** Counts the rows per group. */
+        public GroupedResult count() {
+            return aggregate(null);
+        }
+
+        /**
+         * Dense keys (IDs) are added up in an array indexed by key; sparse keys are sorted
+         * together with their row numbers and added up run by run.
+         */
+        private GroupedResult aggregate(int[] values) {
+            int[] keys = table.column(keyColumn);
+            StringDictionary labels = table.isText(keyColumn) ? table.dictionary(keyColumn) : null;
+
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, present = 0;
+            for (int i = 0; i < size; i++) {
+                int key = keys[selection != null ? selection[i] : i];
+                if (key == ColumnTable.NULL) continue;
+                if (key < min) min = key;
+                if (key > max) max = key;
+                present++;
+            }
+            if (present == 0) return new GroupedResult(new int[0], new long[0], labels);
+
+            long range = (long) max - min + 1;
+            if (range <= Math.max(1024, 2L * present)) {
+                long[] totals = new long[(int) range];
+                int[] counts = new int[(int) range];
+                for (int i = 0; i < size; i++) {
+                    int row = selection != null ? selection[i] : i;
+                    int key = keys[row];
+                    if (key == ColumnTable.NULL) continue;
+                    totals[key - min] += values == null ? 1 : valueOrZero(values[row]);
+                    counts[key - min]++;
+                }
+                int groups = 0;
+                for (int c : counts) if (c > 0) groups++;
+                int[] groupKeys = new int[groups];
+                long[] groupTotals = new long[groups];
+                for (int k = 0, g = 0; k < counts.length; k++) {
+                    if (counts[k] == 0) continue;
+                    groupKeys[g] = k + min;
+                    groupTotals[g++] = totals[k];
+                }
+                return new GroupedResult(groupKeys, groupTotals, labels);
+            }
+
+            long[] packed = new long[present];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection != null ? selection[i] : i;
+                int key = keys[row];
+                if (key != ColumnTable.NULL) packed[n++] = ((long) key << 32) | (row & 0xFFFFFFFFL);
+            }
+            Arrays.sort(packed);
+            int[] groupKeys = new int[present];
+            long[] groupTotals = new long[present];
+            int groups = -1;
+            for (long entry : packed) {
+                int key = (int) (entry >> 32);
+                int row = (int) entry;
+                if (groups < 0 || groupKeys[groups] != key) groupKeys[++groups] = key;
+                groupTotals[groups] += values == null ? 1 : valueOrZero(values[row]);
+            }
+            return new GroupedResult(Arrays.copyOf(groupKeys, groups + 1), Arrays.copyOf(groupTotals, groups + 1), labels);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package analytics;
+
+import java.util.Arrays;
+
+/**
+ * GroupedResult
+ *
+ * <p>
+ * Result of a group-by: the distinct keys in increasing order and one total per key, held in
+ * two parallel primitive arrays. Keys of a text column can be turned back into text with
+ * {@link #getLabel(int)}.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * GroupedResult goals = performance.query().groupBy("player_id").sum("goals");
+ * for (int i = 0; i &lt; goals.size(); i++) {
+ *     System.out.println(goals.getKey(i) + ": " + goals.getValue(i));
+ * }
+ * long salah = goals.get(7);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public final class GroupedResult {
+
+    private final int[] keys;
+    private final long[] values;
+    private final StringDictionary labels;
+
+    /**
+     * @param keys   distinct keys in increasing order
+     * @param values total per key
+     * @param labels dictionary of the key column, or null if the keys are plain numbers
+     */
+    public GroupedResult(int[] keys, long[] values, StringDictionary labels) {
+        this.keys = keys;
+        this.values = values;
+        this.labels = labels;
+    }
+
+    /** Returns the number of groups. */
+    public int size() { return keys.length; }
+
+    /** Returns the key of the i-th group. */
+    public int getKey(int i) { return keys[i]; }
+
+    /** Returns the total of the i-th group. */
+    public long getValue(int i) { return values[i]; }
+
+    /** Returns the key of the i-th group as text, or its number if the key column is not text. */
+    public String getLabel(int i) {
+        return labels != null ? labels.decode(keys[i]) : String.valueOf(keys[i]);
+    }
+
+    /**
+     * Returns the total of a key.
+     *
+     * @param key group key
+     * @return its total, or 0 if no row had that key
+     */
+    public long get(int key) {
+        int i = Arrays.binarySearch(keys, key);
+        return i >= 0 ? values[i] : 0;
+    }
+
+    /** Returns a copy of the keys. */
+    public int[] getKeys() { return keys.clone(); }
+
+    /** Returns a copy of the totals. */
+    public long[] getValues() { return values.clone(); }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GroupedResult)) return false;
+        GroupedResult other = (GroupedResult) o;
+        return Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("GroupedResult{");
+        for (int i = 0; i < Math.min(keys.length, 10); i++) {
+            if (i > 0) text.append(", ");
+            text.append(getLabel(i)).append('=').append(values[i]);
+        }
+        if (keys.length > 10) text.append(", ... ").append(keys.length - 10).append(" more");
+        return text.append('}').toString();
+    }
+}
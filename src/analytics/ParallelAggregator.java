@@ -0,0 +1,292 @@
+package analytics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * ParallelAggregator
+ *
+ * <p>
+ * Aggregation jobs over the columns of an {@link AnalyticsStore} that split the rows across
+ * cores with fork/join. The row range is halved until a slice has at most
+ * {@code soccer.analytics.grain} rows (default 16384); every slice adds its rows into its own
+ * primitive accumulator arrays, and the partial arrays are added together while the tasks
+ * join. Totals are integer sums, which do not depend on the order of the additions, and rates
+ * are only derived from the final totals, so every job returns exactly what the sequential path
+ * returns.
+ * </p>
+ *
+ * <p>Jobs:
+ * <ul>
+ *   <li>{@link #totalsByKey(ColumnTable, String, String)}: e.g. goals per team</li>
+ *   <li>{@link #per90ByPlayer(ColumnTable, String)}: a statistic per 90 minutes for every player</li>
+ *   <li>{@link #eventsPerMinute(ColumnTable, Predicate)}: histogram of event minutes</li>
+ * </ul>
+ * </p>
+ *
+ * <p>A parallelism of 1 runs everything on the calling thread (the sequential path); any other
+ * value runs in a private {@link ForkJoinPool} of that size. Grouping needs dense keys such as
+ * IDs; sparse or widely spread keys fall back to the sequential {@link ColumnQuery} group-by.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * try (ParallelAggregator aggregator = new ParallelAggregator(4)) {
+ *     GroupedResult goalsPerTeam = aggregator.totalsByKey(store.getPerformance(), "team_id", "goals");
+ *     long[] minutes = aggregator.eventsPerMinute(store.getEvents(), type -&gt; type.equals("Goal"));
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class ParallelAggregator implements AutoCloseable {
+
+    /** Rows handled by one leaf task. */
+    private static final int GRAIN = Integer.getInteger("soccer.analytics.grain", 16384);
+
+    /**
+     * Key ranges wider than this, or than twice the keys present (as in {@link ColumnQuery}), are
+     * grouped by sorting instead; every leaf task allocates dense arrays of the range's width.
+     */
+    private static final int MAX_DENSE_RANGE = 1 << 16;
+
+    /** Last minute bucket of {@link #eventsPerMinute}; later minutes (extra time) are counted in it. */
+    public static final int LAST_MINUTE = 120;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism number of worker threads; 1 for the sequential path
+     */
+    public ParallelAggregator(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.parallelism = parallelism;
+        this.pool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
+    }
+
+    /** Returns an aggregator using every available core. */
+    public static ParallelAggregator allCores() {
+        return new ParallelAggregator(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Returns the number of worker threads (1 = sequential). */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // ---------- Jobs ----------
+
+    /**
+     * Sums a column per key, e.g. goals per team.
+     *
+     * @param table       table to aggregate
+     * @param keyColumn   column to group by; rows with a missing key are skipped
+     * @param valueColumn column to add up
+     * @return one total per key, identical to {@code table.query().groupBy(keyColumn).sum(valueColumn)}
+     */
+    public GroupedResult totalsByKey(ColumnTable table, String keyColumn, String valueColumn) {
+        int[] keys = table.column(keyColumn);
+        int[] values = table.column(valueColumn);
+        int rows = table.getRowCount();
+        int[] range = keyRange(keys, rows);
+        if (range == null) return table.query().groupBy(keyColumn).sum(valueColumn);
+        int min = range[0];
+        int width = range[1] - min + 1;
+
+        // accumulator: [0] totals per key, [1] rows per key
+        long[][] acc = run(rows, (from, to) -> {
+            long[] totals = new long[width];
+            long[] counts = new long[width];
+            for (int row = from; row < to; row++) {
+                int key = keys[row];
+                if (key == ColumnTable.NULL) continue;
+                totals[key - min] += ColumnQuery.valueOrZero(values[row]);
+                counts[key - min]++;
+            }
+            return new long[][]{totals, counts};
+        }, ParallelAggregator::add);
+
+        int groups = 0;
+        for (long c : acc[1]) if (c > 0) groups++;
+        int[] groupKeys = new int[groups];
+        long[] groupTotals = new long[groups];
+        for (int k = 0, g = 0; k < width; k++) {
+            if (acc[1][k] == 0) continue;
+            groupKeys[g] = k + min;
+            groupTotals[g++] = acc[0][k];
+        }
+        return new GroupedResult(groupKeys, groupTotals, table.isText(keyColumn) ? table.dictionary(keyColumn) : null);
+    }
+
+    /**
+     * Computes a statistic per 90 minutes for every player of a performance table.
+     *
+     * @param performance table with {@code player_id}, {@code minutes_played} and the statistic
+     * @param valueColumn statistic, e.g. "goals"
+     * @return totals, minutes and rates per player
+     */
+    public Per90 per90ByPlayer(ColumnTable performance, String valueColumn) {
+        GroupedResult totals = totalsByKey(performance, "player_id", valueColumn);
+        GroupedResult minutes = totalsByKey(performance, "player_id", "minutes_played");
+        return new Per90(totals, minutes);
+    }
+
+    /**
+     * Counts events per minute of play.
+     *
+     * @param events game event table with {@code event_time} and {@code event_type}
+     * @param type   which event types to count, tested once per distinct type; null for all
+     * @return counts indexed by minute 0..{@link #LAST_MINUTE}; missing or negative minutes are skipped
+     */
+    public long[] eventsPerMinute(ColumnTable events, Predicate<String> type) {
+        int[] minutes = events.column("event_time");
+        int[] types = events.column("event_type");
+        boolean[] accepted = type == null ? null : events.dictionary("event_type").matching(type);
+        return run(events.getRowCount(), (from, to) -> {
+            long[] histogram = new long[LAST_MINUTE + 1];
+            for (int row = from; row < to; row++) {
+                int minute = minutes[row];
+                if (minute < 0) continue; // also skips NULL
+                if (accepted != null && (types[row] == ColumnTable.NULL || !accepted[types[row]])) continue;
+                histogram[Math.min(minute, LAST_MINUTE)]++;
+            }
+            return histogram;
+        }, ParallelAggregator::add);
+    }
+
+    // ---------- Fork/join core ----------
+
+    /** Work done on one slice of rows. */
+    @FunctionalInterface
+    interface Leaf<T> {
+        T apply(int from, int to);
+    }
+
+    /**
+     * Runs {@code leaf} over {@code [0, rows)}: directly for the sequential path, otherwise split
+     * into slices of at most {@link #GRAIN} rows whose results are merged with {@code combine}.
+     */
+    <T> T run(int rows, Leaf<T> leaf, BinaryOperator<T> combine) {
+        if (pool == null || rows <= GRAIN) return leaf.apply(0, rows);
+        return pool.invoke(new Slice<>(0, rows, leaf, combine));
+    }
+
+    private static final class Slice<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final Leaf<T> leaf;
+        private final BinaryOperator<T> combine;
+
+        Slice(int from, int to, Leaf<T> leaf, BinaryOperator<T> combine) {
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.combine = combine;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= GRAIN) return leaf.apply(from, to);
+            int mid = (from + to) >>> 1;
+            Slice<T> left = new Slice<>(from, mid, leaf, combine);
+            left.fork();
+            T right = new Slice<>(mid, to, leaf, combine).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    /** Smallest and largest key, or null if the keys are too sparse for dense arrays. */
+    private int[] keyRange(int[] keys, int rows) {
+        long[] minMax = run(rows, (from, to) -> {
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE, present = 0;
+            for (int row = from; row < to; row++) {
+                int key = keys[row];
+                if (key == ColumnTable.NULL) continue;
+                min = Math.min(min, key);
+                max = Math.max(max, key);
+                present++;
+            }
+            return new long[]{min, max, present};
+        }, (a, b) -> new long[]{Math.min(a[0], b[0]), Math.max(a[1], b[1]), a[2] + b[2]});
+        if (minMax[0] > minMax[1]) return new int[]{0, -1}; // no keys
+        long width = minMax[1] - minMax[0] + 1;
+        if (width > MAX_DENSE_RANGE || width > Math.max(1024, 2 * minMax[2])) return null;
+        return new int[]{(int) minMax[0], (int) minMax[1]};
+    }
+
+    /** Adds {@code b} into {@code a} element by element and returns {@code a}. */
+    private static long[] add(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) a[i] += b[i];
+        return a;
+    }
+
+    private static long[][] add(long[][] a, long[][] b) {
+        for (int i = 0; i < a.length; i++) add(a[i], b[i]);
+        return a;
+    }
+
+    /** Shuts the worker pool down. */
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdown();
+    }
+
+    /**
+     * A statistic and the minutes played per player, with the rate per 90 minutes.
+     */
+    public static final class Per90 {
+        private final GroupedResult totals;
+        private final GroupedResult minutes;
+
+        Per90(GroupedResult totals, GroupedResult minutes) {
+            this.totals = totals;
+            this.minutes = minutes;
+        }
+
+        /** Returns the number of players. */
+        public int size() { return totals.size(); }
+
+        /** Returns the player ID of the i-th entry. */
+        public int getPlayerId(int i) { return totals.getKey(i); }
+
+        /** Returns the statistic total of the i-th entry. */
+        public long getTotal(int i) { return totals.getValue(i); }
+
+        /** Returns the minutes played of the i-th entry. */
+        public long getMinutes(int i) { return minutes.getValue(i); }
+
+        /** Returns the rate per 90 minutes of the i-th entry, 0 if the player has no minutes. */
+        public double getPer90(int i) {
+            long played = getMinutes(i);
+            return played == 0 ? 0.0 : getTotal(i) * 90.0 / played;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Per90)) return false;
+            Per90 other = (Per90) o;
+            return totals.equals(other.totals) && minutes.equals(other.minutes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * totals.hashCode() + minutes.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Per90[players=" + size() + "]";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelAggregator[parallelism=" + parallelism + ", grain=" + GRAIN + "]";
+    }
+}
@@ -0,0 +1,94 @@
+package analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * StringDictionary
+ *
+ * <p>
+ * Dictionary encoding for a text column of a {@link ColumnTable}: every distinct value is
+ * stored once and the column itself only holds its {@code int} code. Codes are assigned in
+ * order of first appearance, starting at 0.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * StringDictionary types = events.dictionary("event_type");
+ * int goal = types.codeOf("Goal");
+ * String name = types.decode(goal);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code of a value, adding it if it is new.
+     *
+     * @param value text to encode
+     * @return its code, or {@link ColumnTable#NULL} for null
+     */
+    public int encode(String value) {
+        if (value == null) return ColumnTable.NULL;
+        Integer code = codes.get(value);
+        if (code != null) return code;
+        values.add(value);
+        codes.put(value, values.size() - 1);
+        return values.size() - 1;
+    }
+
+    /**
+     * Returns the code of a value without adding it.
+     *
+     * @param value text to look up
+     * @return its code, or {@link ColumnTable#NULL} if the value does not occur
+     */
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? ColumnTable.NULL : code;
+    }
+
+    /**
+     * Returns which codes stand for values accepted by the test, indexed by code. Lets a filter
+     * on text run the test once per distinct value instead of once per row.
+     *
+     * @param test condition on the text
+     * @return one flag per code
+     */
+    public boolean[] matching(Predicate<String> test) {
+        boolean[] accepted = new boolean[values.size()];
+        for (int code = 0; code < accepted.length; code++) accepted[code] = test.test(values.get(code));
+        return accepted;
+    }
+
+    /**
+     * Returns the value of a code.
+     *
+     * @param code code from this dictionary
+     * @return the value, or null for {@link ColumnTable#NULL}
+     */
+    public String decode(int code) {
+        return code == ColumnTable.NULL ? null : values.get(code);
+    }
+
+    /** Returns the number of distinct values. */
+    public int size() {
+        return values.size();
+    }
+
+    /** Returns a rough estimate of the memory used by the values and the lookup map. */
+    long estimateMemoryBytes() {
+        long bytes = 64;
+        for (String value : values) bytes += 40 + value.length() + 48;
+        return bytes;
+    }
+}
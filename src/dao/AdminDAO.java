@@ -1,5 +1,6 @@
 package dao;
 
+import service.DashboardStatsService;
 import util.DBConnection;
 import javax.swing.table.DefaultTableModel;
 import java.sql.Connection;
@@ -12,8 +13,9 @@ import java.sql.ResultSet;
  *
  * <p>This class provides methods to:
  * <ul>
- *     <li>Retrieve counts of players, teams, matches, and events.</li>
+ *     <li>Retrieve counts of players, teams, matches, and events (from {@link DashboardStatsService}).</li>
  *     <li>Retrieve table models for JTable display.</li>
+ *     <li>Retrieve {@link KeysetQuery} definitions to page through large tables.</li>
  *     <li>Add new admin users.</li>
  * </ul>
  * </p>
@@ -21,6 +23,7 @@ import java.sql.ResultSet;
  * <p>Usage example:
  * <pre>
  * DefaultTableModel playersTable = AdminDAO.getPlayersTable();
+ * KeysetQuery eventsQuery = AdminDAO.getEventsQuery();
  * int totalTeams = AdminDAO.getTeamsCount();
  * boolean added = AdminDAO.addAdmin("admin1", "admin@example.com", "password123");
  * </pre>
@@ -37,12 +40,7 @@ public class AdminDAO {
      * @return number of players
      */
     public static int getPlayersCount() {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM players");
-            ResultSet rs = ps.executeQuery();
-            if(rs.next()) return rs.getInt(1);
-        } catch (Exception e) { e.printStackTrace(); }
-        return 0;
+        return DashboardStatsService.getSnapshot().getPlayers();
     }
 
     /**
@@ -77,16 +75,25 @@ public class AdminDAO {
         return model;
     }
 
+    /**
+     * Returns the players listing as a paged query, ordered by player ID.
+     * @return keyset query over players
+     */
+    public static KeysetQuery getPlayersQuery() {
+        return new KeysetQuery(
+                new String[]{"ID", "Full Name", "Age", "Position", "Team", "Jersey Number"},
+                "p.player_id, p.full_name, p.age, p.position, t.team_name, p.jersey_number",
+                "FROM players p LEFT JOIN teams t ON p.team_id = t.team_id",
+                "p.player_id",
+                AdminDAO::getPlayersCount,
+                "p.full_name", "p.position", "p.nationality", "t.team_name");
+    }
+
     // ================= Teams =================
 
     /** Returns the total number of teams in the database. */
     public static int getTeamsCount() {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM teams");
-            ResultSet rs = ps.executeQuery();
-            if(rs.next()) return rs.getInt(1);
-        } catch (Exception e) { e.printStackTrace(); }
-        return 0;
+        return DashboardStatsService.getSnapshot().getTeams();
     }
 
     /** Returns a DefaultTableModel containing all teams and their details. */
@@ -115,12 +122,7 @@ public class AdminDAO {
 
     /** Returns the total number of matches in the database. */
     public static int getMatchesCount() {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM matches");
-            ResultSet rs = ps.executeQuery();
-            if(rs.next()) return rs.getInt(1);
-        } catch (Exception e) { e.printStackTrace(); }
-        return 0;
+        return DashboardStatsService.getSnapshot().getMatches();
     }
 
     /** Returns a DefaultTableModel containing all matches and their details. */
@@ -153,16 +155,22 @@ public class AdminDAO {
         return model;
     }
 
+    /** Returns the matches listing as a paged query, ordered by match ID. */
+    public static KeysetQuery getMatchesQuery() {
+        return new KeysetQuery(
+                new String[]{"Match ID", "Home Team", "Away Team", "Date", "Score"},
+                "m.match_id, t1.team_name, t2.team_name, m.match_date, m.home_score || ' - ' || m.away_score",
+                "FROM matches m LEFT JOIN teams t1 ON m.home_team = t1.team_id LEFT JOIN teams t2 ON m.away_team = t2.team_id",
+                "m.match_id",
+                AdminDAO::getMatchesCount,
+                "t1.team_name", "t2.team_name", "m.match_date", "m.venue");
+    }
+
     // ================= Events =================
 
     /** Returns the total number of game events in the database. */
     public static int getEventsCount() {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM game_event");
-            ResultSet rs = ps.executeQuery();
-            if(rs.next()) return rs.getInt(1);
-        } catch (Exception e) { e.printStackTrace(); }
-        return 0;
+        return DashboardStatsService.getSnapshot().getEvents();
     }
 
     /** Returns a DefaultTableModel containing all game events. */
@@ -196,6 +204,17 @@ public class AdminDAO {
         return model;
     }
 
+    /** Returns the game events listing as a paged query, ordered by event ID. */
+    public static KeysetQuery getEventsQuery() {
+        return new KeysetQuery(
+                new String[]{"Event ID", "Match ID", "Player", "Team", "Event Type", "Time"},
+                "ge.event_id, ge.match_id, p.full_name, t.team_name, ge.event_type, ge.event_time",
+                "FROM game_event ge LEFT JOIN players p ON ge.player_id = p.player_id LEFT JOIN teams t ON p.team_id = t.team_id",
+                "ge.event_id",
+                AdminDAO::getEventsCount,
+                "p.full_name", "t.team_name", "ge.event_type");
+    }
+
     // ================= Performance =================
 
     /** Returns a DefaultTableModel containing player performance ratings. */
@@ -0,0 +1,91 @@
+package dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * BatchResult
+ *
+ * <p>
+ * Outcome of a batch insert. For every submitted row it records either the generated ID or
+ * the reason the row was rejected, so callers can report partial failures row by row.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * BatchResult result = GameEventDAO.addEvents(events);
+ * if (!result.isFullySuccessful()) {
+ *     result.getFailures().forEach((index, error) -&gt; System.out.println(index + ": " + error));
+ * }
+ * int firstId = result.getGeneratedIds()[0];
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class BatchResult {
+
+    /** ID stored for rows that were not inserted. */
+    public static final int NOT_INSERTED = -1;
+
+    private final int[] generatedIds;
+    private final Map<Integer, String> failures = new LinkedHashMap<>();
+
+    /**
+     * Creates a result for {@code size} submitted rows, none of them inserted yet.
+     *
+     * @param size number of submitted rows
+     */
+    public BatchResult(int size) {
+        this.generatedIds = new int[size];
+        Arrays.fill(generatedIds, NOT_INSERTED);
+    }
+
+    /** Records the generated ID of the row at {@code index}. */
+    void setGeneratedId(int index, int id) {
+        generatedIds[index] = id;
+        failures.remove(index);
+    }
+
+    /** Records why the row at {@code index} was rejected. */
+    void setFailure(int index, String error) {
+        generatedIds[index] = NOT_INSERTED;
+        failures.put(index, error);
+    }
+
+    /** Marks every row as failed, e.g. when the surrounding transaction was rolled back. */
+    void failAll(String error) {
+        for (int i = 0; i < generatedIds.length; i++) setFailure(i, error);
+    }
+
+    /** Returns the number of submitted rows. */
+    public int getSubmittedCount() { return generatedIds.length; }
+
+    /** Returns the number of rows that were inserted. */
+    public int getInsertedCount() { return generatedIds.length - failures.size(); }
+
+    /** Returns the number of rows that were rejected. */
+    public int getFailedCount() { return failures.size(); }
+
+    /** Returns true if every submitted row was inserted. */
+    public boolean isFullySuccessful() { return failures.isEmpty(); }
+
+    /** Returns the generated IDs in submission order ({@link #NOT_INSERTED} for rejected rows). */
+    public int[] getGeneratedIds() { return generatedIds.clone(); }
+
+    /** Returns the generated ID of the row at {@code index}, or {@link #NOT_INSERTED}. */
+    public int getGeneratedId(int index) { return generatedIds[index]; }
+
+    /** Returns the rejected rows: submission index mapped to the error message. */
+    public Map<Integer, String> getFailures() { return Collections.unmodifiableMap(failures); }
+
+    @Override
+    public String toString() {
+        return "BatchResult[submitted=" + getSubmittedCount() + ", inserted=" + getInsertedCount()
+                + ", failed=" + getFailedCount() + "]";
+    }
+}
@@ -1,11 +1,23 @@
 package dao;
 
 import model.GameEvent;
+import service.DashboardStatsService;
+import service.LeaderboardService;
+import service.LiveMatchService;
+import service.LeaderboardService.Source;
 import util.DBConnection;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * GameEventDAO is a Data Access Object (DAO) class responsible for
@@ -13,7 +25,11 @@ import java.sql.SQLException;
  * in the Soccer Management System database.
  *
  * <p>Each method connects to the database, executes the SQL query, and returns
- * a boolean indicating success or failure.</p>
+ * a boolean indicating success or failure. {@link #addEvents(Collection)} inserts many
+ * events in one transaction and returns a {@link BatchResult}.</p>
+ *
+ * <p>Every change is passed on to {@link LiveMatchService}, which keeps the timelines of
+ * today's matches in memory.</p>
  *
  * <p>Usage example:
  * <pre>
@@ -22,6 +38,7 @@ import java.sql.SQLException;
  * event.setEventTime(25);
  * boolean updated = GameEventDAO.UpdateEvent(event);
  * boolean deleted = GameEventDAO.DeleteEvent(event);
+ * BatchResult result = GameEventDAO.addEvents(replayedEvents);
  * </pre>
  * </p>
  *
@@ -30,26 +47,36 @@ import java.sql.SQLException;
  */
 public class GameEventDAO {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO game_event (match_id, player_id, event_type, event_time) VALUES (?, ?, ?, ?)";
+
+    /** Maximum number of rows sent to SQLite in one executeBatch call. */
+    private static volatile int maxBatchSize = 500;
+
     /**
-     * Adds a new game event to the database.
+     * Adds a new game event to the database and stores its generated event_id on {@code e}.
      *
      * @param e GameEvent object containing match_id, player_id, event_type, event_time
      * @return true if insertion succeeds, false otherwise
      */
     public static boolean AddEvent(GameEvent e) {
-        try {
-            Connection conn = DBConnection.getConnection();
-            String sql = "INSERT INTO game_event (match_id, player_id, event_type, event_time) VALUES (?, ?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, e.getMatchId());
-            stmt.setInt(2, e.getPlayerId());
-            stmt.setString(3, e.getEventType());
-            stmt.setInt(4, e.getEventTime());
-            return stmt.executeUpdate() > 0;
+        int rows;
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(INSERT_SQL);
+            bindInsert(stmt, e);
+            rows = stmt.executeUpdate();
+            if (rows > 0) e.setEventId(lastInsertId(conn));
+            DashboardStatsService.invalidate();
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
         }
+        // notified after the connection is back in the pool, like MatchDAO's listeners
+        if (rows > 0) {
+            LeaderboardService.playerChanged(Source.EVENTS, e.getPlayerId());
+            LiveMatchService.getInstance().eventsAdded(List.of(e));
+        }
+        return rows > 0;
     }
 
     /**
@@ -59,8 +86,9 @@ public class GameEventDAO {
      * @return true if update succeeds, false otherwise
      */
     public static boolean UpdateEvent(GameEvent e) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        GameEvent before;
+        boolean updated;
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "UPDATE game_event SET match_id=?, player_id=?, event_type=?, event_time=? WHERE event_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, e.getMatchId());
@@ -68,11 +96,19 @@ public class GameEventDAO {
             stmt.setString(3, e.getEventType());
             stmt.setInt(4, e.getEventTime());
             stmt.setInt(5, e.getEventId());
-            return stmt.executeUpdate() > 0;
+            before = find(conn, e.getEventId());
+            updated = stmt.executeUpdate() > 0;
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
         }
+        if (updated) {
+            LeaderboardService.playersChanged(Source.EVENTS,
+                    before == null ? List.of(e.getPlayerId()) : List.of(before.getPlayerId(), e.getPlayerId()));
+            LiveMatchService.getInstance().eventsChanged(
+                    before == null ? List.of(e.getMatchId()) : List.of(before.getMatchId(), e.getMatchId()));
+        }
+        return updated;
     }
 
     /**
@@ -82,15 +118,150 @@ public class GameEventDAO {
      * @return true if deletion succeeds, false otherwise
      */
     public static boolean DeleteEvent(GameEvent e) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        GameEvent before;
+        int rows;
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "DELETE FROM game_event WHERE event_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, e.getEventId());
-            return stmt.executeUpdate() > 0;
+            before = find(conn, e.getEventId());
+            rows = stmt.executeUpdate();
+            DashboardStatsService.invalidate();
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
         }
+        if (rows > 0 && before != null) {
+            LeaderboardService.playerChanged(Source.EVENTS, before.getPlayerId());
+            LiveMatchService.getInstance().eventsChanged(List.of(before.getMatchId()));
+        }
+        return rows > 0;
+    }
+
+    /**
+     * Inserts many game events in a single transaction using JDBC batches.
+     *
+     * <p>Events are sent in batches of at most {@link #getMaxBatchSize()} rows. If a batch is
+     * rejected, it is rolled back to its savepoint and retried row by row so that only the
+     * offending rows fail; all other rows are committed together. On success the generated
+     * event_id is also stored on each GameEvent.</p>
+     *
+     * <p>IDs are derived from {@code last_insert_rowid()}: the batch runs inside one write
+     * transaction on an AUTOINCREMENT key, so the rows of a batch get consecutive IDs.</p>
+     *
+     * @param events events to insert, in order
+     * @return the generated IDs and per-row failures, indexed by position in {@code events}
+     */
+    public static BatchResult addEvents(Collection<GameEvent> events) {
+        List<GameEvent> list = new ArrayList<>(events);
+        BatchResult result = new BatchResult(list.size());
+        if (list.isEmpty()) return result;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement stmt = conn.prepareStatement(INSERT_SQL);
+                int batchSize = maxBatchSize;
+                for (int from = 0; from < list.size(); from += batchSize) {
+                    insertChunk(conn, stmt, list, from, Math.min(from + batchSize, list.size()), result);
+                }
+                conn.commit();
+                DashboardStatsService.invalidate();
+            } catch (SQLException ex) {
+                conn.rollback();
+                result.failAll(ex.getMessage());
+                ex.printStackTrace();
+            }
+        } catch (SQLException ex) {
+            result.failAll(ex.getMessage());
+            ex.printStackTrace();
+        }
+
+        Set<Integer> players = new HashSet<>();
+        List<GameEvent> inserted = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            int id = result.getGeneratedId(i);
+            if (id == BatchResult.NOT_INSERTED) continue;
+            list.get(i).setEventId(id);
+            players.add(list.get(i).getPlayerId());
+            inserted.add(list.get(i));
+        }
+        LeaderboardService.playersChanged(Source.EVENTS, players);
+        LiveMatchService.getInstance().eventsAdded(inserted);
+        return result;
+    }
+
+    /**
+     * Inserts rows {@code from} (inclusive) to {@code to} (exclusive) as one JDBC batch,
+     * falling back to row-by-row inserts if the batch is rejected.
+     */
+    private static void insertChunk(Connection conn, PreparedStatement stmt, List<GameEvent> list,
+                                    int from, int to, BatchResult result) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            for (int i = from; i < to; i++) {
+                bindInsert(stmt, list.get(i));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            int lastId = lastInsertId(conn);
+            for (int i = from; i < to; i++) {
+                result.setGeneratedId(i, lastId - (to - 1 - i));
+            }
+            conn.releaseSavepoint(savepoint);
+        } catch (BatchUpdateException ex) {
+            conn.rollback(savepoint);
+            stmt.clearBatch();
+            for (int i = from; i < to; i++) {
+                try {
+                    bindInsert(stmt, list.get(i));
+                    stmt.executeUpdate();
+                    result.setGeneratedId(i, lastInsertId(conn));
+                } catch (SQLException rowEx) {
+                    result.setFailure(i, rowEx.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, GameEvent e) throws SQLException {
+        stmt.setInt(1, e.getMatchId());
+        stmt.setInt(2, e.getPlayerId());
+        stmt.setString(3, e.getEventType());
+        stmt.setInt(4, e.getEventTime());
+    }
+
+    /** Returns the match and player of an event, or null if the event does not exist. */
+    private static GameEvent find(Connection conn, int eventId) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement("SELECT match_id, player_id FROM game_event WHERE event_id=?");
+        stmt.setInt(1, eventId);
+        try (ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next()) return null;
+            GameEvent before = new GameEvent();
+            before.setEventId(eventId);
+            before.setMatchId(rs.getInt("match_id"));
+            before.setPlayerId(rs.getInt("player_id"));
+            return before;
+        }
+    }
+
+    private static int lastInsertId(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT last_insert_rowid()");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : BatchResult.NOT_INSERTED;
+        }
+    }
+
+    /** Returns the maximum number of rows sent in one executeBatch call. */
+    public static int getMaxBatchSize() { return maxBatchSize; }
+
+    /**
+     * Sets the maximum number of rows sent in one executeBatch call.
+     *
+     * @param size batch size, at least 1
+     */
+    public static void setMaxBatchSize(int size) {
+        if (size < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+        maxBatchSize = size;
     }
 }
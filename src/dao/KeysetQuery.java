@@ -0,0 +1,236 @@
+package dao;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * KeysetQuery
+ *
+ * <p>
+ * A listing query that is read one page at a time using keyset pagination: each page continues
+ * after the last key of the previous one ({@code WHERE key > ? ORDER BY key LIMIT ?}), so reading
+ * page 1000 costs the same as reading page 1 and no page ever holds more than {@code limit} rows.
+ * </p>
+ *
+ * <p>The first selected column must be the integer key the listing is ordered by. A page can
+ * also be read backwards from a known key, and when nothing near a row is known its key is
+ * looked up by position on the key alone (used when the user drags the scrollbar far ahead).</p>
+ *
+ * <p>{@link #filtered(String)} returns the same listing restricted to rows where one of the
+ * search columns contains the text (a parameterized {@code LIKE}, so any input is safe), or
+ * whose key equals it when the text is a number. Pages and counts of a filtered query are
+ * computed by SQLite; nothing is filtered in memory. Its queries can be stopped with a
+ * {@link QueryCancellation}.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * KeysetQuery events = AdminDAO.getEventsQuery();
+ * List&lt;Object[]&gt; first = events.fetchAfter(Integer.MIN_VALUE, 100);
+ * int lastKey = (Integer) first.get(first.size() - 1)[0];
+ * List&lt;Object[]&gt; second = events.fetchAfter(lastKey, 100);
+ * KeysetQuery goals = events.filtered("goal");
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class KeysetQuery {
+
+    private final String[] columns;
+    private final String selectList;
+    private final String fromClause;
+    private final String keyColumn;
+    private final IntSupplier counter;
+    private final String[] searchColumns;
+    private final String filter;
+
+    private static final Pattern NUMBER = Pattern.compile("\\d{1,9}");
+
+    /**
+     * @param columns       column names shown in the table
+     * @param selectList    selected expressions, starting with the key column
+     * @param fromClause    FROM clause including joins
+     * @param keyColumn     qualified key column, e.g. {@code ge.event_id}
+     * @param counter       returns the total number of rows, should be cheap
+     * @param searchColumns expressions searched by {@link #filtered(String)}
+     */
+    public KeysetQuery(String[] columns, String selectList, String fromClause, String keyColumn,
+                       IntSupplier counter, String... searchColumns) {
+        this(columns, selectList, fromClause, keyColumn, counter, searchColumns, null);
+    }
+
+    private KeysetQuery(String[] columns, String selectList, String fromClause, String keyColumn,
+                        IntSupplier counter, String[] searchColumns, String filter) {
+        this.columns = columns.clone();
+        this.selectList = selectList;
+        this.fromClause = fromClause;
+        this.keyColumn = keyColumn;
+        this.counter = counter;
+        this.searchColumns = searchColumns.clone();
+        this.filter = filter;
+    }
+
+    /**
+     * Returns this listing restricted to rows matching {@code text}. Blank text means no filter.
+     *
+     * @param text text to look for, case-insensitive
+     * @return the filtered query
+     */
+    public KeysetQuery filtered(String text) {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.isEmpty() || searchColumns.length == 0) {
+            return filter == null ? this : new KeysetQuery(columns, selectList, fromClause, keyColumn, counter, searchColumns, null);
+        }
+        return new KeysetQuery(columns, selectList, fromClause, keyColumn, counter, searchColumns, trimmed);
+    }
+
+    /** Returns the current filter text, or null if the query is not filtered. */
+    public String getFilter() { return filter; }
+
+    /** Returns the column names shown in the table. */
+    public String[] getColumns() { return columns.clone(); }
+
+    /** Returns the total number of rows (matching rows if the query is filtered). */
+    public int count() {
+        if (filter == null) return counter.getAsInt();
+
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT COUNT(*) " + fromClause + where(null, params);
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement(sql);
+            bind(ps, params);
+            QueryCancellation.track(ps);
+            try {
+                ResultSet rs = ps.executeQuery();
+                return rs.next() ? rs.getInt(1) : 0;
+            } finally {
+                QueryCancellation.untrack(ps);
+            }
+        } catch (SQLException e) {
+            if (!QueryCancellation.cancelled()) e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Reads up to {@code limit} rows with a key greater than {@code afterKey}, in key order.
+     *
+     * @param afterKey last key already read, {@link Integer#MIN_VALUE} for the first page
+     * @param limit    maximum number of rows
+     * @return rows in key order, empty on error
+     */
+    public List<Object[]> fetchAfter(int afterKey, int limit) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT " + selectList + " " + fromClause + where(keyColumn + " > ?", params)
+                + " ORDER BY " + keyColumn + " LIMIT ?";
+        params.add(0, afterKey);
+        params.add(limit);
+        return fetch(sql, params, limit, false);
+    }
+
+    /**
+     * Reads up to {@code limit} rows with a key less than {@code beforeKey}, in key order.
+     *
+     * @param beforeKey first key already read
+     * @param limit     maximum number of rows
+     * @return rows in key order, empty on error
+     */
+    public List<Object[]> fetchBefore(int beforeKey, int limit) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT " + selectList + " " + fromClause + where(keyColumn + " < ?", params)
+                + " ORDER BY " + keyColumn + " DESC LIMIT ?";
+        params.add(0, beforeKey);
+        params.add(limit);
+        return fetch(sql, params, limit, true);
+    }
+
+    /**
+     * Returns the key of the row at {@code position} in key order. Only the key index is walked,
+     * not the rows.
+     *
+     * @param position zero-based row position
+     * @return the key, or null if there is no such row
+     */
+    public Integer keyAt(int position) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT " + keyColumn + " " + fromClause + where(null, params)
+                + " ORDER BY " + keyColumn + " LIMIT 1 OFFSET ?";
+        params.add(position);
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement(sql);
+            bind(ps, params);
+            QueryCancellation.track(ps);
+            try {
+                ResultSet rs = ps.executeQuery();
+                return rs.next() ? rs.getInt(1) : null;
+            } finally {
+                QueryCancellation.untrack(ps);
+            }
+        } catch (SQLException e) {
+            if (!QueryCancellation.cancelled()) e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Builds the WHERE clause from an optional key condition and the filter, adding the filter
+     * parameters to {@code params}. The key condition's own parameter goes first.
+     */
+    private String where(String keyCondition, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (keyCondition != null) conditions.add(keyCondition);
+
+        if (filter != null) {
+            String pattern = "%" + filter.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            List<String> any = new ArrayList<>();
+            for (String column : searchColumns) {
+                any.add(column + " LIKE ? ESCAPE '\\'");
+                params.add(pattern);
+            }
+            if (NUMBER.matcher(filter).matches()) {
+                any.add(keyColumn + " = ?");
+                params.add(Integer.parseInt(filter));
+            }
+            conditions.add("(" + String.join(" OR ", any) + ")");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+    }
+
+    private List<Object[]> fetch(String sql, List<Object> params, int limit, boolean reverse) {
+        List<Object[]> rows = new ArrayList<>(limit);
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement(sql);
+            bind(ps, params);
+            QueryCancellation.track(ps);
+            try {
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    Object[] row = new Object[columns.length];
+                    for (int i = 0; i < row.length; i++) row[i] = rs.getObject(i + 1);
+                    rows.add(row);
+                }
+            } finally {
+                QueryCancellation.untrack(ps);
+            }
+        } catch (SQLException e) {
+            if (QueryCancellation.cancelled()) rows.clear();
+            else e.printStackTrace();
+        }
+        if (reverse) Collections.reverse(rows);
+        return rows;
+    }
+}
@@ -1,9 +1,17 @@
 package dao;
 
 import model.Match;
+import model.ScheduleConflict;
+import service.DashboardStatsService;
+import service.ScheduleConflictDetector;
 import util.DBConnection;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * MatchDAO is a Data Access Object (DAO) class responsible for
@@ -13,6 +21,17 @@ import java.sql.*;
  * <p>Each method connects to the database, executes the SQL query, and returns
  * a boolean indicating success or failure, except getMatchesCount() which returns an integer.</p>
  *
+ * <p>Registered {@link MatchListener}s are told about every successful insert, update and
+ * delete (with the row as it was before the change), so in-memory views such as the league
+ * standings can apply just that change.</p>
+ *
+ * <p>A whole schedule (see {@link service.FixtureGenerator}) is saved with
+ * {@link #addMatches(List)} in one transaction.</p>
+ *
+ * <p>Inserts, updates and schedules are refused when the {@link ScheduleConflictDetector} finds
+ * a team or a venue already booked on an overlapping date (for a schedule, also by another of
+ * its own fixtures).</p>
+ *
  * <p>Usage example:
  * <pre>
  * Match match = new Match("Team A", "Team B", "2025-08-25", "Stadium", 2, 1);
@@ -29,6 +48,32 @@ import java.sql.*;
  */
 public class MatchDAO {
 
+    private static final List<MatchListener> listeners = new CopyOnWriteArrayList<>();
+
+    private static final String SELECT_SQL =
+            "SELECT match_id, home_team, away_team, match_date, venue, home_score, away_score FROM matches";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO matches (home_team, away_team, match_date, venue, home_score, away_score) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Registers a listener for match changes.
+     *
+     * @param listener listener to add
+     */
+    public static void addListener(MatchListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(MatchListener)}.
+     *
+     * @param listener listener to remove
+     */
+    public static void removeListener(MatchListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Adds a new match to the database.
      *
@@ -40,24 +85,127 @@ public class MatchDAO {
             System.out.println("⚠️ A team cannot play against itself!");
             return false;
         }
+        if (hasConflicts(ScheduleConflictDetector.getInstance().check(m))) return false;
 
+        int rows;
         try (Connection conn = DBConnection.getConnection()) {
-            String sql = "INSERT INTO matches (home_team, away_team, match_date, venue, home_score, away_score) VALUES (?, ?, ?, ?, ?, ?)";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setString(1, m.getHomeTeam());
-            stmt.setString(2, m.getAwayTeam());
-            stmt.setString(3, m.getMatchDate());
-            stmt.setString(4, m.getVenue());
-            stmt.setInt(5, m.getHomeScore());
-            stmt.setInt(6, m.getAwayScore());
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            bindInsert(stmt, m);
+            rows = stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) m.setMatchId(keys.getInt(1));
+            }
+            DashboardStatsService.invalidate();
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return false;
+        }
+        if (rows > 0) {
+            for (MatchListener l : listeners) notify(() -> l.onMatchAdded(m));
+        }
+        return rows > 0;
+    }
+
+
+    /**
+     * Adds a whole schedule in one transaction, with one JDBC batch. If the
+     * {@link ScheduleConflictDetector} finds any fixture booking a team or venue twice (against
+     * the stored matches or within the schedule), nothing is inserted.
+     *
+     * <p>IDs are set on the matches from {@code last_insert_rowid()}: the rows of one
+     * transaction on an AUTOINCREMENT key get consecutive IDs. Listeners are told about every
+     * match once the transaction is committed.</p>
+     *
+     * @param matches matches to add
+     * @return true if all matches were added, false if none was (clash, bad match or error)
+     */
+    public static boolean addMatches(List<Match> matches) {
+        if (matches.isEmpty()) return true;
+        for (Match m : matches) {
+            if (m.getHomeTeam().equals(m.getAwayTeam())) {
+                System.out.println("⚠️ A team cannot play against itself!");
+                return false;
+            }
+        }
+        if (hasConflicts(ScheduleConflictDetector.getInstance().checkAll(matches))) return false;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement stmt = conn.prepareStatement(INSERT_SQL);
+                for (Match m : matches) {
+                    bindInsert(stmt, m);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                int lastId;
+                try (PreparedStatement idStmt = conn.prepareStatement("SELECT last_insert_rowid()");
+                     ResultSet rs = idStmt.executeQuery()) {
+                    lastId = rs.next() ? rs.getInt(1) : 0;
+                }
+                conn.commit();
+                for (int i = 0; i < matches.size(); i++) {
+                    matches.get(i).setMatchId(lastId - (matches.size() - 1 - i));
+                }
+                DashboardStatsService.invalidate();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
         }
+        for (Match m : matches) {
+            for (MatchListener l : listeners) notify(() -> l.onMatchAdded(m));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the venue each team last used for a home match.
+     *
+     * @return venue by team ID, teams without a home match with a venue are left out
+     */
+    public static Map<Integer, String> getHomeVenues() {
+        Map<Integer, String> venues = new LinkedHashMap<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement("SELECT home_team, venue FROM matches "
+                    + "WHERE venue IS NOT NULL AND trim(venue) <> '' ORDER BY match_date, match_id");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) venues.put(rs.getInt("home_team"), rs.getString("venue"));
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return venues;
+    }
+
+    private static boolean hasConflicts(List<ScheduleConflict> conflicts) {
+        if (conflicts.isEmpty()) return false;
+        System.out.println("⚠️ Schedule conflict: " + conflicts.get(0)
+                + (conflicts.size() > 1 ? " (+" + (conflicts.size() - 1) + " more)" : ""));
+        return true;
     }
 
+    private static void bindInsert(PreparedStatement stmt, Match m) throws SQLException {
+        stmt.setString(1, m.getHomeTeam());
+        stmt.setString(2, m.getAwayTeam());
+        stmt.setString(3, m.getMatchDate());
+        stmt.setString(4, m.getVenue());
+        bindScores(stmt, 5, m);
+    }
+
+    /** Binds the home and away scores from {@code index}, or NULLs for a match without a result. */
+    private static void bindScores(PreparedStatement stmt, int index, Match m) throws SQLException {
+        if (m.hasResult()) {
+            stmt.setInt(index, m.getHomeScore());
+            stmt.setInt(index + 1, m.getAwayScore());
+        } else {
+            stmt.setNull(index, Types.INTEGER);
+            stmt.setNull(index + 1, Types.INTEGER);
+        }
+    }
 
     /**
      * Updates an existing match in the database.
@@ -66,23 +214,28 @@ public class MatchDAO {
      * @return true if update succeeds, false otherwise
      */
     public static boolean UpdateMatch(Match m) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        if (hasConflicts(ScheduleConflictDetector.getInstance().check(m))) return false;
+        Match before;
+        int rows;
+        try (Connection conn = DBConnection.getConnection()) {
+            before = getMatch(conn, m.getMatchId());
             String sql = "UPDATE matches SET home_team=?, away_team=?, match_date=?, venue=?, home_score=?, away_score=? WHERE match_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, m.getHomeTeam());
             stmt.setString(2, m.getAwayTeam());
             stmt.setString(3, m.getMatchDate());
             stmt.setString(4, m.getVenue());
-            stmt.setInt(5, m.getHomeScore());
-            stmt.setInt(6, m.getAwayScore());
+            bindScores(stmt, 5, m);
             stmt.setInt(7, m.getMatchId());
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            rows = stmt.executeUpdate();
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
         }
+        if (rows > 0 && before != null) {
+            for (MatchListener l : listeners) notify(() -> l.onMatchUpdated(before, m));
+        }
+        return rows > 0;
     }
 
     /**
@@ -92,17 +245,90 @@ public class MatchDAO {
      * @return true if deletion succeeds, false otherwise
      */
     public static boolean DeleteMatch(Match m) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        Match before;
+        int rows;
+        try (Connection conn = DBConnection.getConnection()) {
+            before = getMatch(conn, m.getMatchId());
             String sql = "DELETE FROM matches WHERE match_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, m.getMatchId());
-            int rows = stmt.executeUpdate();
-            return rows > 0;
+            rows = stmt.executeUpdate();
+            DashboardStatsService.invalidate();
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
         }
+        if (rows > 0 && before != null) {
+            for (MatchListener l : listeners) notify(() -> l.onMatchDeleted(before));
+        }
+        return rows > 0;
+    }
+
+    /**
+     * Returns a match by ID.
+     *
+     * @param matchId ID of the match
+     * @return the match, or null if it does not exist or the query failed
+     */
+    public static Match getMatch(int matchId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            return getMatch(conn, matchId);
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Match getMatch(Connection conn, int matchId) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(SELECT_SQL + " WHERE match_id=?");
+        stmt.setInt(1, matchId);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? readMatch(rs) : null;
+        }
+    }
+
+    /**
+     * Returns all matches ordered by date and ID.
+     *
+     * @return all matches, empty if the query failed
+     */
+    public static List<Match> getAllMatches() {
+        List<Match> matches = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(SELECT_SQL + " ORDER BY match_date, match_id");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) matches.add(readMatch(rs));
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return matches;
+    }
+
+    private static Match readMatch(ResultSet rs) throws SQLException {
+        Match m = new Match(
+                rs.getInt("match_id"),
+                rs.getString("home_team"),
+                rs.getString("away_team"),
+                rs.getString("match_date"),
+                rs.getString("venue"),
+                rs.getInt("home_score"),
+                rs.getInt("away_score"));
+        m.setHasResult(rs.getObject("home_score") != null && rs.getObject("away_score") != null);
+        return m;
+    }
+
+    /** Tells the listeners that teams changed; called by {@link TeamDAO}. */
+    static void fireTeamsChanged() {
+        for (MatchListener l : listeners) notify(l::onTeamsChanged);
+    }
+
+    private static void notify(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException ex) {
+            ex.printStackTrace();
+        }
     }
 
     /**
@@ -111,15 +337,7 @@ public class MatchDAO {
      * @return total number of matches
      */
     public static int getMatchesCount() {
-        int count = 0;
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) AS total FROM matches")) {
-            if (rs.next()) count = rs.getInt("total");
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return count;
+        return DashboardStatsService.getSnapshot().getMatches();
     }
 
 }
@@ -0,0 +1,48 @@
+package dao;
+
+import model.Match;
+
+/**
+ * MatchListener
+ *
+ * <p>
+ * Callback for in-memory views of the {@code matches} table (standings, ratings, caches) so
+ * they can apply a single change instead of reloading everything. Register it with
+ * {@link MatchDAO#addListener(MatchListener)}. Callbacks run on the thread that made the change,
+ * after it was committed; they should be quick and must not throw.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * MatchDAO.addListener(new MatchListener() {
+ *     public void onMatchAdded(Match match) { standings.apply(match); }
+ * });
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public interface MatchListener {
+
+    /** Called after a match was inserted; {@code match} carries its generated ID. */
+    default void onMatchAdded(Match match) { }
+
+    /**
+     * Called after a match was updated.
+     *
+     * @param before the row as it was before the update
+     * @param after  the row as it is now
+     */
+    default void onMatchUpdated(Match before, Match after) { }
+
+    /** Called after a match was deleted; {@code match} is the deleted row. */
+    default void onMatchDeleted(Match match) { }
+
+    /**
+     * Called after teams were added, renamed or deleted. Deleting a team also deletes its
+     * matches, so views of the matches should reload.
+     */
+    default void onTeamsChanged() { }
+}
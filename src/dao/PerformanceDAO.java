@@ -1,8 +1,11 @@
 package dao;
 
 import model.Performance;
+import service.LeaderboardService;
+import service.LeaderboardService.Source;
 import util.DBConnection;
 import java.sql.*;
+import java.util.List;
 
 /**
  * PerformanceDAO
@@ -19,6 +22,7 @@ import java.sql.*;
  *     <li>Update an existing performance record.</li>
  *     <li>Delete a performance record by ID.</li>
  * </ul>
+ * Every successful write tells the {@link LeaderboardService} which players it touched.
  * </p>
  *
  * <p>
@@ -48,6 +52,7 @@ public class PerformanceDAO {
      * @return true if insertion was successful, false otherwise
      */
     public static boolean AddPerformance(Performance p){
+        boolean added;
         try(Connection conn = DBConnection.getConnection()){
             String sql = "INSERT INTO performance (player_id, match_id, goals, assists, minutes_played) VALUES (?, ?, ?, ?, ?)";
             PreparedStatement stmt = conn.prepareStatement(sql);
@@ -56,8 +61,11 @@ public class PerformanceDAO {
             stmt.setInt(3, p.getGoals());
             stmt.setInt(4, p.getAssists());
             stmt.setInt(5, p.getMinutesPlayed());
-            return stmt.executeUpdate() > 0;
+            added = stmt.executeUpdate() > 0;
         } catch(SQLException e){ e.printStackTrace(); return false; }
+        // notified after the connection is back in the pool, like MatchDAO's listeners
+        if (added) LeaderboardService.playerChanged(Source.PERFORMANCE, p.getPlayerId());
+        return added;
     }
 
     /**
@@ -68,6 +76,8 @@ public class PerformanceDAO {
      * @return true if update was successful, false otherwise
      */
     public static boolean UpdatePerformance(Performance p){
+        boolean updated;
+        Integer before;
         try(Connection conn = DBConnection.getConnection()){
             String sql = "UPDATE performance SET player_id=?, goals=?, assists=? WHERE performance_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
@@ -75,8 +85,15 @@ public class PerformanceDAO {
             stmt.setInt(2, p.getGoals());
             stmt.setInt(3, p.getAssists());
             stmt.setInt(4, p.getPerformanceId());
-            return stmt.executeUpdate() > 0;
+            before = playerOf(conn, p.getPerformanceId());
+            updated = stmt.executeUpdate() > 0;
         } catch(SQLException e){ e.printStackTrace(); return false; }
+        // playersChanged may borrow a connection of its own to look up the players' teams
+        if (updated) {
+            LeaderboardService.playersChanged(Source.PERFORMANCE,
+                    before == null ? List.of(p.getPlayerId()) : List.of(before, p.getPlayerId()));
+        }
+        return updated;
     }
 
     /**
@@ -87,11 +104,25 @@ public class PerformanceDAO {
      * @return true if deletion was successful, false otherwise
      */
     public static boolean DeletePerformance(int id){
+        boolean deleted;
+        Integer player;
         try(Connection conn = DBConnection.getConnection()){
             String sql = "DELETE FROM performance WHERE performance_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            player = playerOf(conn, id);
+            deleted = stmt.executeUpdate() > 0;
         } catch(SQLException e){ e.printStackTrace(); return false; }
+        if (deleted && player != null) LeaderboardService.playerChanged(Source.PERFORMANCE, player);
+        return deleted;
+    }
+
+    /** Returns the player of a performance record, or null if the record does not exist. */
+    private static Integer playerOf(Connection conn, int performanceId) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement("SELECT player_id FROM performance WHERE performance_id=?");
+        stmt.setInt(1, performanceId);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : null;
+        }
     }
 }
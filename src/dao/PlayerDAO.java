@@ -2,6 +2,8 @@ package dao;
 
 import model.Player;
 import ui.EditPlayerFrame;
+import service.DashboardStatsService;
+import service.LeaderboardService;
 import util.DBConnection;
 
 import java.sql.*;
@@ -50,8 +52,7 @@ public class PlayerDAO {
      */
     public static boolean AddPlayer(Player p){
 
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "INSERT INTO players (full_name, age, nationality, position, team_id, jersey_number) VALUES (?, ?, ?, ?, ?, ?)";
             PreparedStatement stmt = conn.prepareStatement(sql);
 
@@ -62,6 +63,7 @@ public class PlayerDAO {
             stmt.setString(5, p.getTeamName());
             stmt.setInt(6,p.getJerseyNumber());
             int rows = stmt.executeUpdate();
+            DashboardStatsService.invalidate();
             return true;
         }catch (SQLException e){
             e.printStackTrace();
@@ -78,8 +80,7 @@ public class PlayerDAO {
      */
     public static boolean UpdatePlayer(Player p){
 
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "UPDATE players SET full_name=?, age=?, nationality=?, position=?, team_id=?, jersey_number=? WHERE player_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
 
@@ -91,6 +92,7 @@ public class PlayerDAO {
             stmt.setInt(6,p.getJerseyNumber());
             stmt.setInt(7, p.getId());
             int rows = stmt.executeUpdate();
+            if (rows > 0) LeaderboardService.invalidate(); // name or team may have changed
             return true;
         }catch (SQLException e){
             e.printStackTrace();
@@ -106,8 +108,7 @@ public class PlayerDAO {
      * @return true if deletion succeeds, false otherwise
      */
     public static boolean DeletePlayer( Player player){
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "DELETE FROM players WHERE player_id=? AND full_name=? AND jersey_number=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
 
@@ -116,6 +117,8 @@ public class PlayerDAO {
             stmt.setInt(3,player.getJerseyNumber());
 
             int rows = stmt.executeUpdate();
+            DashboardStatsService.invalidate();
+            if (rows > 0) LeaderboardService.invalidate();
             return rows > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -130,15 +133,7 @@ public class PlayerDAO {
      * @return total number of players as integer
      */
     public static int getPlayersCount() {
-        int count = 0;
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) AS total FROM players")) {
-            if (rs.next()) count = rs.getInt("total");
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return count;
+        return DashboardStatsService.getSnapshot().getPlayers();
     }
 
 }
@@ -0,0 +1,183 @@
+package dao;
+
+import model.PlayerSeasonStats;
+import util.DBConnection;
+import util.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PlayerStatsDAO
+ *
+ * <p>
+ * Reads player totals from the {@code player_season_stats} summary table (schema migration 5)
+ * instead of grouping the whole {@code performance} table. The summary holds one row per player
+ * and season and is kept up to date by triggers on {@code performance} (and on
+ * {@code matches.match_date}), so a season lookup is a single primary-key read and career
+ * totals only add up the player's few season rows.
+ * </p>
+ *
+ * <p>Main Features:
+ * <ul>
+ *   <li>Season and career totals with appearances and per-90 rates</li>
+ *   <li>{@link #verify()} compares the summary with a fresh GROUP BY over the base table</li>
+ *   <li>{@link #rebuild()} recomputes the summary in one transaction and reports how many rows
+ *       were out of date</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * PlayerSeasonStats season = PlayerStatsDAO.getSeasonStats(7, "2024");
+ * PlayerSeasonStats career = PlayerStatsDAO.getCareerStats(7);
+ * int fixed = PlayerStatsDAO.rebuild();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class PlayerStatsDAO {
+
+    private static final String SELECT_SQL =
+            "SELECT player_id, season, appearances, goals, assists, minutes_played FROM player_season_stats";
+
+    private static final String CAREER_SQL = """
+            SELECT COUNT(*) AS seasons, SUM(appearances), SUM(goals), SUM(assists), SUM(minutes_played)
+            FROM player_season_stats
+            WHERE player_id = ?""";
+
+    /** Rows of the summary that differ from the base table, in either direction. */
+    private static final String DIFF_SQL = "SELECT (SELECT COUNT(*) FROM (" + SELECT_SQL + " EXCEPT "
+            + SchemaMigrator.PLAYER_SEASON_TOTALS + ")) + (SELECT COUNT(*) FROM ("
+            + SchemaMigrator.PLAYER_SEASON_TOTALS + " EXCEPT " + SELECT_SQL + "))";
+
+    /**
+     * Returns a player's totals for one season.
+     *
+     * @param playerId player ID
+     * @param season   season (year of the match date), e.g. "2024"
+     * @return the totals; all zero if the player has no records that season or the query failed
+     */
+    public static PlayerSeasonStats getSeasonStats(int playerId, String season) {
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(SELECT_SQL + " WHERE player_id=? AND season=?");
+            stmt.setInt(1, playerId);
+            stmt.setString(2, season);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) return readStats(rs);
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return new PlayerSeasonStats(playerId, season, 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns a player's totals per season, oldest season first.
+     *
+     * @param playerId player ID
+     * @return one entry per season played, empty if none or the query failed
+     */
+    public static List<PlayerSeasonStats> getSeasons(int playerId) {
+        List<PlayerSeasonStats> seasons = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(SELECT_SQL + " WHERE player_id=? ORDER BY season");
+            stmt.setInt(1, playerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) seasons.add(readStats(rs));
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return seasons;
+    }
+
+    /**
+     * Returns a player's totals over all seasons.
+     *
+     * @param playerId player ID
+     * @return career totals with season {@link PlayerSeasonStats#CAREER}; all zero if the player
+     *         has no records or the query failed
+     */
+    public static PlayerSeasonStats getCareerStats(int playerId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(CAREER_SQL);
+            stmt.setInt(1, playerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return new PlayerSeasonStats(playerId, PlayerSeasonStats.CAREER,
+                            rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5));
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return new PlayerSeasonStats(playerId, PlayerSeasonStats.CAREER, 0, 0, 0, 0);
+    }
+
+    /**
+     * Compares the summary with totals computed from {@code performance}.
+     *
+     * @return number of summary rows that are missing, extra or different (0 means in sync),
+     *         or -1 if the check failed
+     */
+    public static int verify() {
+        try (Connection conn = DBConnection.getConnection()) {
+            return countDifferences(conn);
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Recomputes the summary from {@code performance} in a single transaction, for example
+     * after the database was edited outside the application with the triggers missing.
+     *
+     * @return number of rows that were out of date before the rebuild, or -1 if it failed
+     */
+    public static int rebuild() {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                int differences = countDifferences(conn);
+                stmt.executeUpdate("DELETE FROM player_season_stats");
+                stmt.executeUpdate("INSERT INTO player_season_stats " + SchemaMigrator.PLAYER_SEASON_TOTALS);
+                conn.commit();
+                if (differences == 0) System.out.println("✅ Player season stats verified, nothing to fix.");
+                else System.out.println("⚠️ Player season stats rebuilt, " + differences + " rows were out of date.");
+                return differences;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            System.out.println("❌ Rebuilding player season stats failed: " + ex.getMessage());
+            return -1;
+        }
+    }
+
+    private static int countDifferences(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(DIFF_SQL)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static PlayerSeasonStats readStats(ResultSet rs) throws SQLException {
+        return new PlayerSeasonStats(
+                rs.getInt("player_id"),
+                rs.getString("season"),
+                rs.getInt("appearances"),
+                rs.getInt("goals"),
+                rs.getInt("assists"),
+                rs.getInt("minutes_played"));
+    }
+}
@@ -0,0 +1,98 @@
+package dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * QueryCancellation
+ *
+ * <p>
+ * Lets a caller abort the database work of a background task that is no longer needed, such
+ * as a search for text the user has already changed. The task runs inside {@link #run(Supplier)};
+ * while it does, the DAOs that support cancellation register each statement they execute, and
+ * {@link #cancel()} calls {@link Statement#cancel()} on the one currently running (SQLite stops it
+ * with {@code sqlite3_interrupt}). Statements the task starts after the cancel fail immediately.
+ * A cancelled DAO call returns its empty result without logging the error.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * QueryCancellation cancellation = new QueryCancellation();
+ * CompletableFuture.supplyAsync(() -&gt; cancellation.run(() -&gt; SearchDAO.search(text, 50)));
+ * cancellation.cancel();   // the search stops and returns no hits
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class QueryCancellation {
+
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private Statement running;
+    private boolean cancelled;
+
+    /**
+     * Runs a task on the calling thread with this cancellation attached to its queries.
+     *
+     * @param task work that reads the database
+     * @return the task's result
+     */
+    public <T> T run(Supplier<T> task) {
+        QueryCancellation outer = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (outer == null) CURRENT.remove();
+            else CURRENT.set(outer);
+        }
+    }
+
+    /** Stops the statement being executed, if any, and every statement started after this. */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (running == null) return;
+        try {
+            running.cancel();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Returns true once {@link #cancel()} was called. */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers a statement about to be executed by the current thread.
+     *
+     * @throws SQLException if the current task was already cancelled
+     */
+    static void track(Statement stmt) throws SQLException {
+        QueryCancellation current = CURRENT.get();
+        if (current == null) return;
+        synchronized (current) {
+            if (current.cancelled) throw new SQLException("Query cancelled");
+            current.running = stmt;
+        }
+    }
+
+    /** Unregisters a statement once it has finished, before its connection is released. */
+    static void untrack(Statement stmt) {
+        QueryCancellation current = CURRENT.get();
+        if (current == null) return;
+        synchronized (current) {
+            if (current.running == stmt) current.running = null;
+        }
+    }
+
+    /** Returns true if the current thread's task was cancelled, so its failure is expected. */
+    static boolean cancelled() {
+        QueryCancellation current = CURRENT.get();
+        return current != null && current.isCancelled();
+    }
+}
@@ -0,0 +1,111 @@
+package dao;
+
+import model.SearchHit;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SearchDAO
+ *
+ * <p>
+ * Global full-text search over players, teams, matches and game events using the FTS5
+ * {@code search_index} table (schema migration 4). The index is kept in sync with the source
+ * tables by triggers, so results always reflect the committed data.
+ * </p>
+ *
+ * <p>What is indexed:
+ * <ul>
+ *   <li>Players: full name, nationality and position</li>
+ *   <li>Teams: team name and coach name</li>
+ *   <li>Matches: venue and date</li>
+ *   <li>Game events: event type and time</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Every word typed is matched as a prefix ("sal" finds "Salah"), all words must match,
+ * accents are ignored, and hits are ranked with bm25 with the title weighted above the detail.
+ * Only letters and digits of the user's text reach the query, and each word is quoted, so
+ * characters such as {@code "}, {@code (} or {@code *} cannot break it.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * List&lt;SearchHit&gt; hits = SearchDAO.search("real mad", 20);
+ * String html = hits.get(0).getSnippetHtml(); // "&lt;html&gt;&lt;b&gt;Real&lt;/b&gt; &lt;b&gt;Madrid&lt;/b&gt;&lt;/html&gt;"
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class SearchDAO {
+
+    private static final String SEARCH_SQL = """
+            SELECT kind, rowid / 4 AS ref_id, title,
+                   snippet(search_index, -1, ?, ?, '…', 10) AS snippet,
+                   bm25(search_index, 0.0, 10.0, 1.0) AS score
+            FROM search_index
+            WHERE search_index MATCH ?
+            ORDER BY score
+            LIMIT ?""";
+
+    /**
+     * Searches all indexed records.
+     *
+     * @param text  words to look for
+     * @param limit maximum number of hits
+     * @return hits, most relevant first; empty if the text has no words or the search failed
+     */
+    public static List<SearchHit> search(String text, int limit) {
+        List<SearchHit> hits = new ArrayList<>();
+        String match = toMatchExpression(text);
+        if (match.isEmpty()) return hits;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement ps = conn.prepareStatement(SEARCH_SQL);
+            ps.setString(1, String.valueOf(SearchHit.MATCH_START));
+            ps.setString(2, String.valueOf(SearchHit.MATCH_END));
+            ps.setString(3, match);
+            ps.setInt(4, limit);
+            QueryCancellation.track(ps);
+            try {
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    hits.add(new SearchHit(
+                            SearchHit.Kind.fromCode(rs.getInt("kind")),
+                            rs.getInt("ref_id"),
+                            rs.getString("title"),
+                            rs.getString("snippet"),
+                            rs.getDouble("score")));
+                }
+            } finally {
+                QueryCancellation.untrack(ps);
+            }
+        } catch (SQLException e) {
+            if (QueryCancellation.cancelled()) hits.clear();
+            else e.printStackTrace();
+        }
+        return hits;
+    }
+
+    /**
+     * Turns free text into an FTS5 query: every word becomes a quoted prefix term and all
+     * terms must match. Returns an empty string if there are no words.
+     */
+    static String toMatchExpression(String text) {
+        if (text == null) return "";
+        StringBuilder match = new StringBuilder();
+        // same word boundaries as the unicode61 tokenizer; quoting keeps AND/OR/NOT literal
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            if (match.length() > 0) match.append(' ');
+            match.append('"').append(word).append("\"*");
+        }
+        return match.toString();
+    }
+}
@@ -0,0 +1,298 @@
+package dao;
+
+import model.HomeAwaySplit;
+import model.Match;
+import model.TeamRecord;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TeamAnalyticsDAO
+ *
+ * <p>
+ * Head-to-head records, recent form and home/away splits computed from the {@code matches}
+ * table. Only played matches count: a match dated after today is a fixture. Every answer is kept
+ * in an LRU cache keyed by the team pair (or team) and N, so repeated requests from the viewer
+ * cost no database work.
+ * </p>
+ *
+ * <p>Cache invalidation:
+ * <ul>
+ *   <li>The DAO listens to {@link MatchDAO}; a match added, updated or deleted only drops the
+ *       entries of the teams it involves (before and after an update).</li>
+ *   <li>Team changes clear the cache, and so does the first request of a new day, when
+ *       fixtures may have become played matches.</li>
+ *   <li>Size: {@code soccer.teamAnalytics.cacheSize} entries (default 256).</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * TeamRecord h2h = TeamAnalyticsDAO.getHeadToHead(1, 2);   // team 1's record against team 2
+ * String form = TeamAnalyticsDAO.getForm(1, 5);            // e.g. "WWDLW", most recent last
+ * HomeAwaySplit split = TeamAnalyticsDAO.getHomeAwaySplit(1);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class TeamAnalyticsDAO {
+
+    private static final int CACHE_SIZE = Integer.getInteger("soccer.teamAnalytics.cacheSize", 256);
+
+    private static final String PLAYED = "(match_date IS NULL OR match_date <= ?) "
+            + "AND home_score IS NOT NULL AND away_score IS NOT NULL";
+
+    private static final String HEAD_TO_HEAD_SQL = "SELECT home_team, home_score, away_score FROM matches "
+            + "WHERE home_team = ? AND away_team = ? AND " + PLAYED
+            + " UNION ALL SELECT home_team, home_score, away_score FROM matches "
+            + "WHERE home_team = ? AND away_team = ? AND " + PLAYED;
+
+    private static final String FORM_SQL = "SELECT home_team, home_score, away_score, match_date, match_id FROM matches "
+            + "WHERE home_team = ? AND " + PLAYED
+            + " UNION ALL SELECT home_team, home_score, away_score, match_date, match_id FROM matches "
+            + "WHERE away_team = ? AND " + PLAYED
+            + " ORDER BY match_date DESC, match_id DESC LIMIT ?";
+
+    private static final String SPLIT_SQL = "SELECT home_team, home_score, away_score FROM matches "
+            + "WHERE home_team = ? AND " + PLAYED
+            + " UNION ALL SELECT home_team, home_score, away_score FROM matches "
+            + "WHERE away_team = ? AND " + PLAYED;
+
+    private static final Map<String, Entry> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /** Day the cached entries were computed on. */
+    private static LocalDate cachedOn = LocalDate.now();
+
+    /** Bumped on every invalidation; an answer computed while a write happened is not cached. */
+    private static final AtomicLong generation = new AtomicLong();
+
+    static {
+        MatchDAO.addListener(new MatchListener() {
+            @Override
+            public void onMatchAdded(Match match) { invalidate(match); }
+
+            @Override
+            public void onMatchUpdated(Match before, Match after) {
+                invalidate(before);
+                invalidate(after);
+            }
+
+            @Override
+            public void onMatchDeleted(Match match) { invalidate(match); }
+
+            @Override
+            public void onTeamsChanged() { invalidateAll(); }
+        });
+        DBConnection.addCloseListener(TeamAnalyticsDAO::invalidateAll);
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Returns the record of {@code teamId} against {@code opponentId} over all played matches
+     * between them, home and away.
+     *
+     * @param teamId     team whose point of view is used
+     * @param opponentId the other team
+     * @return the record; all zero if they never met or the query failed
+     */
+    public static TeamRecord getHeadToHead(int teamId, int opponentId) {
+        // one entry per pair, stored from the point of view of the lower ID
+        int low = Math.min(teamId, opponentId);
+        int high = Math.max(teamId, opponentId);
+        TeamRecord record = cached("h2h|" + low + "|" + high, low, high, (conn, today) -> {
+            PreparedStatement stmt = conn.prepareStatement(HEAD_TO_HEAD_SQL);
+            stmt.setInt(1, low);
+            stmt.setInt(2, high);
+            stmt.setString(3, today);
+            stmt.setInt(4, high);
+            stmt.setInt(5, low);
+            stmt.setString(6, today);
+            int[] totals = new int[6];
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) add(totals, rs, low);
+            }
+            return toRecord(totals);
+        });
+        if (record == null) return new TeamRecord(0, 0, 0, 0, 0, 0);
+        return teamId == low ? record : record.reversed();
+    }
+
+    /**
+     * Returns the results of a team's last {@code n} played matches as a string of W, D and L,
+     * oldest first and most recent last.
+     *
+     * @param teamId team ID
+     * @param n      number of matches
+     * @return the form string, shorter than {@code n} if the team played fewer matches; empty if
+     *         the query failed
+     */
+    public static String getForm(int teamId, int n) {
+        if (n <= 0) return "";
+        String form = cached("form|" + teamId + "|" + n, teamId, teamId, (conn, today) -> {
+            PreparedStatement stmt = conn.prepareStatement(FORM_SQL);
+            stmt.setInt(1, teamId);
+            stmt.setString(2, today);
+            stmt.setInt(3, teamId);
+            stmt.setString(4, today);
+            stmt.setInt(5, n);
+            StringBuilder results = new StringBuilder(n);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    boolean home = rs.getInt("home_team") == teamId;
+                    int scored = home ? rs.getInt("home_score") : rs.getInt("away_score");
+                    int conceded = home ? rs.getInt("away_score") : rs.getInt("home_score");
+                    results.append(scored > conceded ? 'W' : scored == conceded ? 'D' : 'L');
+                }
+            }
+            return results.reverse().toString();
+        });
+        return form == null ? "" : form;
+    }
+
+    /**
+     * Returns a team's record in its home and away matches.
+     *
+     * @param teamId team ID
+     * @return the split; all zero if the team has not played or the query failed
+     */
+    public static HomeAwaySplit getHomeAwaySplit(int teamId) {
+        HomeAwaySplit split = cached("split|" + teamId, teamId, teamId, (conn, today) -> {
+            PreparedStatement stmt = conn.prepareStatement(SPLIT_SQL);
+            stmt.setInt(1, teamId);
+            stmt.setString(2, today);
+            stmt.setInt(3, teamId);
+            stmt.setString(4, today);
+            int[] home = new int[6];
+            int[] away = new int[6];
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) add(rs.getInt("home_team") == teamId ? home : away, rs, teamId);
+            }
+            return new HomeAwaySplit(teamId, toRecord(home), toRecord(away));
+        });
+        if (split != null) return split;
+        TeamRecord none = new TeamRecord(0, 0, 0, 0, 0, 0);
+        return new HomeAwaySplit(teamId, none, none);
+    }
+
+    // ---------- Cache ----------
+
+    /** Drops every cached answer. */
+    public static void invalidateAll() {
+        generation.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /** Drops the cached answers that involve either team of the match. */
+    private static void invalidate(Match match) {
+        int home = parseTeam(match.getHomeTeam());
+        int away = parseTeam(match.getAwayTeam());
+        if (home < 0 || away < 0) {
+            invalidateAll();
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (cache) {
+            Iterator<Entry> it = cache.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.involves(home) || entry.involves(away)) it.remove();
+            }
+        }
+    }
+
+    /** Returns the cached value of {@code key} or computes it; null if the query failed. */
+    @SuppressWarnings("unchecked")
+    private static <T> T cached(String key, int teamA, int teamB, Query<T> query) {
+        LocalDate today = LocalDate.now();
+        synchronized (cache) {
+            if (!today.equals(cachedOn)) {
+                cache.clear();
+                cachedOn = today;
+            }
+            Entry entry = cache.get(key);
+            if (entry != null) return (T) entry.value;
+        }
+
+        long before = generation.get();
+        T value;
+        try (Connection conn = DBConnection.getConnection()) {
+            value = query.run(conn, today.toString());
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+        synchronized (cache) {
+            if (generation.get() == before && today.equals(cachedOn)) cache.put(key, new Entry(teamA, teamB, value));
+        }
+        return value;
+    }
+
+    // ---------- Helpers ----------
+
+    /** Adds one match row (home_team, home_score, away_score) to totals seen from {@code teamId}. */
+    private static void add(int[] totals, ResultSet rs, int teamId) throws SQLException {
+        boolean home = rs.getInt("home_team") == teamId;
+        int scored = home ? rs.getInt("home_score") : rs.getInt("away_score");
+        int conceded = home ? rs.getInt("away_score") : rs.getInt("home_score");
+        totals[0]++;
+        if (scored > conceded) totals[1]++;
+        else if (scored == conceded) totals[2]++;
+        else totals[3]++;
+        totals[4] += scored;
+        totals[5] += conceded;
+    }
+
+    private static TeamRecord toRecord(int[] t) {
+        return new TeamRecord(t[0], t[1], t[2], t[3], t[4], t[5]);
+    }
+
+    private static int parseTeam(String teamId) {
+        try {
+            return Integer.parseInt(teamId.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return -1;
+        }
+    }
+
+    /** A query run on a borrowed connection with today's date. */
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(Connection conn, String today) throws SQLException;
+    }
+
+    /** A cached answer and the teams it depends on. */
+    private static final class Entry {
+        final int teamA;
+        final int teamB;
+        final Object value;
+
+        Entry(int teamA, int teamB, Object value) {
+            this.teamA = teamA;
+            this.teamB = teamB;
+            this.value = value;
+        }
+
+        boolean involves(int teamId) {
+            return teamA == teamId || teamB == teamId;
+        }
+    }
+}
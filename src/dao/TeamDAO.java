@@ -1,9 +1,12 @@
 package dao;
 
 import model.Team;
+import service.DashboardStatsService;
 import util.DBConnection;
 
 import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * TeamDAO
@@ -20,6 +23,7 @@ import java.sql.*;
  *     <li>Update an existing team.</li>
  *     <li>Delete a team by ID and name.</li>
  *     <li>Get total count of teams.</li>
+ *     <li>Get the names of all teams by ID.</li>
  * </ul>
  * </p>
  *
@@ -48,14 +52,15 @@ public class TeamDAO {
      * @return true if insertion succeeds, false otherwise
      */
     public static boolean AddTeam(Team t) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "INSERT INTO teams (team_name, coach_name, founded_year) VALUES (?, ?, ?)";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, t.getTeamName());
             stmt.setString(2, t.getCoachName());
             stmt.setInt(3, t.getFoundationYear());
             int rows = stmt.executeUpdate();
+            DashboardStatsService.invalidate();
+            if (rows > 0) MatchDAO.fireTeamsChanged();
             return rows > 0;
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -71,8 +76,7 @@ public class TeamDAO {
      * @return true if update succeeds, false otherwise
      */
     public static boolean UpdateTeam(Team t) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "UPDATE teams SET team_name=?, coach_name=?, founded_year=? WHERE team_id=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, t.getTeamName());
@@ -80,6 +84,7 @@ public class TeamDAO {
             stmt.setInt(3, t.getFoundationYear());
             stmt.setInt(4, t.getTeamId());
             int rows = stmt.executeUpdate();
+            if (rows > 0) MatchDAO.fireTeamsChanged();
             return rows > 0;
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -95,13 +100,14 @@ public class TeamDAO {
      * @return true if deletion succeeds, false otherwise
      */
     public static boolean DeleteTeam(Team t) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "DELETE FROM teams WHERE team_id=? AND team_name=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, t.getTeamId());
             stmt.setString(2, t.getTeamName());
             int rows = stmt.executeUpdate();
+            DashboardStatsService.invalidate(); // also covers cascaded matches and events
+            if (rows > 0) MatchDAO.fireTeamsChanged();
             return rows > 0;
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -110,21 +116,31 @@ public class TeamDAO {
     }
 
     /**
-     * getTeamsCount
-     * Returns the total number of teams stored in the database.
+     * getTeamNames
+     * Returns the name of every team, by team ID.
      *
-     * @return total number of teams as integer
+     * @return team names keyed by team_id, empty if the query failed
      */
-    public static int getTeamsCount() {
-        int count = 0;
+    public static Map<Integer, String> getTeamNames() {
+        Map<Integer, String> names = new LinkedHashMap<>();
         try (Connection conn = DBConnection.getConnection();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) AS total FROM teams")) {
-            if (rs.next()) count = rs.getInt("total");
+             ResultSet rs = stmt.executeQuery("SELECT team_id, team_name FROM teams ORDER BY team_id")) {
+            while (rs.next()) names.put(rs.getInt("team_id"), rs.getString("team_name"));
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return count;
+        return names;
+    }
+
+    /**
+     * getTeamsCount
+     * Returns the total number of teams stored in the database.
+     *
+     * @return total number of teams as integer
+     */
+    public static int getTeamsCount() {
+        return DashboardStatsService.getSnapshot().getTeams();
     }
 
 }
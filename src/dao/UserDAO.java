@@ -93,8 +93,7 @@ public class UserDAO {
      * @return true if creation succeeds, false otherwise
      */
     public static boolean CreateUser(String username, String password, String email, String role) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "INSERT INTO users (username, password, email, role) VALUES (?, ?, ?, ?)";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, username);
@@ -115,8 +114,7 @@ public class UserDAO {
  * @return true if email exists, false otherwise
  */
     public static boolean isEmailExists(String email) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "SELECT * FROM users WHERE email=?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, email);
@@ -136,8 +134,7 @@ public class UserDAO {
      */
     public static User getUserByEmail(String email) {
         User user = null;
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "SELECT * FROM users WHERE email = ?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, email);
@@ -166,8 +163,7 @@ public class UserDAO {
      * @return true if update succeeds, false otherwise
      */
     public static boolean updatePassword(String email, String newPassword) {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             String sql = "UPDATE users SET password = ? WHERE email = ?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, newPassword);
@@ -0,0 +1,50 @@
+package model;
+/**
+ * HomeAwaySplit
+ *
+ * <p>
+ * A team's record split into the matches it played at home and away.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * HomeAwaySplit split = TeamAnalyticsDAO.getHomeAwaySplit(3);
+ * int homeWins = split.getHome().getWins();
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class HomeAwaySplit {
+
+    private final int teamId;
+    private final TeamRecord home;
+    private final TeamRecord away;
+
+    /**
+     * @param teamId team ID
+     * @param home   record in home matches
+     * @param away   record in away matches
+     */
+    public HomeAwaySplit(int teamId, TeamRecord home, TeamRecord away) {
+        this.teamId = teamId;
+        this.home = home;
+        this.away = away;
+    }
+
+    /** Returns the team ID. */
+    public int getTeamId() { return teamId; }
+
+    /** Returns the record in home matches. */
+    public TeamRecord getHome() { return home; }
+
+    /** Returns the record in away matches. */
+    public TeamRecord getAway() { return away; }
+
+    @Override
+    public String toString() {
+        return "Team #" + teamId + " home " + home + ", away " + away;
+    }
+}
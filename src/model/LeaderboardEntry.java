@@ -0,0 +1,68 @@
+package model;
+/**
+ * LeaderboardEntry
+ *
+ * <p>
+ * One line of a leaderboard: a player, their current team and their total for the ranked
+ * statistic. Players with the same total share a rank (1, 2, 2, 4).
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * for (LeaderboardEntry e : LeaderboardService.getLeaders(LeaderboardService.Metric.GOALS, null, null, null, 10)) {
+ *     System.out.println(e.getRank() + ". " + e.getPlayerName() + " " + e.getValue());
+ * }
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class LeaderboardEntry {
+
+    private final int rank;
+    private final int playerId;
+    private final String playerName;
+    private final String teamName;
+    private final long value;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param rank       1-based rank
+     * @param playerId   player ID
+     * @param playerName player name
+     * @param teamName   current team name, or null if the player has no team
+     * @param value      total of the ranked statistic
+     */
+    public LeaderboardEntry(int rank, int playerId, String playerName, String teamName, long value) {
+        this.rank = rank;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.teamName = teamName;
+        this.value = value;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the 1-based rank. */
+    public int getRank() { return rank; }
+
+    /** Returns the player ID. */
+    public int getPlayerId() { return playerId; }
+
+    /** Returns the player name. */
+    public String getPlayerName() { return playerName; }
+
+    /** Returns the current team name, or null if the player has no team. */
+    public String getTeamName() { return teamName; }
+
+    /** Returns the total of the ranked statistic. */
+    public long getValue() { return value; }
+
+    @Override
+    public String toString() {
+        return rank + ". " + playerName + " (" + teamName + ") " + value;
+    }
+}
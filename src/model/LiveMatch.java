@@ -0,0 +1,115 @@
+package model;
+
+import java.util.List;
+
+/**
+ * LiveMatch
+ *
+ * <p>
+ * A snapshot of a match being played today: the running score from its Goal events, the cards
+ * shown to each side and its most recent events. The timeline holds at most the service's buffer
+ * size of events, ordered by minute; {@link #getEventCount()} tells how many there are in total.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * LiveMatch live = LiveMatchService.getInstance().getMatch(12);
+ * System.out.println(live);   // #12 3 2-1 7 (67')
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class LiveMatch {
+
+    private final int matchId;
+    private final int homeTeam;
+    private final int awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+    private final int homeYellowCards;
+    private final int homeRedCards;
+    private final int awayYellowCards;
+    private final int awayRedCards;
+    private final int eventCount;
+    private final List<GameEvent> timeline;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param matchId         match ID
+     * @param homeTeam        home team ID
+     * @param awayTeam        away team ID
+     * @param homeScore       goals by home players
+     * @param awayScore       goals by away players
+     * @param homeYellowCards yellow cards shown to home players
+     * @param homeRedCards    red cards shown to home players
+     * @param awayYellowCards yellow cards shown to away players
+     * @param awayRedCards    red cards shown to away players
+     * @param eventCount      events recorded for the match so far
+     * @param timeline        most recent events, ordered by minute
+     */
+    public LiveMatch(int matchId, int homeTeam, int awayTeam, int homeScore, int awayScore,
+                     int homeYellowCards, int homeRedCards, int awayYellowCards, int awayRedCards,
+                     int eventCount, List<GameEvent> timeline) {
+        this.matchId = matchId;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+        this.homeYellowCards = homeYellowCards;
+        this.homeRedCards = homeRedCards;
+        this.awayYellowCards = awayYellowCards;
+        this.awayRedCards = awayRedCards;
+        this.eventCount = eventCount;
+        this.timeline = List.copyOf(timeline);
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the match ID. */
+    public int getMatchId() { return matchId; }
+
+    /** Returns the home team ID. */
+    public int getHomeTeam() { return homeTeam; }
+
+    /** Returns the away team ID. */
+    public int getAwayTeam() { return awayTeam; }
+
+    /** Returns the goals scored by home players so far. */
+    public int getHomeScore() { return homeScore; }
+
+    /** Returns the goals scored by away players so far. */
+    public int getAwayScore() { return awayScore; }
+
+    /** Returns the yellow cards shown to home players. */
+    public int getHomeYellowCards() { return homeYellowCards; }
+
+    /** Returns the red cards shown to home players. */
+    public int getHomeRedCards() { return homeRedCards; }
+
+    /** Returns the yellow cards shown to away players. */
+    public int getAwayYellowCards() { return awayYellowCards; }
+
+    /** Returns the red cards shown to away players. */
+    public int getAwayRedCards() { return awayRedCards; }
+
+    /** Returns the number of events recorded so far, including those no longer in the timeline. */
+    public int getEventCount() { return eventCount; }
+
+    /** Returns the most recent events, ordered by minute; the list cannot be modified. */
+    public List<GameEvent> getTimeline() { return timeline; }
+
+    /** Returns the minute of the latest event, or 0 if nothing has happened yet. */
+    public int getLastMinute() {
+        return timeline.isEmpty() ? 0 : timeline.get(timeline.size() - 1).getEventTime();
+    }
+
+    @Override
+    public String toString() {
+        return "#" + matchId + " " + homeTeam + " " + homeScore + "-" + awayScore + " " + awayTeam
+                + " (" + getLastMinute() + "')";
+    }
+}
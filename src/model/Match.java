@@ -8,6 +8,11 @@ package model;
  * </p>
  *
  * <p>
+ * A fixture that has not been played yet has no result: {@link #hasResult()} is false, its
+ * scores are 0 and it is stored with NULL scores.
+ * </p>
+ *
+ * <p>
  * Example usage:
  * <pre>
  * Match match = new Match();
@@ -27,6 +32,7 @@ public class Match {
     private String venue;
     private int homeScore;
     private int awayScore;
+    private boolean hasResult = true;
 
     // ---------- Constructors ----------
 
@@ -129,4 +135,14 @@ public class Match {
     public void setAwayScore(int awayScore) {
         this.awayScore = awayScore;
     }
+
+    /** Returns true if the match was played and its scores are its result. */
+    public boolean hasResult() {
+        return hasResult;
+    }
+
+    /** Sets whether the match has a result; false marks a fixture still to be played. */
+    public void setHasResult(boolean hasResult) {
+        this.hasResult = hasResult;
+    }
 }
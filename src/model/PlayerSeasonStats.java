@@ -0,0 +1,91 @@
+package model;
+/**
+ * PlayerSeasonStats
+ *
+ * <p>
+ * Totals of a player's performance records for one season (the year of the match date), or
+ * over a whole career when the season is {@link #CAREER}. Rates per 90 minutes are derived from
+ * the totals.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * PlayerSeasonStats stats = PlayerStatsDAO.getSeasonStats(7, "2024");
+ * System.out.printf("%d goals, %.2f per 90%n", stats.getGoals(), stats.getGoalsPer90());
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class PlayerSeasonStats {
+
+    /** Season label used for career totals. */
+    public static final String CAREER = "career";
+
+    private final int playerId;
+    private final String season;
+    private final int appearances;
+    private final int goals;
+    private final int assists;
+    private final int minutesPlayed;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param playerId      player ID
+     * @param season        season, e.g. "2024", or {@link #CAREER}
+     * @param appearances   number of performance records
+     * @param goals         goals scored
+     * @param assists       assists made
+     * @param minutesPlayed minutes played
+     */
+    public PlayerSeasonStats(int playerId, String season, int appearances, int goals, int assists, int minutesPlayed) {
+        this.playerId = playerId;
+        this.season = season;
+        this.appearances = appearances;
+        this.goals = goals;
+        this.assists = assists;
+        this.minutesPlayed = minutesPlayed;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the player ID. */
+    public int getPlayerId() { return playerId; }
+
+    /** Returns the season, or {@link #CAREER} for career totals. */
+    public String getSeason() { return season; }
+
+    /** Returns the number of appearances. */
+    public int getAppearances() { return appearances; }
+
+    /** Returns the goals scored. */
+    public int getGoals() { return goals; }
+
+    /** Returns the assists made. */
+    public int getAssists() { return assists; }
+
+    /** Returns the minutes played. */
+    public int getMinutesPlayed() { return minutesPlayed; }
+
+    /** Returns the goals per 90 minutes, 0 if the player has not played. */
+    public double getGoalsPer90() { return per90(goals); }
+
+    /** Returns the assists per 90 minutes, 0 if the player has not played. */
+    public double getAssistsPer90() { return per90(assists); }
+
+    /** Returns goals plus assists per 90 minutes, 0 if the player has not played. */
+    public double getContributionsPer90() { return per90(goals + assists); }
+
+    private double per90(int value) {
+        return minutesPlayed == 0 ? 0.0 : value * 90.0 / minutesPlayed;
+    }
+
+    @Override
+    public String toString() {
+        return "Player #" + playerId + " " + season + ": " + appearances + " apps, " + goals + " goals, "
+                + assists + " assists, " + minutesPlayed + " min";
+    }
+}
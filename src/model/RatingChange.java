@@ -0,0 +1,76 @@
+package model;
+/**
+ * RatingChange
+ *
+ * <p>
+ * How one played match moved a team's strength rating.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * for (RatingChange c : RatingEngine.getInstance().getHistory(1)) {
+ *     System.out.printf("%s vs #%d: %.0f -&gt; %.0f%n", c.getMatchDate(), c.getOpponentId(), c.getBefore(), c.getAfter());
+ * }
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class RatingChange {
+
+    private final int matchId;
+    private final String matchDate;
+    private final int teamId;
+    private final int opponentId;
+    private final double before;
+    private final double after;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param matchId    match ID
+     * @param matchDate  match date
+     * @param teamId     team whose rating changed
+     * @param opponentId the opponent in that match
+     * @param before     rating before the match
+     * @param after      rating after the match
+     */
+    public RatingChange(int matchId, String matchDate, int teamId, int opponentId, double before, double after) {
+        this.matchId = matchId;
+        this.matchDate = matchDate;
+        this.teamId = teamId;
+        this.opponentId = opponentId;
+        this.before = before;
+        this.after = after;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the match ID. */
+    public int getMatchId() { return matchId; }
+
+    /** Returns the match date. */
+    public String getMatchDate() { return matchDate; }
+
+    /** Returns the team whose rating changed. */
+    public int getTeamId() { return teamId; }
+
+    /** Returns the opponent. */
+    public int getOpponentId() { return opponentId; }
+
+    /** Returns the rating before the match. */
+    public double getBefore() { return before; }
+
+    /** Returns the rating after the match. */
+    public double getAfter() { return after; }
+
+    /** Returns the change caused by the match. */
+    public double getDelta() { return after - before; }
+
+    @Override
+    public String toString() {
+        return String.format("Team #%d match #%d (%s): %.1f -> %.1f", teamId, matchId, matchDate, before, after);
+    }
+}
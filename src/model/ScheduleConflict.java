@@ -0,0 +1,80 @@
+package model;
+/**
+ * ScheduleConflict
+ *
+ * <p>
+ * Two matches that book the same team or the same venue on overlapping dates.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * for (ScheduleConflict c : ScheduleConflictDetector.getInstance().audit()) {
+ *     System.out.println(c);   // Team 3: match #12 (2025-05-12) and match #15 (2025-05-12)
+ * }
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class ScheduleConflict {
+
+    /** What is booked twice. */
+    public enum Kind { TEAM, VENUE }
+
+    private final Kind kind;
+    private final String resource;
+    private final int matchId;
+    private final String matchDate;
+    private final int otherMatchId;
+    private final String otherMatchDate;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param kind           team or venue
+     * @param resource       team ID or venue name
+     * @param matchId        the proposed (or earlier) match; 0 for a match not saved yet
+     * @param matchDate      its date
+     * @param otherMatchId   the match it conflicts with; 0 for another match not saved yet
+     * @param otherMatchDate that match's date
+     */
+    public ScheduleConflict(Kind kind, String resource, int matchId, String matchDate,
+                            int otherMatchId, String otherMatchDate) {
+        this.kind = kind;
+        this.resource = resource;
+        this.matchId = matchId;
+        this.matchDate = matchDate;
+        this.otherMatchId = otherMatchId;
+        this.otherMatchDate = otherMatchDate;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns whether a team or a venue is booked twice. */
+    public Kind getKind() { return kind; }
+
+    /** Returns the team ID or venue name. */
+    public String getResource() { return resource; }
+
+    /** Returns the proposed (or earlier) match ID, 0 if not saved yet. */
+    public int getMatchId() { return matchId; }
+
+    /** Returns the proposed (or earlier) match date. */
+    public String getMatchDate() { return matchDate; }
+
+    /** Returns the ID of the match it conflicts with. */
+    public int getOtherMatchId() { return otherMatchId; }
+
+    /** Returns the date of the match it conflicts with. */
+    public String getOtherMatchDate() { return otherMatchDate; }
+
+    @Override
+    public String toString() {
+        String first = matchId == 0 ? "the new match" : "match #" + matchId;
+        String other = otherMatchId == 0 ? "another new match" : "match #" + otherMatchId;
+        return (kind == Kind.TEAM ? "Team " : "Venue ") + resource + ": " + first + " (" + matchDate
+                + ") and " + other + " (" + otherMatchDate + ")";
+    }
+}
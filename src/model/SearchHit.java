@@ -0,0 +1,110 @@
+package model;
+/**
+ * SearchHit
+ *
+ * <p>
+ * One result of a global full-text search: what kind of record matched, its ID, its title,
+ * a snippet of the matching text and the relevance score (lower is better, as returned by
+ * SQLite's bm25 ranking).
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * for (SearchHit hit : SearchDAO.search("salah", 20)) {
+ *     System.out.println(hit.getKind() + " #" + hit.getId() + ": " + hit.getTitle());
+ * }
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class SearchHit {
+
+    /** Marks the start of a matched term inside {@link #getSnippet()}. */
+    public static final char MATCH_START = '\u0002';
+
+    /** Marks the end of a matched term inside {@link #getSnippet()}. */
+    public static final char MATCH_END = '\u0003';
+
+    /**
+     * Kind of record a hit refers to. The ordinal is the code stored in the search index.
+     */
+    public enum Kind {
+        PLAYER("Player"), TEAM("Team"), MATCH("Match"), EVENT("Event");
+
+        private final String label;
+
+        Kind(String label) { this.label = label; }
+
+        /** Returns the kind stored under {@code code} in the search index. */
+        public static Kind fromCode(int code) { return values()[code]; }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    private final Kind kind;
+    private final int id;
+    private final String title;
+    private final String snippet;
+    private final double score;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param kind    kind of record
+     * @param id      ID of the record in its own table
+     * @param title   main text of the record (name, venue, event type)
+     * @param snippet matching text with terms between {@link #MATCH_START} and {@link #MATCH_END}
+     * @param score   bm25 score, lower is more relevant
+     */
+    public SearchHit(Kind kind, int id, String title, String snippet, double score) {
+        this.kind = kind;
+        this.id = id;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the kind of record. */
+    public Kind getKind() { return kind; }
+
+    /** Returns the ID of the record in its own table. */
+    public int getId() { return id; }
+
+    /** Returns the main text of the record. */
+    public String getTitle() { return title; }
+
+    /** Returns the snippet with the match markers. */
+    public String getSnippet() { return snippet; }
+
+    /** Returns the bm25 score, lower is more relevant. */
+    public double getScore() { return score; }
+
+    /** Returns the snippet as HTML with the matched terms in bold, ready for a Swing label. */
+    public String getSnippetHtml() {
+        StringBuilder html = new StringBuilder("<html>");
+        String text = snippet == null ? "" : snippet;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case MATCH_START -> html.append("<b>");
+                case MATCH_END -> html.append("</b>");
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                default -> html.append(c);
+            }
+        }
+        return html.append("</html>").toString();
+    }
+
+    @Override
+    public String toString() {
+        return kind + " #" + id + " " + title;
+    }
+}
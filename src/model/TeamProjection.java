@@ -0,0 +1,98 @@
+package model;
+/**
+ * TeamProjection
+ *
+ * <p>
+ * Where a team is expected to finish, estimated by simulating the remaining fixtures many times.
+ * Positions are 1-based; {@code getPositionChance(1)} is the chance of winning the league.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * for (TeamProjection p : SeasonSimulator.fromDatabase().simulate(100_000, 42L).getProjections()) {
+ *     System.out.printf("%s %.1f pts, title %.1f%%%n", p.getTeamName(), p.getExpectedPoints(), 100 * p.getTitleChance());
+ * }
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class TeamProjection {
+
+    private final int teamId;
+    private final String teamName;
+    private final int currentPoints;
+    private final double expectedPoints;
+    private final double[] positionChances;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param teamId          team ID
+     * @param teamName        team name
+     * @param currentPoints   points from the matches already played
+     * @param expectedPoints  average final points over all simulations
+     * @param positionChances chance of finishing in each position, index 0 is first place
+     */
+    public TeamProjection(int teamId, String teamName, int currentPoints, double expectedPoints, double[] positionChances) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.currentPoints = currentPoints;
+        this.expectedPoints = expectedPoints;
+        this.positionChances = positionChances.clone();
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the team ID. */
+    public int getTeamId() { return teamId; }
+
+    /** Returns the team name. */
+    public String getTeamName() { return teamName; }
+
+    /** Returns the points from the matches already played. */
+    public int getCurrentPoints() { return currentPoints; }
+
+    /** Returns the average final points. */
+    public double getExpectedPoints() { return expectedPoints; }
+
+    /**
+     * Returns the chance of finishing in a position.
+     *
+     * @param position 1-based final position
+     * @return chance between 0 and 1, 0 for a position outside the table
+     */
+    public double getPositionChance(int position) {
+        return position < 1 || position > positionChances.length ? 0 : positionChances[position - 1];
+    }
+
+    /**
+     * Returns the chance of finishing in one of the positions {@code from} to {@code to}.
+     *
+     * @param from first 1-based position
+     * @param to   last 1-based position, inclusive
+     * @return chance between 0 and 1
+     */
+    public double getRangeChance(int from, int to) {
+        double sum = 0;
+        for (int p = from; p <= to; p++) sum += getPositionChance(p);
+        return sum;
+    }
+
+    /** Returns the chance of finishing first. */
+    public double getTitleChance() { return getPositionChance(1); }
+
+    /** Returns the average final position. */
+    public double getExpectedPosition() {
+        double sum = 0;
+        for (int i = 0; i < positionChances.length; i++) sum += (i + 1) * positionChances[i];
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f pts, %.1f%% title", teamName, expectedPoints, 100 * getTitleChance());
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+/**
+ * TeamRecord
+ *
+ * <p>
+ * Win/draw/loss record of a team over a set of played matches, for example all its home games
+ * or all games against one opponent. Goals are counted from the team's point of view.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * TeamRecord h2h = TeamAnalyticsDAO.getHeadToHead(1, 2);
+ * System.out.println(h2h.getWins() + "-" + h2h.getDraws() + "-" + h2h.getLosses());
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class TeamRecord {
+
+    private final int played;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final int goalsFor;
+    private final int goalsAgainst;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param played       matches played
+     * @param wins         matches won
+     * @param draws        matches drawn
+     * @param losses       matches lost
+     * @param goalsFor     goals scored
+     * @param goalsAgainst goals conceded
+     */
+    public TeamRecord(int played, int wins, int draws, int losses, int goalsFor, int goalsAgainst) {
+        this.played = played;
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+        this.goalsFor = goalsFor;
+        this.goalsAgainst = goalsAgainst;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the number of matches played. */
+    public int getPlayed() { return played; }
+
+    /** Returns the number of wins. */
+    public int getWins() { return wins; }
+
+    /** Returns the number of draws. */
+    public int getDraws() { return draws; }
+
+    /** Returns the number of losses. */
+    public int getLosses() { return losses; }
+
+    /** Returns the goals scored. */
+    public int getGoalsFor() { return goalsFor; }
+
+    /** Returns the goals conceded. */
+    public int getGoalsAgainst() { return goalsAgainst; }
+
+    /** Returns the goal difference. */
+    public int getGoalDifference() { return goalsFor - goalsAgainst; }
+
+    /** Returns the same record seen from the opponent's side. */
+    public TeamRecord reversed() {
+        return new TeamRecord(played, losses, draws, wins, goalsAgainst, goalsFor);
+    }
+
+    @Override
+    public String toString() {
+        return "P" + played + " W" + wins + " D" + draws + " L" + losses + " " + goalsFor + ":" + goalsAgainst;
+    }
+}
@@ -0,0 +1,102 @@
+package model;
+/**
+ * TeamStanding
+ *
+ * <p>
+ * One row of the league table: a team's record over its played matches. Instances are
+ * immutable snapshots produced by the standings engine.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>
+ * TeamStanding leader = StandingsEngine.getInstance().getStandings().get(0);
+ * System.out.println(leader.getPosition() + ". " + leader.getTeamName() + " " + leader.getPoints());
+ * </pre>
+ * </p>
+ *
+ * @version 1.0
+ * @author Loay
+ */
+public class TeamStanding {
+
+    private final int position;
+    private final int teamId;
+    private final String teamName;
+    private final int played;
+    private final int wins;
+    private final int draws;
+    private final int losses;
+    private final int goalsFor;
+    private final int goalsAgainst;
+    private final int points;
+
+    // ---------- Constructors ----------
+
+    /**
+     * @param position     1-based position in the table
+     * @param teamId       team ID
+     * @param teamName     team name
+     * @param played       matches played
+     * @param wins         matches won
+     * @param draws        matches drawn
+     * @param losses       matches lost
+     * @param goalsFor     goals scored
+     * @param goalsAgainst goals conceded
+     * @param points       league points
+     */
+    public TeamStanding(int position, int teamId, String teamName, int played, int wins, int draws,
+                        int losses, int goalsFor, int goalsAgainst, int points) {
+        this.position = position;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.played = played;
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+        this.goalsFor = goalsFor;
+        this.goalsAgainst = goalsAgainst;
+        this.points = points;
+    }
+
+    // ---------- Getters ----------
+
+    /** Returns the 1-based position in the table. */
+    public int getPosition() { return position; }
+
+    /** Returns the team ID. */
+    public int getTeamId() { return teamId; }
+
+    /** Returns the team name. */
+    public String getTeamName() { return teamName; }
+
+    /** Returns the number of matches played. */
+    public int getPlayed() { return played; }
+
+    /** Returns the number of wins. */
+    public int getWins() { return wins; }
+
+    /** Returns the number of draws. */
+    public int getDraws() { return draws; }
+
+    /** Returns the number of losses. */
+    public int getLosses() { return losses; }
+
+    /** Returns the goals scored. */
+    public int getGoalsFor() { return goalsFor; }
+
+    /** Returns the goals conceded. */
+    public int getGoalsAgainst() { return goalsAgainst; }
+
+    /** Returns the goal difference. */
+    public int getGoalDifference() { return goalsFor - goalsAgainst; }
+
+    /** Returns the league points. */
+    public int getPoints() { return points; }
+
+    @Override
+    public String toString() {
+        return position + ". " + teamName + " P" + played + " W" + wins + " D" + draws + " L" + losses
+                + " " + goalsFor + ":" + goalsAgainst + " " + points + "pts";
+    }
+}
@@ -0,0 +1,166 @@
+package service;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DashboardStatsService
+ *
+ * <p>
+ * Single source of the row counts shown on the admin dashboard. All four counts are read in one
+ * query from the {@code dashboard_counters} table, whose rows are kept up to date by insert and
+ * delete triggers (schema migration 3), so reading them costs the same no matter how large the
+ * tables grow. The result is cached as an immutable {@link Snapshot}.
+ * </p>
+ *
+ * <p>Caching:
+ * <ul>
+ *   <li>The DAOs call {@link #invalidate()} after every insert or delete, so the next read
+ *       returns fresh counts.</li>
+ *   <li>A snapshot also expires after {@code soccer.dashboard.cacheMillis} (default 5000 ms) to
+ *       pick up changes made outside this application.</li>
+ *   <li>If the counter table does not exist yet, the counts fall back to one query with four
+ *       {@code COUNT(*)} sub-selects.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * DashboardStatsService.Snapshot stats = DashboardStatsService.getSnapshot();
+ * int players = stats.getPlayers();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class DashboardStatsService {
+
+    private static final long CACHE_MILLIS = Long.getLong("soccer.dashboard.cacheMillis", 5000L);
+
+    private static final String COUNTERS_SQL = "SELECT table_name, row_count FROM dashboard_counters";
+
+    private static final String FALLBACK_SQL = """
+            SELECT (SELECT COUNT(*) FROM players),
+                   (SELECT COUNT(*) FROM teams),
+                   (SELECT COUNT(*) FROM matches),
+                   (SELECT COUNT(*) FROM game_event)""";
+
+    private static volatile Snapshot cached;
+
+    /** Bumped by {@link #invalidate()}; a load that raced with a write is not cached. */
+    private static final AtomicLong generation = new AtomicLong();
+
+    static {
+        // a restored backup has different counts
+        DBConnection.addCloseListener(DashboardStatsService::invalidate);
+    }
+
+    /**
+     * Returns the current counts, from the cache when it is still valid.
+     *
+     * @return counts of players, teams, matches and game events; all zero if the database cannot be read
+     */
+    public static Snapshot getSnapshot() {
+        Snapshot current = cached;
+        if (current != null && System.currentTimeMillis() - current.takenAt <= CACHE_MILLIS) return current;
+
+        long before = generation.get();
+        Snapshot fresh = load();
+        if (fresh != null) {
+            if (generation.get() == before) cached = fresh;
+            return fresh;
+        }
+        return current != null ? current : new Snapshot(0, 0, 0, 0);
+    }
+
+    /** Drops the cached snapshot so the next read goes to the database. */
+    public static void invalidate() {
+        generation.incrementAndGet();
+        cached = null;
+    }
+
+    private static Snapshot load() {
+        try (Connection conn = DBConnection.getConnection()) {
+            try {
+                return readCounters(conn);
+            } catch (SQLException e) {
+                if (!String.valueOf(e.getMessage()).contains("no such table")) throw e;
+                return countTables(conn);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Snapshot readCounters(Connection conn) throws SQLException {
+        int players = 0, teams = 0, matches = 0, events = 0;
+        PreparedStatement ps = conn.prepareStatement(COUNTERS_SQL);
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                int count = rs.getInt("row_count");
+                switch (rs.getString("table_name")) {
+                    case "players" -> players = count;
+                    case "teams" -> teams = count;
+                    case "matches" -> matches = count;
+                    case "game_event" -> events = count;
+                    default -> { }
+                }
+            }
+        }
+        return new Snapshot(players, teams, matches, events);
+    }
+
+    private static Snapshot countTables(Connection conn) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(FALLBACK_SQL);
+        try (ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) return new Snapshot(0, 0, 0, 0);
+            return new Snapshot(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4));
+        }
+    }
+
+    /**
+     * Row counts read at one point in time.
+     */
+    public static final class Snapshot {
+        private final int players;
+        private final int teams;
+        private final int matches;
+        private final int events;
+        private final long takenAt = System.currentTimeMillis();
+
+        Snapshot(int players, int teams, int matches, int events) {
+            this.players = players;
+            this.teams = teams;
+            this.matches = matches;
+            this.events = events;
+        }
+
+        /** Returns the number of players. */
+        public int getPlayers() { return players; }
+
+        /** Returns the number of teams. */
+        public int getTeams() { return teams; }
+
+        /** Returns the number of matches. */
+        public int getMatches() { return matches; }
+
+        /** Returns the number of game events. */
+        public int getEvents() { return events; }
+
+        /** Returns the time the counts were read, in epoch milliseconds. */
+        public long getTakenAt() { return takenAt; }
+
+        @Override
+        public String toString() {
+            return "Snapshot[players=" + players + ", teams=" + teams
+                    + ", matches=" + matches + ", events=" + events + "]";
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package service;
+
+import model.Match;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FixtureGenerator
+ *
+ * <p>
+ * Builds a single or double round-robin schedule with the circle method: one team stays in
+ * place while the others rotate one position per round, so every team meets every other team
+ * exactly once per leg and plays once per round. With an odd number of teams a bye takes the
+ * fixed place, and each round one team rests.
+ * </p>
+ *
+ * <p>Home and away:
+ * <ul>
+ *   <li>The fixed team alternates home and away from round to round; the other pairs alternate
+ *       by position. With an even number of teams every team has at most one more home than
+ *       away match per leg and the schedule has the minimum of N - 2 breaks (two home or two
+ *       away matches in a row); with an odd number every team has as many of each.</li>
+ *   <li>The second leg of a double round-robin repeats the first with home and away swapped.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Round {@code r} (0-based) is dated {@code firstRound + r * daysBetweenRounds}. Each match is
+ * played at the home team's venue; teams without one get {@link #DEFAULT_VENUE}. Generated
+ * matches have no ID and a 0-0 score; save them with {@link dao.MatchDAO#addMatches(List)}.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * FixtureGenerator generator = new FixtureGenerator(true, LocalDate.of(2026, 8, 15), 7, MatchDAO.getHomeVenues());
+ * List&lt;Match&gt; fixtures = generator.generate(new ArrayList&lt;&gt;(TeamDAO.getTeamNames().keySet()));
+ * boolean saved = MatchDAO.addMatches(fixtures);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class FixtureGenerator {
+
+    /** Venue used when a team has none configured. */
+    public static final String DEFAULT_VENUE = "TBD";
+
+    private static final int BYE = -1;
+
+    private final boolean doubleRoundRobin;
+    private final LocalDate firstRound;
+    private final int daysBetweenRounds;
+    private final Map<Integer, String> venues;
+
+    /**
+     * @param doubleRoundRobin  true to play every pairing home and away
+     * @param firstRound        date of the first round
+     * @param daysBetweenRounds days from one round to the next, at least 1
+     * @param venues            home venue by team ID
+     */
+    public FixtureGenerator(boolean doubleRoundRobin, LocalDate firstRound, int daysBetweenRounds,
+                            Map<Integer, String> venues) {
+        if (daysBetweenRounds < 1) throw new IllegalArgumentException("daysBetweenRounds must be at least 1");
+        this.doubleRoundRobin = doubleRoundRobin;
+        this.firstRound = firstRound;
+        this.daysBetweenRounds = daysBetweenRounds;
+        this.venues = Map.copyOf(venues);
+    }
+
+    /**
+     * Returns the number of rounds for a number of teams.
+     *
+     * @param teams            number of teams
+     * @param doubleRoundRobin true for home and away legs
+     */
+    public static int rounds(int teams, boolean doubleRoundRobin) {
+        int perLeg = teams < 2 ? 0 : teams % 2 == 0 ? teams - 1 : teams;
+        return doubleRoundRobin ? 2 * perLeg : perLeg;
+    }
+
+    /**
+     * Returns the date of the last round for a number of teams.
+     *
+     * @param teams number of teams
+     */
+    public LocalDate lastRound(int teams) {
+        return firstRound.plusDays((long) Math.max(0, rounds(teams, doubleRoundRobin) - 1) * daysBetweenRounds);
+    }
+
+    /**
+     * Generates the schedule.
+     *
+     * @param teamIds teams taking part, in seeding order
+     * @return matches ordered by round
+     * @throws IllegalArgumentException if there are fewer than two teams or a team is repeated
+     */
+    public List<Match> generate(List<Integer> teamIds) {
+        Set<Integer> unique = new HashSet<>(teamIds);
+        if (unique.size() != teamIds.size()) throw new IllegalArgumentException("A team is listed twice");
+        if (teamIds.size() < 2) throw new IllegalArgumentException("At least two teams are needed");
+
+        boolean odd = teamIds.size() % 2 == 1;
+        int n = odd ? teamIds.size() + 1 : teamIds.size();
+        int[] circle = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (odd) circle[i] = i == 0 ? BYE : teamIds.get(i - 1);
+            else circle[i] = teamIds.get(i);
+        }
+
+        int perLeg = n - 1;
+        List<int[]> pairings = new ArrayList<>(perLeg * n / 2); // round, home, away
+        for (int round = 0; round < perLeg; round++) {
+            for (int i = 0; i < n / 2; i++) {
+                int a = circle[i], b = circle[n - 1 - i];
+                if (a == BYE || b == BYE) continue;
+                boolean aHome = i == 0 ? round % 2 == 0 : i % 2 == 1;
+                pairings.add(aHome ? new int[]{round, a, b} : new int[]{round, b, a});
+            }
+            // rotate every place but the first one step clockwise
+            int last = circle[n - 1];
+            System.arraycopy(circle, 1, circle, 2, n - 2);
+            circle[1] = last;
+        }
+
+        List<Match> schedule = new ArrayList<>(doubleRoundRobin ? 2 * pairings.size() : pairings.size());
+        for (int[] p : pairings) schedule.add(fixture(p[0], p[1], p[2]));
+        if (doubleRoundRobin) {
+            for (int[] p : pairings) schedule.add(fixture(p[0] + perLeg, p[2], p[1]));
+        }
+        return schedule;
+    }
+
+    private Match fixture(int round, int home, int away) {
+        Match m = new Match();
+        m.setHomeTeam(String.valueOf(home));
+        m.setAwayTeam(String.valueOf(away));
+        m.setMatchDate(firstRound.plusDays((long) round * daysBetweenRounds).toString());
+        m.setVenue(venues.getOrDefault(home, DEFAULT_VENUE));
+        m.setHasResult(false);
+        return m;
+    }
+}
@@ -0,0 +1,334 @@
+package service;
+
+import dao.BatchResult;
+import dao.GameEventDAO;
+import model.GameEvent;
+import util.DBConnection;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * GameEventIngestor
+ *
+ * <p>
+ * Write-behind queue in front of {@link GameEventDAO} for live matches. Callers submit events and
+ * immediately get a future; a single writer thread drains the queue and group-commits the events
+ * through {@link GameEventDAO#addEvents(java.util.Collection)} every {@code groupSize} events or
+ * every {@code maxDelayMillis}, whichever comes first. Each future completes with the generated
+ * event_id, or exceptionally if the row was rejected.
+ * </p>
+ *
+ * <p>Main Features:
+ * <ul>
+ *   <li>Bounded lock-free queue: when it is full, {@link #submit(GameEvent)} rejects the event
+ *       instead of blocking the caller</li>
+ *   <li>Metrics: queue depth, submitted/committed/failed/rejected counts, commit latency histogram
+ *       and batch size distribution</li>
+ *   <li>Flushes everything still queued on {@link #shutdown()}, which runs automatically when
+ *       {@link DBConnection#closeConnection()} is called on logout or exit</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * CompletableFuture&lt;Integer&gt; id = GameEventIngestor.getInstance().submit(event);
+ * id.thenAccept(eventId -&gt; System.out.println("Stored as " + eventId));
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class GameEventIngestor {
+
+    /** Upper bounds (inclusive, in ms) of the commit latency buckets; the last bucket is open. */
+    private static final long[] LATENCY_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 250, 500, 1000};
+
+    /** Upper bounds (inclusive) of the batch size buckets; the last bucket is open. */
+    private static final long[] BATCH_SIZE_BOUNDS = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512};
+
+    /** Bit of {@link #state} set once the ingestor stops accepting events. */
+    private static final int SHUTDOWN = 1 << 30;
+
+    private static GameEventIngestor instance;
+
+    static {
+        DBConnection.addCloseListener(GameEventIngestor::shutdownInstance);
+    }
+
+    private final int capacity;
+    private final int groupSize;
+    private final long maxDelayNanos;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * Queue depth (reserved slots, including events about to be offered) plus the
+     * {@link #SHUTDOWN} bit, so a reservation and the shutdown check are one atomic step.
+     */
+    private final AtomicInteger state = new AtomicInteger();
+    private final Thread writer;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BOUNDS_MS.length + 1);
+    private final AtomicLongArray batchSizeBuckets = new AtomicLongArray(BATCH_SIZE_BOUNDS.length + 1);
+
+    /**
+     * Creates and starts an ingestor.
+     *
+     * @param capacity       maximum number of queued events
+     * @param groupSize      number of events that triggers a commit
+     * @param maxDelayMillis maximum time an event waits in the queue before it is committed
+     */
+    public GameEventIngestor(int capacity, int groupSize, long maxDelayMillis) {
+        if (capacity < 1 || capacity >= SHUTDOWN || groupSize < 1 || maxDelayMillis < 1) {
+            throw new IllegalArgumentException("capacity, groupSize and maxDelayMillis must be positive");
+        }
+        this.capacity = capacity;
+        this.groupSize = groupSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.writer = new Thread(this::runWriter, "game-event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Returns the shared ingestor, starting it if needed. Defaults can be changed with the system
+     * properties {@code soccer.ingest.capacity}, {@code soccer.ingest.groupSize} and
+     * {@code soccer.ingest.maxDelayMs}.
+     */
+    public static synchronized GameEventIngestor getInstance() {
+        if (instance == null || instance.isShutdown()) {
+            instance = new GameEventIngestor(
+                    Integer.getInteger("soccer.ingest.capacity", 10_000),
+                    Integer.getInteger("soccer.ingest.groupSize", 100),
+                    Long.getLong("soccer.ingest.maxDelayMs", 20L));
+        }
+        return instance;
+    }
+
+    /** Flushes and stops the shared ingestor, if one was started. */
+    public static void shutdownInstance() {
+        GameEventIngestor current;
+        synchronized (GameEventIngestor.class) {
+            current = instance;
+            instance = null;
+        }
+        if (current != null) current.shutdown();
+    }
+
+    /**
+     * Queues an event for the next group commit.
+     *
+     * @param event event to store
+     * @return future completed with the generated event_id; completed exceptionally with
+     *         {@link RejectedExecutionException} if the queue is full or the ingestor is shut down
+     */
+    public CompletableFuture<Integer> submit(GameEvent event) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        int queued = reserveSlot();
+        if (queued < 0) {
+            rejected.increment();
+            future.completeExceptionally(new RejectedExecutionException(queued == -SHUTDOWN
+                    ? "Event ingestor is shut down" : "Event queue is full (" + capacity + ")"));
+            return future;
+        }
+
+        // the writer does not stop while a reserved slot is still waiting for its event
+        queue.offer(new Pending(event, future));
+        submitted.increment();
+        if (queued == 1 || queued >= groupSize) LockSupport.unpark(writer);
+        return future;
+    }
+
+    /**
+     * Lock-free reservation of one queue slot.
+     *
+     * @return the depth including the new slot, {@code -SHUTDOWN} if the ingestor is shut down
+     *         or -1 if the queue is full
+     */
+    private int reserveSlot() {
+        while (true) {
+            int current = state.get();
+            if ((current & SHUTDOWN) != 0) return -SHUTDOWN;
+            if (current >= capacity) return -1;
+            if (state.compareAndSet(current, current + 1)) return current + 1;
+        }
+    }
+
+    private Pending take() {
+        Pending p = queue.poll();
+        if (p != null) state.decrementAndGet();
+        return p;
+    }
+
+    private boolean isShutdown() {
+        return (state.get() & SHUTDOWN) != 0;
+    }
+
+    /**
+     * Stops accepting events, commits everything still queued and waits for the writer to finish.
+     */
+    public void shutdown() {
+        state.getAndUpdate(s -> s | SHUTDOWN);
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------- Writer ----------
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(groupSize);
+        while (true) {
+            Pending first = take();
+            if (first == null) {
+                int s = state.get();
+                if (s == SHUTDOWN) break; // shut down and every reserved slot drained
+                if ((s & SHUTDOWN) != 0) Thread.onSpinWait(); // a producer is still offering
+                else LockSupport.parkNanos(this, maxDelayNanos);
+                continue;
+            }
+
+            batch.add(first);
+            long deadline = first.enqueuedNanos + maxDelayNanos;
+            while (batch.size() < groupSize) {
+                Pending next = take();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || isShutdown()) break;
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        List<GameEvent> events = new ArrayList<>(batch.size());
+        for (Pending p : batch) events.add(p.event);
+
+        long start = System.nanoTime();
+        try {
+            BatchResult result = GameEventDAO.addEvents(events);
+            for (int i = 0; i < batch.size(); i++) {
+                int id = result.getGeneratedId(i);
+                if (id != BatchResult.NOT_INSERTED) {
+                    committed.increment();
+                    batch.get(i).future.complete(id);
+                } else {
+                    failed.increment();
+                    batch.get(i).future.completeExceptionally(new SQLException(result.getFailures().get(i)));
+                }
+            }
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            for (Pending p : batch) p.future.completeExceptionally(e);
+        }
+
+        commits.increment();
+        record(latencyBuckets, LATENCY_BOUNDS_MS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        record(batchSizeBuckets, BATCH_SIZE_BOUNDS, batch.size());
+    }
+
+    private static void record(AtomicLongArray buckets, long[] bounds, long value) {
+        int i = 0;
+        while (i < bounds.length && value > bounds[i]) i++;
+        buckets.incrementAndGet(i);
+    }
+
+    // ---------- Metrics ----------
+
+    /** Returns the number of events waiting in the queue. */
+    public int getQueueDepth() { return state.get() & ~SHUTDOWN; }
+
+    /** Returns the maximum number of queued events. */
+    public int getCapacity() { return capacity; }
+
+    /** Returns the number of accepted events. */
+    public long getSubmittedCount() { return submitted.sum(); }
+
+    /** Returns the number of events written to the database. */
+    public long getCommittedCount() { return committed.sum(); }
+
+    /** Returns the number of events the database rejected. */
+    public long getFailedCount() { return failed.sum(); }
+
+    /** Returns the number of events refused because the queue was full or shut down. */
+    public long getRejectedCount() { return rejected.sum(); }
+
+    /** Returns the number of group commits performed. */
+    public long getCommitCount() { return commits.sum(); }
+
+    /** Returns commit counts per latency bucket; see {@link #describeMetrics()} for the bounds. */
+    public long[] getCommitLatencyHistogram() { return snapshot(latencyBuckets); }
+
+    /** Returns commit counts per batch size bucket; see {@link #describeMetrics()} for the bounds. */
+    public long[] getBatchSizeHistogram() { return snapshot(batchSizeBuckets); }
+
+    private static long[] snapshot(AtomicLongArray buckets) {
+        long[] copy = new long[buckets.length()];
+        for (int i = 0; i < copy.length; i++) copy[i] = buckets.get(i);
+        return copy;
+    }
+
+    /** Returns a human readable summary of all metrics. */
+    public String describeMetrics() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("GameEventIngestor[depth=").append(getQueueDepth()).append('/').append(capacity)
+                .append(", submitted=").append(getSubmittedCount())
+                .append(", committed=").append(getCommittedCount())
+                .append(", failed=").append(getFailedCount())
+                .append(", rejected=").append(getRejectedCount())
+                .append(", commits=").append(getCommitCount()).append("]\n");
+
+        sb.append("  commit latency (ms):");
+        long[] latency = getCommitLatencyHistogram();
+        for (int i = 0; i < latency.length; i++) {
+            sb.append(i < LATENCY_BOUNDS_MS.length ? " <=" + LATENCY_BOUNDS_MS[i] : " >" + LATENCY_BOUNDS_MS[i - 1])
+                    .append(':').append(latency[i]);
+        }
+
+        sb.append("\n  batch size:");
+        long[] sizes = getBatchSizeHistogram();
+        for (int i = 0; i < sizes.length; i++) {
+            sb.append(i < BATCH_SIZE_BOUNDS.length ? " <=" + BATCH_SIZE_BOUNDS[i] : " >" + BATCH_SIZE_BOUNDS[i - 1])
+                    .append(':').append(sizes[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * An event waiting in the queue together with the future of its caller.
+     */
+    private static final class Pending {
+        final GameEvent event;
+        final CompletableFuture<Integer> future;
+        final long enqueuedNanos = System.nanoTime();
+
+        Pending(GameEvent event, CompletableFuture<Integer> future) {
+            this.event = event;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package service;
+
+import java.util.List;
+
+/**
+ * IntervalTree
+ *
+ * <p>
+ * Closed intervals {@code [start, end]} of {@code long}s, each tagged with an int ID, in an AVL
+ * tree ordered by (start, ID). Every node also keeps the largest end of its subtree, so an
+ * overlap search skips whole subtrees that end before the query; insert, remove and the search
+ * for one overlap are O(log n), listing all overlaps is O(log n + k).
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * IntervalTree tree = new IntervalTree();
+ * tree.insert(100, 101, 7);
+ * boolean busy = tree.firstOverlap(101, 101) != IntervalTree.NONE;   // true
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+class IntervalTree {
+
+    /** Returned by {@link #firstOverlap} when nothing overlaps. */
+    static final int NONE = Integer.MIN_VALUE;
+
+    private Node root;
+    private int size;
+
+    /** Returns the number of intervals. */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds an interval; an interval with the same start and ID is replaced.
+     *
+     * @param start first point
+     * @param end   last point, not before {@code start}
+     * @param id    tag, unique among intervals with the same start
+     */
+    void insert(long start, long end, int id) {
+        root = insert(root, start, end, id);
+    }
+
+    /**
+     * Removes the interval with this start and ID.
+     *
+     * @return true if it was present
+     */
+    boolean remove(long start, int id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Returns the ID of one interval overlapping {@code [start, end]}. If the left subtree
+     * reaches {@code start}, either it holds an overlap or nothing to the right can (those start
+     * later still), so one path from the root is enough.
+     *
+     * @return an ID, or {@link #NONE}
+     */
+    int firstOverlap(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start <= end && node.end >= start) return node.id;
+            node = node.left != null && node.left.max >= start ? node.left : node.right;
+        }
+        return NONE;
+    }
+
+    /**
+     * Adds the IDs of every interval overlapping {@code [start, end]} to {@code out}, in start
+     * order.
+     */
+    void overlaps(long start, long end, List<Integer> out) {
+        overlaps(root, start, end, out);
+    }
+
+    private static void overlaps(Node node, long start, long end, List<Integer> out) {
+        if (node == null || node.max < start) return;
+        overlaps(node.left, start, end, out);
+        if (node.start > end) return; // everything to the right starts later still
+        if (node.end >= start) out.add(node.id);
+        overlaps(node.right, start, end, out);
+    }
+
+    // ---------- AVL ----------
+
+    private Node insert(Node node, long start, long end, int id) {
+        if (node == null) {
+            size++;
+            return new Node(start, end, id);
+        }
+        int c = compare(start, id, node);
+        if (c < 0) node.left = insert(node.left, start, end, id);
+        else if (c > 0) node.right = insert(node.right, start, end, id);
+        else node.end = end;
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, int id) {
+        if (node == null) return null;
+        int c = compare(start, id, node);
+        if (c < 0) node.left = remove(node.left, start, id);
+        else if (c > 0) node.right = remove(node.right, start, id);
+        else {
+            size--;
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            Node next = node.right;
+            while (next.left != null) next = next.left;
+            node.right = removeMin(node.right);
+            next.left = node.left;
+            next.right = node.right;
+            node = next;
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) return node.right;
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int c = Long.compare(start, node.start);
+        return c != 0 ? c : Integer.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int diff = height(node.left) - height(node.right);
+        if (diff > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (diff < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.end;
+        if (node.left != null) max = Math.max(max, node.left.max);
+        if (node.right != null) max = Math.max(max, node.right.max);
+        node.max = max;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        final long start;
+        long end;
+        final int id;
+        long max;
+        int height = 1;
+        Node left, right;
+
+        Node(long start, long end, int id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.max = end;
+        }
+    }
+}
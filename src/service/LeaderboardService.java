@@ -0,0 +1,321 @@
+package service;
+
+import dao.MatchDAO;
+import dao.MatchListener;
+import model.LeaderboardEntry;
+import model.Match;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LeaderboardService
+ *
+ * <p>
+ * Top-K player leaderboards for goals, assists, goal contributions, minutes played and cards,
+ * optionally limited to one team (the player's current team) and a range of match dates.
+ * SQLite adds up the statistic per player; only the best K players are kept while the rows are
+ * read, in a bounded min-heap whose root is the weakest player kept so far. A row that does not
+ * beat the root is skipped without creating any object, so a board costs O(n log K) and never
+ * sorts all players.
+ * </p>
+ *
+ * <p>Caching:
+ * <ul>
+ *   <li>Boards are cached per metric, team, date range and size in a small LRU map
+ *       ({@code soccer.leaderboard.cacheSize}, default 32 boards).</li>
+ *   <li>{@code PerformanceDAO} and {@code GameEventDAO} report the players they wrote through
+ *       {@link #playersChanged(Source, Collection)}; only boards built from that table whose team
+ *       filter is empty or matches one of the players' teams are dropped.</li>
+ *   <li>Player, team and match date changes, and a database restore, clear the whole cache.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Cards are game events whose type contains "card" (for example "Yellow Card" or
+ * "Red Card"). Ties at the same total share a rank; at the cut-off the lower player ID wins.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * List&lt;LeaderboardEntry&gt; scorers = LeaderboardService.getLeaders(Metric.GOALS, null, "2024-01-01", "2024-12-31", 10);
+ * List&lt;LeaderboardEntry&gt; cards = LeaderboardService.getLeaders(Metric.CARDS, 3, null, null, 5);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class LeaderboardService {
+
+    /** Table a metric is computed from. */
+    public enum Source {
+        PERFORMANCE("performance pf JOIN players p ON p.player_id = pf.player_id "
+                + "JOIN matches m ON m.match_id = pf.match_id"),
+        EVENTS("game_event ge JOIN players p ON p.player_id = ge.player_id "
+                + "JOIN matches m ON m.match_id = ge.match_id");
+
+        private final String from;
+
+        Source(String from) { this.from = from; }
+    }
+
+    /** Statistics a leaderboard can rank. */
+    public enum Metric {
+        GOALS("Goals", Source.PERFORMANCE, "SUM(COALESCE(pf.goals, 0))", null),
+        ASSISTS("Assists", Source.PERFORMANCE, "SUM(COALESCE(pf.assists, 0))", null),
+        CONTRIBUTIONS("Goals + Assists", Source.PERFORMANCE,
+                "SUM(COALESCE(pf.goals, 0) + COALESCE(pf.assists, 0))", null),
+        MINUTES("Minutes Played", Source.PERFORMANCE, "SUM(COALESCE(pf.minutes_played, 0))", null),
+        CARDS("Cards", Source.EVENTS, "COUNT(*)", "lower(ge.event_type) LIKE '%card%'");
+
+        private final String label;
+        private final Source source;
+        private final String total;
+        private final String condition;
+
+        Metric(String label, Source source, String total, String condition) {
+            this.label = label;
+            this.source = source;
+            this.total = total;
+            this.condition = condition;
+        }
+
+        /** Returns the table the metric is computed from. */
+        public Source getSource() { return source; }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    private static final int CACHE_SIZE = Integer.getInteger("soccer.leaderboard.cacheSize", 32);
+
+    /** Above this many players a write drops every board of its source instead of looking up teams. */
+    private static final int MAX_TEAM_LOOKUP = 500;
+
+    private static final Map<String, Board> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Board> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /** Bumped on every invalidation; a board computed while a write happened is not cached. */
+    private static final AtomicLong generation = new AtomicLong();
+
+    static {
+        DBConnection.addCloseListener(LeaderboardService::invalidate);
+        MatchDAO.addListener(new MatchListener() {
+            @Override
+            public void onMatchUpdated(Match before, Match after) {
+                // the date decides which range a match falls in
+                if (!Objects.equals(before.getMatchDate(), after.getMatchDate())) invalidate();
+            }
+
+            @Override
+            public void onMatchDeleted(Match match) { invalidate(); }
+
+            @Override
+            public void onTeamsChanged() { invalidate(); }
+        });
+    }
+
+    /**
+     * Returns the best players for a statistic.
+     *
+     * @param metric   statistic to rank by
+     * @param teamId   only players currently in this team, or null for all players
+     * @param fromDate first match date included (YYYY-MM-DD), or null/blank for no lower bound
+     * @param toDate   last match date included (YYYY-MM-DD), or null/blank for no upper bound
+     * @param limit    maximum number of players
+     * @return immutable list, best first; players with a total of zero are left out. Empty if the
+     *         query failed.
+     */
+    public static List<LeaderboardEntry> getLeaders(Metric metric, Integer teamId, String fromDate, String toDate, int limit) {
+        String from = blankToNull(fromDate);
+        String to = blankToNull(toDate);
+        String key = metric + "|" + teamId + "|" + from + "|" + to + "|" + limit;
+
+        synchronized (cache) {
+            Board board = cache.get(key);
+            if (board != null) return board.entries;
+        }
+
+        long before = generation.get();
+        List<LeaderboardEntry> entries;
+        try {
+            entries = compute(metric, teamId, from, to, limit);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return Collections.emptyList();
+        }
+        synchronized (cache) {
+            if (generation.get() == before) cache.put(key, new Board(metric.source, teamId, entries));
+        }
+        return entries;
+    }
+
+    /**
+     * Drops the boards a write to {@code source} may have changed. Called by the DAOs after the
+     * write was committed.
+     *
+     * @param source    table that was written
+     * @param playerIds players whose rows were inserted, updated or deleted (old and new player)
+     */
+    public static void playersChanged(Source source, Collection<Integer> playerIds) {
+        if (playerIds.isEmpty()) return;
+        generation.incrementAndGet();
+
+        boolean teamFiltered;
+        synchronized (cache) {
+            teamFiltered = cache.values().stream().anyMatch(b -> b.source == source && b.teamId != null);
+        }
+        Set<Integer> teams = null;
+        if (teamFiltered && playerIds.size() <= MAX_TEAM_LOOKUP) {
+            teams = teamsOf(playerIds);
+        }
+
+        synchronized (cache) {
+            Iterator<Board> it = cache.values().iterator();
+            while (it.hasNext()) {
+                Board board = it.next();
+                if (board.source != source) continue;
+                if (board.teamId == null || teams == null || teams.contains(board.teamId)) it.remove();
+            }
+        }
+    }
+
+    /**
+     * Convenience for a write that touched a single player.
+     *
+     * @param source   table that was written
+     * @param playerId player whose row changed
+     */
+    public static void playerChanged(Source source, int playerId) {
+        playersChanged(source, List.of(playerId));
+    }
+
+    /** Drops every cached board, e.g. after a player changed team or name. */
+    public static void invalidate() {
+        generation.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    // ---------- Computation ----------
+
+    private static List<LeaderboardEntry> compute(Metric metric, Integer teamId, String from, String to, int limit)
+            throws SQLException {
+        if (limit <= 0) return Collections.emptyList();
+
+        StringBuilder sql = new StringBuilder("SELECT p.player_id, p.full_name, t.team_name, ")
+                .append(metric.total).append(" AS total FROM ").append(metric.source.from)
+                .append(" LEFT JOIN teams t ON t.team_id = p.team_id WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (metric.condition != null) sql.append(" AND ").append(metric.condition);
+        if (teamId != null) { sql.append(" AND p.team_id = ?"); params.add(teamId); }
+        if (from != null) { sql.append(" AND m.match_date >= ?"); params.add(from); }
+        if (to != null) { sql.append(" AND m.match_date <= ?"); params.add(to); }
+        sql.append(" GROUP BY p.player_id HAVING total > 0");
+
+        // root = weakest candidate kept: lowest total, then highest player ID
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, WEAKEST_FIRST);
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(sql.toString());
+            for (int i = 0; i < params.size(); i++) stmt.setObject(i + 1, params.get(i));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int playerId = rs.getInt(1);
+                    long total = rs.getLong(4);
+                    if (heap.size() == limit) {
+                        Candidate weakest = heap.peek();
+                        if (total < weakest.total || (total == weakest.total && playerId > weakest.playerId)) continue;
+                        heap.poll();
+                    }
+                    heap.add(new Candidate(playerId, rs.getString(2), rs.getString(3), total));
+                }
+            }
+        }
+
+        Candidate[] best = heap.toArray(new Candidate[0]);
+        Arrays.sort(best, WEAKEST_FIRST.reversed());
+        List<LeaderboardEntry> entries = new ArrayList<>(best.length);
+        for (int i = 0; i < best.length; i++) {
+            Candidate c = best[i];
+            int rank = i > 0 && best[i - 1].total == c.total ? entries.get(i - 1).getRank() : i + 1;
+            entries.add(new LeaderboardEntry(rank, c.playerId, c.name, c.team, c.total));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    /** Current teams of the given players. */
+    private static Set<Integer> teamsOf(Collection<Integer> playerIds) {
+        Set<Integer> teams = new HashSet<>();
+        String marks = String.join(", ", Collections.nCopies(playerIds.size(), "?"));
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT DISTINCT team_id FROM players WHERE team_id IS NOT NULL AND player_id IN (" + marks + ")");
+            int i = 1;
+            for (int id : playerIds) stmt.setInt(i++, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) teams.add(rs.getInt(1));
+            }
+            return teams;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null; // unknown teams: drop every board of the source
+        }
+    }
+
+    private static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    private static final Comparator<Candidate> WEAKEST_FIRST = Comparator
+            .comparingLong((Candidate c) -> c.total)
+            .thenComparing(Comparator.comparingInt((Candidate c) -> c.playerId).reversed());
+
+    /** A player kept in the heap while reading. */
+    private static final class Candidate {
+        final int playerId;
+        final String name;
+        final String team;
+        final long total;
+
+        Candidate(int playerId, String name, String team, long total) {
+            this.playerId = playerId;
+            this.name = name;
+            this.team = team;
+            this.total = total;
+        }
+    }
+
+    /** A cached leaderboard with what it depends on. */
+    private static final class Board {
+        final Source source;
+        final Integer teamId;
+        final List<LeaderboardEntry> entries;
+
+        Board(Source source, Integer teamId, List<LeaderboardEntry> entries) {
+            this.source = source;
+            this.teamId = teamId;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package service;
+
+import dao.GameEventDAO;
+import dao.MatchDAO;
+import dao.MatchListener;
+import model.GameEvent;
+import model.LiveMatch;
+import model.Match;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LiveMatchService
+ *
+ * <p>
+ * Keeps today's matches in memory so live score boards and timelines are served without a query.
+ * Each match has a fixed-size ring buffer of its most recent events ({@code soccer.live.bufferSize},
+ * 50 by default) plus running totals: the score, counted from Goal events, and the yellow and red
+ * cards of each side. A new event overwrites the oldest one in the buffer and only updates the
+ * totals, so recording an event costs the same however long the match has been running.
+ * </p>
+ *
+ * <p>How it stays current:
+ * <ul>
+ *   <li>{@link #warmUp()} loads today's matches and their events in three queries; it runs at
+ *       startup, on the first read of a new day and after {@link #invalidate()}.</li>
+ *   <li>{@link GameEventDAO} passes every inserted event to {@link #eventsAdded(Collection)}.
+ *       An edited or deleted event may already have left the buffer, so
+ *       {@link #eventsChanged(Collection)} reloads that match instead.</li>
+ *   <li>As a {@link MatchListener} it starts tracking matches added for today and drops matches
+ *       moved to another day or deleted.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>An event counts for the side its player belonged to when the event was recorded; events of
+ * players in neither team appear in the timeline but not in the totals.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * LiveMatch live = LiveMatchService.getInstance().getMatch(12);
+ * if (live != null) scoreLabel.setText(live.getHomeScore() + " - " + live.getAwayScore());
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class LiveMatchService implements MatchListener {
+
+    private static final String MATCHES_SQL = "SELECT match_id, home_team, away_team FROM matches WHERE match_date = ?";
+
+    private static final String SQUADS_SQL = "SELECT m.match_id, p.player_id, p.team_id FROM matches m "
+            + "JOIN players p ON p.team_id IN (m.home_team, m.away_team) WHERE m.match_date = ?";
+
+    private static final String EVENTS_SQL = "SELECT ge.event_id, ge.match_id, ge.player_id, ge.event_type, ge.event_time "
+            + "FROM game_event ge JOIN matches m ON m.match_id = ge.match_id "
+            + "WHERE m.match_date = ? ORDER BY ge.event_id";
+
+    private static final String MATCH_SQL = "SELECT home_team, away_team, match_date FROM matches WHERE match_id = ?";
+
+    private static final String MATCH_EVENTS_SQL = "SELECT event_id, match_id, player_id, event_type, event_time "
+            + "FROM game_event WHERE match_id = ? ORDER BY event_id";
+
+    private static final String PLAYER_TEAM_SQL = "SELECT team_id FROM players WHERE player_id = ?";
+
+    private static final byte NEITHER = 0, HOME = 1, AWAY = 2;
+
+    private static LiveMatchService instance;
+
+    private final int bufferSize;
+    private final Map<Integer, Live> matches = new ConcurrentHashMap<>();
+    private volatile LocalDate loadedOn;
+    private volatile boolean stale = true;
+
+    /**
+     * Creates a service; today's matches are loaded on {@link #warmUp()} or the first read.
+     *
+     * @param bufferSize number of recent events kept per match, at least 1
+     */
+    public LiveMatchService(int bufferSize) {
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be at least 1");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns the shared service, registered as a listener of {@link MatchDAO}, with the buffer
+     * size from {@code soccer.live.bufferSize}.
+     */
+    public static synchronized LiveMatchService getInstance() {
+        if (instance == null) {
+            instance = new LiveMatchService(Math.max(1, Integer.getInteger("soccer.live.bufferSize", 50)));
+            MatchDAO.addListener(instance);
+            DBConnection.addCloseListener(instance::invalidate);
+        }
+        return instance;
+    }
+
+    // ---------- Reads ----------
+
+    /**
+     * Returns today's matches, by match ID.
+     *
+     * @return snapshots of every match dated today
+     */
+    public List<LiveMatch> getLiveMatches() {
+        ensureLoaded();
+        List<LiveMatch> live = new ArrayList<>(matches.size());
+        for (Live m : matches.values()) live.add(m.snapshot());
+        live.sort(Comparator.comparingInt(LiveMatch::getMatchId));
+        return live;
+    }
+
+    /**
+     * Returns the score, cards and recent events of one of today's matches.
+     *
+     * @param matchId match ID
+     * @return the snapshot, or null if the match is not played today
+     */
+    public LiveMatch getMatch(int matchId) {
+        ensureLoaded();
+        Live m = matches.get(matchId);
+        return m == null ? null : m.snapshot();
+    }
+
+    /**
+     * Returns the most recent events of one of today's matches, ordered by minute.
+     *
+     * @param matchId match ID
+     * @return the events, empty if the match is not played today
+     */
+    public List<GameEvent> getTimeline(int matchId) {
+        LiveMatch live = getMatch(matchId);
+        return live == null ? List.of() : live.getTimeline();
+    }
+
+    // ---------- Updates ----------
+
+    /**
+     * Loads today's matches, the players of their teams and their events, replacing whatever
+     * was held before.
+     *
+     * @return number of matches being tracked
+     */
+    public synchronized int warmUp() {
+        LocalDate today = LocalDate.now();
+        Map<Integer, Live> loaded = new HashMap<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(MATCHES_SQL);
+            stmt.setString(1, today.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("match_id");
+                    loaded.put(id, new Live(id, rs.getInt("home_team"), rs.getInt("away_team"), bufferSize));
+                }
+            }
+            if (!loaded.isEmpty()) {
+                stmt = conn.prepareStatement(SQUADS_SQL);
+                stmt.setString(1, today.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Live m = loaded.get(rs.getInt("match_id"));
+                        if (m != null) m.sides.put(rs.getInt("player_id"), m.sideOf(rs.getInt("team_id")));
+                    }
+                }
+                stmt = conn.prepareStatement(EVENTS_SQL);
+                stmt.setString(1, today.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Live m = loaded.get(rs.getInt("match_id"));
+                        if (m != null) m.add(toEvent(rs), side(conn, m, rs.getInt("player_id")));
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return matches.size();
+        }
+        matches.clear();
+        matches.putAll(loaded);
+        loadedOn = today;
+        stale = false;
+        return loaded.size();
+    }
+
+    /**
+     * Records newly inserted events; events of matches not played today are ignored.
+     *
+     * @param events events carrying their generated event_id
+     */
+    public synchronized void eventsAdded(Collection<GameEvent> events) {
+        if (stale || !LocalDate.now().equals(loadedOn)) return; // the next read reloads everything
+        Connection conn = null;
+        try {
+            for (GameEvent e : events) {
+                Live m = matches.get(e.getMatchId());
+                if (m == null) continue;
+                if (conn == null && !m.sides.containsKey(e.getPlayerId())) conn = DBConnection.getConnection();
+                m.add(copy(e), side(conn, m, e.getPlayerId()));
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            stale = true;
+        } finally {
+            close(conn);
+        }
+    }
+
+    /**
+     * Reloads the events of matches whose events were edited or deleted.
+     *
+     * @param matchIds affected matches; those not played today are ignored
+     */
+    public synchronized void eventsChanged(Collection<Integer> matchIds) {
+        if (stale || !LocalDate.now().equals(loadedOn)) return;
+        for (int matchId : matchIds) {
+            if (matches.containsKey(matchId)) reload(matchId);
+        }
+    }
+
+    /** Forces a full reload on the next read. */
+    public void invalidate() {
+        stale = true;
+    }
+
+    @Override
+    public synchronized void onMatchAdded(Match match) {
+        if (stale || !isToday(match)) return;
+        try {
+            int home = Integer.parseInt(match.getHomeTeam().trim());
+            int away = Integer.parseInt(match.getAwayTeam().trim());
+            matches.put(match.getMatchId(), new Live(match.getMatchId(), home, away, bufferSize));
+        } catch (NumberFormatException | NullPointerException e) {
+            stale = true;
+        }
+    }
+
+    @Override
+    public synchronized void onMatchUpdated(Match before, Match after) {
+        if (stale) return;
+        Live m = matches.get(after.getMatchId());
+        if (!isToday(after)) {
+            matches.remove(after.getMatchId());
+        } else if (m == null || !String.valueOf(m.homeTeam).equals(trim(after.getHomeTeam()))
+                || !String.valueOf(m.awayTeam).equals(trim(after.getAwayTeam()))) {
+            reload(after.getMatchId());
+        }
+    }
+
+    @Override
+    public synchronized void onMatchDeleted(Match match) {
+        if (stale) return;
+        matches.remove(match.getMatchId());
+    }
+
+    @Override
+    public void onTeamsChanged() {
+        invalidate();
+    }
+
+    private void ensureLoaded() {
+        if (stale || !LocalDate.now().equals(loadedOn)) {
+            synchronized (this) {
+                if (stale || !LocalDate.now().equals(loadedOn)) warmUp();
+            }
+        }
+    }
+
+    /** Rebuilds one match from the database, or drops it if it is no longer played today. */
+    private void reload(int matchId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(MATCH_SQL);
+            stmt.setInt(1, matchId);
+            Live m;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || !loadedOn.toString().equals(trim(rs.getString("match_date")))) {
+                    matches.remove(matchId);
+                    return;
+                }
+                m = new Live(matchId, rs.getInt("home_team"), rs.getInt("away_team"), bufferSize);
+            }
+            Live old = matches.get(matchId);
+            if (old != null && old.homeTeam == m.homeTeam && old.awayTeam == m.awayTeam) m.sides.putAll(old.sides);
+            stmt = conn.prepareStatement(MATCH_EVENTS_SQL);
+            stmt.setInt(1, matchId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) m.add(toEvent(rs), side(conn, m, rs.getInt("player_id")));
+            }
+            matches.put(matchId, m);
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            stale = true;
+        }
+    }
+
+    /** Returns the side of a player, looking it up once if the player was not in the squads. */
+    private static byte side(Connection conn, Live m, int playerId) throws SQLException {
+        Byte side = m.sides.get(playerId);
+        if (side != null) return side;
+        PreparedStatement stmt = conn.prepareStatement(PLAYER_TEAM_SQL);
+        stmt.setInt(1, playerId);
+        try (ResultSet rs = stmt.executeQuery()) {
+            byte found = NEITHER;
+            if (rs.next()) {
+                int team = rs.getInt(1);
+                if (!rs.wasNull()) found = m.sideOf(team);
+            }
+            m.sides.put(playerId, found);
+            return found;
+        }
+    }
+
+    private boolean isToday(Match match) {
+        return loadedOn != null && loadedOn.toString().equals(trim(match.getMatchDate()));
+    }
+
+    private static String trim(String s) {
+        return s == null ? null : s.trim();
+    }
+
+    private static GameEvent toEvent(ResultSet rs) throws SQLException {
+        return new GameEvent(rs.getInt("event_id"), rs.getInt("match_id"), rs.getInt("player_id"),
+                rs.getString("event_type"), rs.getInt("event_time"));
+    }
+
+    private static GameEvent copy(GameEvent e) {
+        return new GameEvent(e.getEventId(), e.getMatchId(), e.getPlayerId(), e.getEventType(), e.getEventTime());
+    }
+
+    private static void close(Connection conn) {
+        if (conn == null) return;
+        try {
+            conn.close();
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * One match: a ring buffer of its latest events and running totals. Writers hold the service
+     * lock; {@link #snapshot()} is cached until the next event.
+     */
+    private static final class Live {
+        final int matchId;
+        final int homeTeam;
+        final int awayTeam;
+        /** Side of each player seen so far, by player ID. */
+        final Map<Integer, Byte> sides = new HashMap<>();
+
+        private final GameEvent[] ring;
+        private int next;
+        private int count;
+        private int total;
+        private int homeScore, awayScore;
+        private int homeYellow, homeRed, awayYellow, awayRed;
+        private volatile LiveMatch snapshot;
+
+        Live(int matchId, int homeTeam, int awayTeam, int bufferSize) {
+            this.matchId = matchId;
+            this.homeTeam = homeTeam;
+            this.awayTeam = awayTeam;
+            this.ring = new GameEvent[bufferSize];
+        }
+
+        byte sideOf(int teamId) {
+            return teamId == homeTeam ? HOME : teamId == awayTeam ? AWAY : NEITHER;
+        }
+
+        synchronized void add(GameEvent e, byte side) {
+            ring[next] = e;
+            next = (next + 1) % ring.length;
+            if (count < ring.length) count++;
+            total++;
+
+            String type = e.getEventType() == null ? "" : e.getEventType().trim().toLowerCase(Locale.ROOT);
+            boolean home = side == HOME, away = side == AWAY;
+            if (type.equals("goal")) {
+                if (home) homeScore++;
+                if (away) awayScore++;
+            } else if (type.contains("card")) {
+                boolean red = type.contains("red");
+                if (home && red) homeRed++;
+                if (home && !red) homeYellow++;
+                if (away && red) awayRed++;
+                if (away && !red) awayYellow++;
+            }
+            snapshot = null;
+        }
+
+        LiveMatch snapshot() {
+            LiveMatch current = snapshot;
+            if (current != null) return current;
+            synchronized (this) {
+                if (snapshot == null) {
+                    List<GameEvent> timeline = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        timeline.add(copy(ring[(next - count + i + ring.length) % ring.length]));
+                    }
+                    timeline.sort(Comparator.comparingInt(GameEvent::getEventTime)
+                            .thenComparingInt(GameEvent::getEventId));
+                    snapshot = new LiveMatch(matchId, homeTeam, awayTeam, homeScore, awayScore,
+                            homeYellow, homeRed, awayYellow, awayRed, total, timeline);
+                }
+                return snapshot;
+            }
+        }
+    }
+}
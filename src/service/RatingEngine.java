@@ -0,0 +1,477 @@
+package service;
+
+import dao.MatchDAO;
+import dao.MatchListener;
+import model.Match;
+import model.RatingChange;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RatingEngine
+ *
+ * <p>
+ * Keeps an Elo strength rating per team, updated match by match in {@code match_date} order
+ * (then {@code match_id}). All matches are held in memory in that order; played matches form a
+ * prefix of the list because fixtures (dated after today) sort after them. Every played match
+ * stores the ratings of both teams before and after it, so current ratings, rating-at-date and
+ * per-team history are answered from memory.
+ * </p>
+ *
+ * <p>Incremental updates:
+ * <ul>
+ *   <li>The engine listens to {@link MatchDAO}. When a match is added, updated or deleted, only
+ *       the matches from the earliest affected position onwards are replayed; the ratings going
+ *       into that position are taken from each team's last earlier match.</li>
+ *   <li>The replayed rows are rewritten in {@code team_rating_history} (keyed by replay
+ *       position) in one transaction. On the first load the stored history is compared with the
+ *       replay and only rewritten from the first difference.</li>
+ *   <li>A new day replays from the first fixture that has become a played match; team changes
+ *       and closing the database force a full reload on the next read.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Model, configurable with system properties:
+ * <ul>
+ *   <li>{@code soccer.rating.initial} (1500): rating of a team before its first match.</li>
+ *   <li>{@code soccer.rating.k} (20): rating points at stake per match.</li>
+ *   <li>{@code soccer.rating.homeAdvantage} (60): points added to the home team's rating when
+ *       computing the expected result.</li>
+ *   <li>Wins by two goals move 1.5 times K, wins by N &gt; 2 goals (11 + N) / 8 times K.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * RatingEngine ratings = RatingEngine.getInstance();
+ * double now = ratings.getRating(3);
+ * double then = ratings.getRatingAt(3, "2024-01-01");
+ * Map&lt;Integer, Double&gt; table = ratings.getRatings();   // best first
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class RatingEngine implements MatchListener {
+
+    private static final String DELETE_FROM_SQL = "DELETE FROM team_rating_history WHERE seq >= ?";
+
+    private static final String INSERT_SQL = "INSERT INTO team_rating_history (seq, match_id, match_date, "
+            + "home_team, away_team, home_before, away_before, home_after, away_after) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String STORED_SQL = "SELECT seq, match_id, home_after, away_after "
+            + "FROM team_rating_history ORDER BY seq";
+
+    private static RatingEngine instance;
+
+    private final double initial;
+    private final double kFactor;
+    private final double homeAdvantage;
+
+    /** All matches between two known teams, ordered by date then ID; the first {@code played} are rated. */
+    private final List<Step> steps = new ArrayList<>();
+    /** Positions in {@link #steps} of each team's played matches, ascending. */
+    private final Map<Integer, List<Integer>> positions = new HashMap<>();
+    private final Map<Integer, Double> current = new HashMap<>();
+    private int played;
+    private String loadedOn;
+    private boolean stale = true;
+    private int lastReplayed;
+
+    /**
+     * Creates an engine; matches are loaded on the first read.
+     *
+     * @param initial       rating of a team before its first match
+     * @param kFactor       rating points at stake per match
+     * @param homeAdvantage points added to the home rating for the expected result
+     */
+    public RatingEngine(double initial, double kFactor, double homeAdvantage) {
+        this.initial = initial;
+        this.kFactor = kFactor;
+        this.homeAdvantage = homeAdvantage;
+    }
+
+    /**
+     * Returns the shared engine, registered as a listener of {@link MatchDAO}, configured from
+     * {@code soccer.rating.initial}, {@code soccer.rating.k} and
+     * {@code soccer.rating.homeAdvantage}.
+     */
+    public static synchronized RatingEngine getInstance() {
+        if (instance == null) {
+            instance = new RatingEngine(
+                    Double.parseDouble(System.getProperty("soccer.rating.initial", "1500")),
+                    Double.parseDouble(System.getProperty("soccer.rating.k", "20")),
+                    Double.parseDouble(System.getProperty("soccer.rating.homeAdvantage", "60")));
+            MatchDAO.addListener(instance);
+            DBConnection.addCloseListener(instance::invalidate);
+        }
+        return instance;
+    }
+
+    // ---------- Reads ----------
+
+    /**
+     * Returns a team's current rating.
+     *
+     * @param teamId team ID
+     * @return the rating after its last played match, or the initial rating if it has none
+     */
+    public synchronized double getRating(int teamId) {
+        refresh();
+        return current.getOrDefault(teamId, initial);
+    }
+
+    /**
+     * Returns the current rating of every team that has played, best first.
+     *
+     * @return immutable map of team ID to rating
+     */
+    public synchronized Map<Integer, Double> getRatings() {
+        refresh();
+        List<Map.Entry<Integer, Double>> sorted = new ArrayList<>(current.entrySet());
+        sorted.sort(Map.Entry.<Integer, Double>comparingByValue().reversed());
+        Map<Integer, Double> ratings = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Double> e : sorted) ratings.put(e.getKey(), e.getValue());
+        return Collections.unmodifiableMap(ratings);
+    }
+
+    /**
+     * Returns a team's rating at the end of a day.
+     *
+     * @param teamId team ID
+     * @param date   ISO date (yyyy-MM-dd); matches on that day are included
+     * @return the rating after the team's last match on or before {@code date}, or the initial
+     *         rating if it had none
+     */
+    public synchronized double getRatingAt(int teamId, String date) {
+        refresh();
+        List<Integer> mine = positions.get(teamId);
+        if (mine == null) return initial;
+        // MAX_VALUE as the match ID places the bound after every match on that date
+        int bound = lowerBound(mine, date, Integer.MAX_VALUE);
+        return bound == 0 ? initial : steps.get(mine.get(bound - 1)).after(teamId);
+    }
+
+    /**
+     * Returns how every played match changed a team's rating, oldest first.
+     *
+     * @param teamId team ID
+     * @return list of rating changes, empty if the team has not played
+     */
+    public synchronized List<RatingChange> getHistory(int teamId) {
+        refresh();
+        List<RatingChange> history = new ArrayList<>();
+        for (int pos : positions.getOrDefault(teamId, List.of())) {
+            Step s = steps.get(pos);
+            boolean home = s.home == teamId;
+            history.add(new RatingChange(s.matchId, s.date, teamId, home ? s.away : s.home,
+                    home ? s.homeBefore : s.awayBefore, home ? s.homeAfter : s.awayAfter));
+        }
+        return history;
+    }
+
+    /** Returns how many matches the last update replayed, for diagnostics. */
+    public synchronized int getLastReplayed() {
+        return lastReplayed;
+    }
+
+    /** Forces a full reload from the database on the next read. */
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    // ---------- Incremental updates ----------
+
+    @Override
+    public synchronized void onMatchAdded(Match match) {
+        if (stale) return;
+        Step step = Step.of(match);
+        if (step == null) return;
+        int pos = insert(step);
+        played = upperBound(loadedOn);
+        if (pos < played) replay(pos);
+    }
+
+    @Override
+    public synchronized void onMatchUpdated(Match before, Match after) {
+        if (stale) return;
+        int wasPlayed = played;
+        int from = remove(before);
+        Step step = Step.of(after);
+        if (step != null) from = Math.min(from, insert(step));
+        played = upperBound(loadedOn);
+        if (from < Math.max(wasPlayed, played)) replay(from);
+    }
+
+    @Override
+    public synchronized void onMatchDeleted(Match match) {
+        if (stale) return;
+        int wasPlayed = played;
+        int from = remove(match);
+        played = upperBound(loadedOn);
+        if (from < wasPlayed) replay(from);
+    }
+
+    @Override
+    public void onTeamsChanged() {
+        invalidate();
+    }
+
+    private void refresh() {
+        String today = LocalDate.now().toString();
+        if (stale) {
+            reload(today);
+        } else if (!today.equals(loadedOn)) {
+            loadedOn = today;
+            int from = played;
+            played = upperBound(today);
+            if (played != from) replay(from);
+        }
+    }
+
+    private void reload(String today) {
+        steps.clear();
+        positions.clear();
+        current.clear();
+        for (Match match : MatchDAO.getAllMatches()) {
+            Step step = Step.of(match);
+            if (step != null) steps.add(step);
+        }
+        steps.sort(null);
+        loadedOn = today;
+        played = upperBound(today);
+        stale = false;
+        rate(0);
+        persist(firstStoredDifference());
+        lastReplayed = played;
+    }
+
+    /** Replays the played matches from {@code from} and rewrites their history rows. */
+    private void replay(int from) {
+        rate(from);
+        persist(from);
+        lastReplayed = Math.max(0, played - from);
+    }
+
+    /**
+     * Recomputes the ratings of the played matches from position {@code from}, starting from each
+     * team's rating after its last match before that position.
+     */
+    private void rate(int from) {
+        current.clear();
+        for (Map.Entry<Integer, List<Integer>> e : positions.entrySet()) {
+            List<Integer> mine = e.getValue();
+            int keep = mine.size();
+            while (keep > 0 && mine.get(keep - 1) >= from) keep--;
+            mine.subList(keep, mine.size()).clear();
+            if (keep > 0) current.put(e.getKey(), steps.get(mine.get(keep - 1)).after(e.getKey()));
+        }
+        positions.values().removeIf(List::isEmpty);
+
+        for (int i = from; i < played; i++) {
+            Step s = steps.get(i);
+            s.homeBefore = current.getOrDefault(s.home, initial);
+            s.awayBefore = current.getOrDefault(s.away, initial);
+            double delta = delta(s.homeBefore, s.awayBefore, s.homeScore, s.awayScore);
+            s.homeAfter = s.homeBefore + delta;
+            s.awayAfter = s.awayBefore - delta;
+            current.put(s.home, s.homeAfter);
+            current.put(s.away, s.awayAfter);
+            positions.computeIfAbsent(s.home, k -> new ArrayList<>()).add(i);
+            positions.computeIfAbsent(s.away, k -> new ArrayList<>()).add(i);
+        }
+    }
+
+    /** Rating points the home team gains (negative: loses) from one result. */
+    private double delta(double home, double away, int homeScore, int awayScore) {
+        double expected = 1.0 / (1.0 + Math.pow(10.0, (away - home - homeAdvantage) / 400.0));
+        double actual = homeScore > awayScore ? 1.0 : homeScore == awayScore ? 0.5 : 0.0;
+        int margin = Math.abs(homeScore - awayScore);
+        double weight = margin <= 1 ? 1.0 : margin == 2 ? 1.5 : (11.0 + margin) / 8.0;
+        return kFactor * weight * (actual - expected);
+    }
+
+    // ---------- History table ----------
+
+    /** Rewrites the history rows from position {@code from} in one transaction. */
+    private void persist(int from) {
+        if (from < 0) return;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement delete = conn.prepareStatement(DELETE_FROM_SQL);
+                delete.setInt(1, from);
+                delete.executeUpdate();
+
+                PreparedStatement insert = conn.prepareStatement(INSERT_SQL);
+                for (int i = from; i < played; i++) {
+                    Step s = steps.get(i);
+                    insert.setInt(1, i);
+                    insert.setInt(2, s.matchId);
+                    insert.setString(3, s.date);
+                    insert.setInt(4, s.home);
+                    insert.setInt(5, s.away);
+                    insert.setDouble(6, s.homeBefore);
+                    insert.setDouble(7, s.awayBefore);
+                    insert.setDouble(8, s.homeAfter);
+                    insert.setDouble(9, s.awayAfter);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException ex) {
+            System.out.println("❌ Failed to save rating history: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the first position where the stored history differs from the in-memory replay,
+     * or -1 if it matches; 0 if it cannot be read.
+     */
+    private int firstStoredDifference() {
+        int seq = 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(STORED_SQL);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (seq >= played || rs.getInt("seq") != seq) return seq;
+                    Step s = steps.get(seq);
+                    if (rs.getInt("match_id") != s.matchId
+                            || Math.abs(rs.getDouble("home_after") - s.homeAfter) > 1e-9
+                            || Math.abs(rs.getDouble("away_after") - s.awayAfter) > 1e-9) {
+                        return seq;
+                    }
+                    seq++;
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return 0;
+        }
+        return seq < played ? seq : -1;
+    }
+
+    // ---------- Ordering ----------
+
+    /** Inserts a match at its place in date order and returns its position. */
+    private int insert(Step step) {
+        int pos = lowerBound(step.date, step.matchId);
+        steps.add(pos, step);
+        return pos;
+    }
+
+    /** Removes a match and returns its former position, or {@code Integer.MAX_VALUE} if absent. */
+    private int remove(Match match) {
+        int pos = lowerBound(match.getMatchDate(), match.getMatchId());
+        if (pos >= steps.size() || steps.get(pos).matchId != match.getMatchId()) {
+            // the cached date was not the stored one; fall back to a scan
+            pos = 0;
+            while (pos < steps.size() && steps.get(pos).matchId != match.getMatchId()) pos++;
+            if (pos == steps.size()) return Integer.MAX_VALUE;
+        }
+        steps.remove(pos);
+        return pos;
+    }
+
+    /** Number of matches dated on or before {@code date} (undated matches come first). */
+    private int upperBound(String date) {
+        return lowerBound(date, Integer.MAX_VALUE);
+    }
+
+    /** First position in {@link #steps} not ordered before ({@code date}, {@code matchId}). */
+    private int lowerBound(String date, int matchId) {
+        int lo = 0, hi = steps.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Step.compare(steps.get(mid), date, matchId) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Same as {@link #lowerBound(String, int)} over one team's positions. */
+    private int lowerBound(List<Integer> mine, String date, int matchId) {
+        int lo = 0, hi = mine.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Step.compare(steps.get(mine.get(mid)), date, matchId) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * One match and the ratings it produced, only touched while holding the engine lock.
+     */
+    private static final class Step implements Comparable<Step> {
+        final int matchId;
+        final String date;
+        final int home;
+        final int away;
+        final int homeScore;
+        final int awayScore;
+        double homeBefore, awayBefore, homeAfter, awayAfter;
+
+        private Step(int matchId, String date, int home, int away, int homeScore, int awayScore) {
+            this.matchId = matchId;
+            this.date = date;
+            this.home = home;
+            this.away = away;
+            this.homeScore = homeScore;
+            this.awayScore = awayScore;
+        }
+
+        /**
+         * Returns the step of a match, or null if it has no result yet, a team ID is not a number
+         * or both are the same.
+         */
+        static Step of(Match match) {
+            try {
+                int home = Integer.parseInt(match.getHomeTeam().trim());
+                int away = Integer.parseInt(match.getAwayTeam().trim());
+                if (home == away || !match.hasResult()) return null;
+                return new Step(match.getMatchId(), match.getMatchDate(), home, away,
+                        match.getHomeScore(), match.getAwayScore());
+            } catch (NumberFormatException | NullPointerException e) {
+                return null;
+            }
+        }
+
+        double after(int teamId) {
+            return teamId == home ? homeAfter : awayAfter;
+        }
+
+        /** Orders by date (undated first, as SQLite does), then match ID. */
+        static int compare(Step s, String date, int matchId) {
+            if (s.date == null || date == null) {
+                if (s.date != date) return s.date == null ? -1 : 1;
+            } else {
+                int c = s.date.compareTo(date);
+                if (c != 0) return c;
+            }
+            return Integer.compare(s.matchId, matchId);
+        }
+
+        @Override
+        public int compareTo(Step other) {
+            return compare(this, other.date, other.matchId);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package service;
+
+import dao.MatchDAO;
+import dao.MatchListener;
+import model.Match;
+import model.ScheduleConflict;
+import model.ScheduleConflict.Kind;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ScheduleConflictDetector
+ *
+ * <p>
+ * Finds matches that book the same team or the same venue on overlapping dates. A match
+ * occupies its team from its day to {@code soccer.schedule.teamGapDays} days later and its venue
+ * up to {@code soccer.schedule.venueGapDays} days later (both 0 by default: only the same day
+ * conflicts). Matches without an ISO date, and venues left empty or
+ * {@value FixtureGenerator#DEFAULT_VENUE}, are not checked.
+ * </p>
+ *
+ * <p>How it works:
+ * <ul>
+ *   <li>Every team and every venue has an {@link IntervalTree} of its bookings, built from the
+ *       {@code matches} table on first use and kept current as a {@link MatchDAO} listener.
+ *       Checking a proposed insert or update is one O(log n) search per tree (home team, away
+ *       team, venue); an update is checked with its own booking taken out.</li>
+ *   <li>{@link #audit()} reports every existing conflict with one sweep over the table in date
+ *       order, keeping only the bookings still running for each team and venue.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * List&lt;ScheduleConflict&gt; conflicts = ScheduleConflictDetector.getInstance().check(match);
+ * if (conflicts.isEmpty()) MatchDAO.AddMatch(match);
+ * List&lt;ScheduleConflict&gt; all = ScheduleConflictDetector.getInstance().audit();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class ScheduleConflictDetector implements MatchListener {
+
+    private static final String AUDIT_SQL = "SELECT match_id, home_team, away_team, match_date, venue "
+            + "FROM matches ORDER BY match_date, match_id";
+
+    private static ScheduleConflictDetector instance;
+
+    private final int teamGapDays;
+    private final int venueGapDays;
+
+    private final Map<Integer, IntervalTree> teams = new HashMap<>();
+    private final Map<String, IntervalTree> venues = new HashMap<>();
+    private final Map<Integer, Booking> bookings = new HashMap<>();
+    private boolean stale = true;
+
+    /**
+     * Creates a detector; the match index is built on the first check.
+     *
+     * @param teamGapDays  days after a match during which its teams cannot play again
+     * @param venueGapDays days after a match during which its venue cannot host again
+     */
+    public ScheduleConflictDetector(int teamGapDays, int venueGapDays) {
+        this.teamGapDays = Math.max(0, teamGapDays);
+        this.venueGapDays = Math.max(0, venueGapDays);
+    }
+
+    /**
+     * Returns the shared detector, registered as a listener of {@link MatchDAO}, configured from
+     * {@code soccer.schedule.teamGapDays} and {@code soccer.schedule.venueGapDays}.
+     */
+    public static synchronized ScheduleConflictDetector getInstance() {
+        if (instance == null) {
+            instance = new ScheduleConflictDetector(
+                    Integer.getInteger("soccer.schedule.teamGapDays", 0),
+                    Integer.getInteger("soccer.schedule.venueGapDays", 0));
+            MatchDAO.addListener(instance);
+            DBConnection.addCloseListener(instance::invalidate);
+        }
+        return instance;
+    }
+
+    // ---------- Checks ----------
+
+    /**
+     * Returns the stored matches a proposed match would conflict with: at most one per home
+     * team, away team and venue. For an update ({@code match.getMatchId() > 0}) the match's
+     * current booking is ignored, and an update that keeps the date, teams and venue (a new
+     * score, say) is always accepted.
+     *
+     * @param match proposed match
+     * @return conflicts, empty if the match can be scheduled
+     */
+    public synchronized List<ScheduleConflict> check(Match match) {
+        refresh();
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        Booking proposed = Booking.of(match);
+        if (proposed == null) return conflicts;
+
+        Booking current = match.getMatchId() > 0 ? bookings.get(match.getMatchId()) : null;
+        if (current != null && current.sameSlot(proposed)) return conflicts;
+        if (current != null) unindex(current);
+        try {
+            find(proposed, conflicts);
+        } finally {
+            if (current != null) index(current);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Checks a list of new matches against the stored matches and against each other.
+     *
+     * @param matches proposed matches, not saved yet
+     * @return conflicts in list order; a conflict between two new matches has other match ID 0
+     */
+    public synchronized List<ScheduleConflict> checkAll(List<Match> matches) {
+        refresh();
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        List<Booking> added = new ArrayList<>();
+        try {
+            for (int i = 0; i < matches.size(); i++) {
+                Booking proposed = Booking.of(matches.get(i));
+                if (proposed == null) continue;
+                find(proposed, conflicts);
+                // index it under a temporary negative ID so later matches are checked against it
+                Booking temporary = proposed.withId(-(i + 1));
+                index(temporary);
+                added.add(temporary);
+            }
+        } finally {
+            for (Booking b : added) unindex(b);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Reports every conflict between stored matches, in one pass over the {@code matches} table
+     * in date order. Each pair is reported once, from the earlier match.
+     *
+     * @return all conflicts, empty if there are none or the table could not be read
+     */
+    public List<ScheduleConflict> audit() {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        Map<String, ArrayDeque<Booking>> running = new HashMap<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(AUDIT_SQL);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Match m = new Match();
+                    m.setMatchId(rs.getInt("match_id"));
+                    m.setHomeTeam(rs.getString("home_team"));
+                    m.setAwayTeam(rs.getString("away_team"));
+                    m.setMatchDate(rs.getString("match_date"));
+                    m.setVenue(rs.getString("venue"));
+                    Booking b = Booking.of(m);
+                    if (b == null) continue;
+                    sweep(running, "t" + b.home, Kind.TEAM, String.valueOf(b.home), b, teamGapDays, conflicts);
+                    if (b.away != b.home) sweep(running, "t" + b.away, Kind.TEAM, String.valueOf(b.away), b, teamGapDays, conflicts);
+                    if (b.venueKey != null) sweep(running, "v" + b.venueKey, Kind.VENUE, b.venue, b, venueGapDays, conflicts);
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return conflicts;
+    }
+
+    /** Forces the index to be rebuilt from the database on the next check. */
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Drops the bookings of {@code key} that ended before {@code b}, reports the ones still
+     * running as conflicts and adds {@code b}. With one gap per kind, bookings end in the order
+     * they start, so the running ones form a queue.
+     */
+    private static void sweep(Map<String, ArrayDeque<Booking>> running, String key, Kind kind, String resource,
+                              Booking b, int gap, List<ScheduleConflict> conflicts) {
+        ArrayDeque<Booking> queue = running.computeIfAbsent(key, k -> new ArrayDeque<>());
+        while (!queue.isEmpty() && queue.peekFirst().day + gap < b.day) queue.pollFirst();
+        for (Booking earlier : queue) {
+            conflicts.add(new ScheduleConflict(kind, resource, earlier.matchId, earlier.date, b.matchId, b.date));
+        }
+        queue.addLast(b);
+    }
+
+    private void find(Booking b, List<ScheduleConflict> conflicts) {
+        conflictWith(teams.get(b.home), b, teamGapDays, Kind.TEAM, String.valueOf(b.home), conflicts);
+        if (b.away != b.home) conflictWith(teams.get(b.away), b, teamGapDays, Kind.TEAM, String.valueOf(b.away), conflicts);
+        if (b.venueKey != null) conflictWith(venues.get(b.venueKey), b, venueGapDays, Kind.VENUE, b.venue, conflicts);
+    }
+
+    private void conflictWith(IntervalTree tree, Booking b, int gap, Kind kind, String resource,
+                              List<ScheduleConflict> conflicts) {
+        if (tree == null) return;
+        int other = tree.firstOverlap(b.day, b.day + gap);
+        if (other == IntervalTree.NONE) return;
+        Booking o = bookings.get(other);
+        conflicts.add(new ScheduleConflict(kind, resource, Math.max(0, b.matchId), b.date,
+                Math.max(0, other), o == null ? null : o.date));
+    }
+
+    // ---------- Index ----------
+
+    private void refresh() {
+        if (!stale) return;
+        teams.clear();
+        venues.clear();
+        bookings.clear();
+        for (Match match : MatchDAO.getAllMatches()) {
+            Booking b = Booking.of(match);
+            if (b != null) index(b);
+        }
+        stale = false;
+    }
+
+    private void index(Booking b) {
+        bookings.put(b.matchId, b);
+        teams.computeIfAbsent(b.home, k -> new IntervalTree()).insert(b.day, b.day + teamGapDays, b.matchId);
+        teams.computeIfAbsent(b.away, k -> new IntervalTree()).insert(b.day, b.day + teamGapDays, b.matchId);
+        if (b.venueKey != null) {
+            venues.computeIfAbsent(b.venueKey, k -> new IntervalTree()).insert(b.day, b.day + venueGapDays, b.matchId);
+        }
+    }
+
+    private void unindex(Booking b) {
+        bookings.remove(b.matchId);
+        removeFrom(teams.get(b.home), b);
+        removeFrom(teams.get(b.away), b);
+        if (b.venueKey != null) removeFrom(venues.get(b.venueKey), b);
+    }
+
+    private static void removeFrom(IntervalTree tree, Booking b) {
+        if (tree != null) tree.remove(b.day, b.matchId);
+    }
+
+    @Override
+    public synchronized void onMatchAdded(Match match) {
+        if (stale) return;
+        Booking b = Booking.of(match);
+        if (b != null) index(b);
+    }
+
+    @Override
+    public synchronized void onMatchUpdated(Match before, Match after) {
+        if (stale) return;
+        Booking old = bookings.get(before.getMatchId());
+        if (old != null) unindex(old);
+        Booking b = Booking.of(after);
+        if (b != null) index(b);
+    }
+
+    @Override
+    public synchronized void onMatchDeleted(Match match) {
+        if (stale) return;
+        Booking old = bookings.get(match.getMatchId());
+        if (old != null) unindex(old);
+    }
+
+    @Override
+    public void onTeamsChanged() {
+        invalidate();
+    }
+
+    /**
+     * The day, teams and venue of one match, copied so later changes to the Match do not
+     * affect the index.
+     */
+    private static final class Booking {
+        final int matchId;
+        final long day;
+        final String date;
+        final int home;
+        final int away;
+        final String venue;
+        final String venueKey;
+
+        private Booking(int matchId, long day, String date, int home, int away, String venue, String venueKey) {
+            this.matchId = matchId;
+            this.day = day;
+            this.date = date;
+            this.home = home;
+            this.away = away;
+            this.venue = venue;
+            this.venueKey = venueKey;
+        }
+
+        /** Returns the booking of a match, or null if its date or a team ID cannot be read. */
+        static Booking of(Match match) {
+            try {
+                String date = match.getMatchDate().trim();
+                long day = LocalDate.parse(date).toEpochDay();
+                int home = Integer.parseInt(match.getHomeTeam().trim());
+                int away = Integer.parseInt(match.getAwayTeam().trim());
+                String venue = match.getVenue() == null ? "" : match.getVenue().trim();
+                String key = venue.isEmpty() || venue.equalsIgnoreCase(FixtureGenerator.DEFAULT_VENUE)
+                        ? null : venue.toLowerCase(Locale.ROOT);
+                return new Booking(match.getMatchId(), day, date, home, away, venue, key);
+            } catch (DateTimeParseException | NumberFormatException | NullPointerException e) {
+                return null;
+            }
+        }
+
+        boolean sameSlot(Booking other) {
+            return day == other.day && home == other.home && away == other.away
+                    && Objects.equals(venueKey, other.venueKey);
+        }
+
+        Booking withId(int id) {
+            return new Booking(id, day, date, home, away, venue, venueKey);
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package service;
+
+import dao.MatchDAO;
+import dao.TeamDAO;
+import model.Match;
+import model.TeamProjection;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SeasonSimulator
+ *
+ * <p>
+ * Monte Carlo simulation of the remaining fixtures (matches dated after today). Each team gets
+ * an attack and a defence strength from its played results, blended with its squad's scoring
+ * rate from {@code performance}; the goals of each fixture are drawn from Poisson distributions
+ * around the expected goals of both sides. Every simulated season starts from the current table,
+ * plays all fixtures and ranks the teams by points, goal difference and goals scored.
+ * </p>
+ *
+ * <p>Performance:
+ * <ul>
+ *   <li>Simulations run in chunks of {@value #CHUNK_SIZE} on {@code parallelism} threads. Each
+ *       chunk has its own {@link SplittableRandom} stream, split from the seed in chunk order,
+ *       so the same seed gives exactly the same result with any number of threads.</li>
+ *   <li>Each thread owns primitive accumulators (position counts, points sums) and scratch
+ *       arrays; a simulated season allocates nothing. Each fixture takes one 64-bit draw,
+ *       32 bits per side, looked up in cumulative Poisson tables (with guide tables) computed
+ *       once per fixture, and its result is scored without branches.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Strength model:
+ * <ul>
+ *   <li>Attack: goals scored per match, shrunk toward the league average by
+ *       {@value #PRIOR_MATCHES} average matches, then averaged with the squad's goals per 90
+ *       minutes times 11 when the squad has played at least {@value #PRIOR_MATCHES} full
+ *       matches of minutes; divided by the league average.</li>
+ *   <li>Defence: goals conceded per match, shrunk the same way, divided by the league
+ *       average.</li>
+ *   <li>Expected home goals are the league's home average times the home attack and the away
+ *       defence, and the other way round for the away side.</li>
+ *   <li>Points per win and draw follow {@code soccer.standings.winPoints} and
+ *       {@code soccer.standings.drawPoints}.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * SeasonSimulator.Result result = SeasonSimulator.fromDatabase().simulate(1_000_000, 42L);
+ * System.out.printf("%.0f seasons/s%n", result.getThroughput());
+ * TeamProjection favourite = result.getProjections().get(0);
+ * </pre>
+ * or, on a synthetic league:
+ * <pre>
+ * java -cp out service.SeasonSimulator 1000000 8 42
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class SeasonSimulator {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int MAX_GOALS = 10;
+    private static final int GUIDE_BITS = 8;
+    private static final int PRIOR_MATCHES = 3;
+    private static final double SQUAD_WEIGHT = 0.5;
+    private static final double DEFAULT_HOME_GOALS = 1.5;
+    private static final double DEFAULT_AWAY_GOALS = 1.2;
+
+    private static final String SQUAD_SQL = "SELECT pl.team_id, SUM(pf.goals) AS goals, "
+            + "SUM(pf.minutes_played) AS minutes FROM performance pf "
+            + "JOIN players pl ON pl.player_id = pf.player_id "
+            + "WHERE pl.team_id IS NOT NULL GROUP BY pl.team_id";
+
+    private final int[] teamIds;
+    private final String[] teamNames;
+    private final int[] points;
+    private final int[] goalDifference;
+    private final int[] goalsFor;
+    private final int[] fixtureHome;
+    private final int[] fixtureAway;
+    /** Cumulative Poisson tables scaled to 2^32, {@code MAX_GOALS + 1} entries per fixture. */
+    private final long[] homeCdf;
+    private final long[] awayCdf;
+    /** Per fixture and top {@value #GUIDE_BITS} bits of the draw, the fewest goals it can give. */
+    private final byte[] homeGuide;
+    private final byte[] awayGuide;
+    private final int winPoints;
+    private final int drawPoints;
+
+    /**
+     * Creates a simulator from the current table and the remaining fixtures. Teams are referred
+     * to by their index in {@code teamIds}.
+     *
+     * @param teamIds        team IDs
+     * @param teamNames      team names, same order
+     * @param points         current points
+     * @param goalDifference current goal difference
+     * @param goalsFor       current goals scored
+     * @param fixtureHome    index of the home team of each fixture
+     * @param fixtureAway    index of the away team of each fixture
+     * @param homeGoals      expected home goals of each fixture
+     * @param awayGoals      expected away goals of each fixture
+     * @param winPoints      points for a win
+     * @param drawPoints     points for a draw
+     */
+    public SeasonSimulator(int[] teamIds, String[] teamNames, int[] points, int[] goalDifference, int[] goalsFor,
+                           int[] fixtureHome, int[] fixtureAway, double[] homeGoals, double[] awayGoals,
+                           int winPoints, int drawPoints) {
+        this.teamIds = teamIds.clone();
+        this.teamNames = teamNames.clone();
+        this.points = points.clone();
+        this.goalDifference = goalDifference.clone();
+        this.goalsFor = goalsFor.clone();
+        this.fixtureHome = fixtureHome.clone();
+        this.fixtureAway = fixtureAway.clone();
+        this.homeCdf = poissonTables(homeGoals);
+        this.awayCdf = poissonTables(awayGoals);
+        this.homeGuide = guideTables(homeCdf);
+        this.awayGuide = guideTables(awayCdf);
+        this.winPoints = winPoints;
+        this.drawPoints = drawPoints;
+    }
+
+    // ---------- Building ----------
+
+    /**
+     * Builds a simulator from the {@code teams}, {@code matches} and {@code performance} tables.
+     */
+    public static SeasonSimulator fromDatabase() {
+        Map<Integer, long[]> squads = new HashMap<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(SQUAD_SQL);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) squads.put(rs.getInt("team_id"), new long[]{rs.getLong("goals"), rs.getLong("minutes")});
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace(); // the model falls back to match results only
+        }
+        return fromMatches(TeamDAO.getTeamNames(), MatchDAO.getAllMatches(), squads, LocalDate.now().toString());
+    }
+
+    /**
+     * Builds a simulator from a list of matches: those dated on or before {@code today} (or
+     * undated) are played, the others are the fixtures to simulate.
+     *
+     * @param teams   team names by ID; teams only found in matches are added as "Team #id"
+     * @param matches all matches
+     * @param squads  per team ID the squad's total goals and minutes played, may be empty
+     * @param today   ISO date separating played matches from fixtures
+     */
+    public static SeasonSimulator fromMatches(Map<Integer, String> teams, List<Match> matches,
+                                              Map<Integer, long[]> squads, String today) {
+        Map<Integer, Integer> index = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<Integer, String> team : teams.entrySet()) {
+            index.put(team.getKey(), names.size());
+            names.add(team.getValue());
+        }
+
+        List<int[]> played = new ArrayList<>();
+        List<int[]> fixtures = new ArrayList<>();
+        for (Match match : matches) {
+            int home = teamIndex(index, names, match.getHomeTeam());
+            int away = teamIndex(index, names, match.getAwayTeam());
+            if (home < 0 || away < 0 || home == away) continue;
+            boolean isPlayed = match.hasResult()
+                    && (match.getMatchDate() == null || match.getMatchDate().compareTo(today) <= 0);
+            if (isPlayed) played.add(new int[]{home, away, match.getHomeScore(), match.getAwayScore()});
+            else fixtures.add(new int[]{home, away});
+        }
+
+        int n = names.size();
+        int winPoints = Integer.getInteger("soccer.standings.winPoints", 3);
+        int drawPoints = Integer.getInteger("soccer.standings.drawPoints", 1);
+        int[] points = new int[n], gf = new int[n], ga = new int[n], gd = new int[n], matchesPlayed = new int[n];
+        long homeGoals = 0, awayGoals = 0;
+        for (int[] m : played) {
+            int home = m[0], away = m[1], hs = m[2], as = m[3];
+            gf[home] += hs; ga[home] += as;
+            gf[away] += as; ga[away] += hs;
+            matchesPlayed[home]++;
+            matchesPlayed[away]++;
+            if (hs > as) points[home] += winPoints;
+            else if (hs < as) points[away] += winPoints;
+            else { points[home] += drawPoints; points[away] += drawPoints; }
+            homeGoals += hs;
+            awayGoals += as;
+        }
+        for (int i = 0; i < n; i++) gd[i] = gf[i] - ga[i];
+
+        double homeAverage = played.isEmpty() ? DEFAULT_HOME_GOALS : (double) homeGoals / played.size();
+        double awayAverage = played.isEmpty() ? DEFAULT_AWAY_GOALS : (double) awayGoals / played.size();
+        double teamAverage = Math.max(0.1, (homeAverage + awayAverage) / 2);
+
+        double[] attack = new double[n], defence = new double[n];
+        int[] ids = new int[n];
+        for (Map.Entry<Integer, Integer> e : index.entrySet()) {
+            int i = e.getValue();
+            ids[i] = e.getKey();
+            double scored = (gf[i] + PRIOR_MATCHES * teamAverage) / (matchesPlayed[i] + PRIOR_MATCHES);
+            long[] squad = squads.get(e.getKey());
+            if (squad != null && squad[1] >= 990L * PRIOR_MATCHES) {
+                double squadRate = squad[0] * 990.0 / squad[1];
+                scored = (1 - SQUAD_WEIGHT) * scored + SQUAD_WEIGHT * squadRate;
+            }
+            attack[i] = scored / teamAverage;
+            defence[i] = (ga[i] + PRIOR_MATCHES * teamAverage) / (matchesPlayed[i] + PRIOR_MATCHES) / teamAverage;
+        }
+
+        int f = fixtures.size();
+        int[] fixtureHome = new int[f], fixtureAway = new int[f];
+        double[] expectedHome = new double[f], expectedAway = new double[f];
+        for (int i = 0; i < f; i++) {
+            int home = fixtures.get(i)[0], away = fixtures.get(i)[1];
+            fixtureHome[i] = home;
+            fixtureAway[i] = away;
+            expectedHome[i] = homeAverage * attack[home] * defence[away];
+            expectedAway[i] = awayAverage * attack[away] * defence[home];
+        }
+        return new SeasonSimulator(ids, names.toArray(new String[0]), points, gd, gf,
+                fixtureHome, fixtureAway, expectedHome, expectedAway, winPoints, drawPoints);
+    }
+
+    /**
+     * Builds a random double round-robin league with the first half of the season played, for
+     * benchmarks.
+     *
+     * @param teams number of teams
+     * @param seed  random seed, the same seed gives the same league
+     */
+    public static SeasonSimulator synthetic(int teams, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Integer, String> names = new LinkedHashMap<>();
+        double[] strength = new double[teams + 1];
+        for (int t = 1; t <= teams; t++) {
+            names.put(t, "Team " + t);
+            strength[t] = 0.6 + 0.9 * random.nextDouble();
+        }
+        List<Match> matches = new ArrayList<>();
+        int id = 1;
+        for (int home = 1; home <= teams; home++) {
+            for (int away = 1; away <= teams; away++) {
+                if (home == away) continue;
+                boolean played = random.nextBoolean();
+                matches.add(new Match(id++, String.valueOf(home), String.valueOf(away),
+                        played ? "2020-01-01" : "2020-12-31", "Stadium " + home,
+                        played ? poisson(random, DEFAULT_HOME_GOALS * strength[home] / strength[away]) : 0,
+                        played ? poisson(random, DEFAULT_AWAY_GOALS * strength[away] / strength[home]) : 0));
+            }
+        }
+        return fromMatches(names, matches, Map.of(), "2020-06-30");
+    }
+
+    // ---------- Simulation ----------
+
+    /** Returns the number of fixtures left to simulate. */
+    public int getFixtureCount() {
+        return fixtureHome.length;
+    }
+
+    /**
+     * Simulates the rest of the season on all cores.
+     *
+     * @param simulations number of simulated seasons
+     * @param seed        random seed; the same seed gives the same result
+     */
+    public Result simulate(int simulations, long seed) {
+        return simulate(simulations, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Simulates the rest of the season.
+     *
+     * @param simulations number of simulated seasons
+     * @param seed        random seed; the same seed gives the same result for any parallelism
+     * @param parallelism number of threads
+     * @return the final-table probabilities of every team
+     */
+    public Result simulate(int simulations, long seed, int parallelism) {
+        if (simulations <= 0) throw new IllegalArgumentException("simulations must be positive");
+        long start = System.nanoTime();
+
+        int chunks = (simulations + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) streams[c] = root.split();
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        int threads = Math.max(1, Math.min(parallelism, chunks));
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) workers.add(new Worker(streams, nextChunk, simulations));
+
+        if (threads == 1) {
+            workers.get(0).call();
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Worker>> done = pool.invokeAll(workers);
+                for (Future<Worker> future : done) future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Simulation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Simulation failed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        int n = teamIds.length;
+        long[] positionCounts = new long[n * n];
+        long[] pointsSum = new long[n];
+        for (Worker w : workers) {
+            for (int i = 0; i < positionCounts.length; i++) positionCounts[i] += w.positionCounts[i];
+            for (int i = 0; i < n; i++) pointsSum[i] += w.pointsSum[i];
+        }
+
+        List<TeamProjection> projections = new ArrayList<>(n);
+        for (int t = 0; t < n; t++) {
+            double[] chances = new double[n];
+            for (int p = 0; p < n; p++) chances[p] = (double) positionCounts[t * n + p] / simulations;
+            projections.add(new TeamProjection(teamIds[t], teamNames[t], points[t],
+                    (double) pointsSum[t] / simulations, chances));
+        }
+        projections.sort(Comparator.comparingDouble(TeamProjection::getExpectedPosition)
+                .thenComparing(TeamProjection::getTeamName));
+        return new Result(projections, simulations, threads, System.nanoTime() - start);
+    }
+
+    // ---------- Helpers ----------
+
+    private static int teamIndex(Map<Integer, Integer> index, List<String> names, String teamId) {
+        try {
+            int id = Integer.parseInt(teamId.trim());
+            return index.computeIfAbsent(id, key -> {
+                names.add("Team #" + key);
+                return names.size() - 1;
+            });
+        } catch (NumberFormatException | NullPointerException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Cumulative Poisson probabilities of 0..MAX_GOALS goals times 2^32, so a 32-bit random draw
+     * below entry k means k goals; the tail is folded into the last entry.
+     */
+    private static long[] poissonTables(double[] means) {
+        long[] cdf = new long[means.length * (MAX_GOALS + 1)];
+        for (int f = 0; f < means.length; f++) {
+            double mean = Math.max(0.01, means[f]);
+            double p = Math.exp(-mean);
+            double sum = 0;
+            int base = f * (MAX_GOALS + 1);
+            for (int k = 0; k < MAX_GOALS; k++) {
+                sum += p;
+                cdf[base + k] = (long) (Math.min(1.0, sum) * 0x1p32);
+                p *= mean / (k + 1);
+            }
+            cdf[base + MAX_GOALS] = 1L << 32;
+        }
+        return cdf;
+    }
+
+    /**
+     * Guide tables for {@link #poissonTables}: for each of the 2^GUIDE_BITS ranges of a draw, the
+     * goals of its lowest value, so sampling starts next to the answer.
+     */
+    private static byte[] guideTables(long[] cdf) {
+        int fixtures = cdf.length / (MAX_GOALS + 1);
+        byte[] guide = new byte[fixtures << GUIDE_BITS];
+        for (int f = 0; f < fixtures; f++) {
+            int base = f * (MAX_GOALS + 1), goals = 0;
+            for (int g = 0; g < 1 << GUIDE_BITS; g++) {
+                long low = (long) g << (32 - GUIDE_BITS);
+                while (low >= cdf[base + goals]) goals++;
+                guide[(f << GUIDE_BITS) + g] = (byte) goals;
+            }
+        }
+        return guide;
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean), product = random.nextDouble();
+        int goals = 0;
+        while (product > limit) {
+            goals++;
+            product *= random.nextDouble();
+        }
+        return goals;
+    }
+
+    /**
+     * Simulates chunks until none are left, into its own accumulators.
+     */
+    private final class Worker implements Callable<Worker> {
+        final SplittableRandom[] streams;
+        final AtomicInteger nextChunk;
+        final int simulations;
+        final long[] positionCounts = new long[teamIds.length * teamIds.length];
+        final long[] pointsSum = new long[teamIds.length];
+        final int[] pts = new int[teamIds.length];
+        final int[] gd = new int[teamIds.length];
+        final int[] gf = new int[teamIds.length];
+        final long[] order = new long[teamIds.length];
+
+        Worker(SplittableRandom[] streams, AtomicInteger nextChunk, int simulations) {
+            this.streams = streams;
+            this.nextChunk = nextChunk;
+            this.simulations = simulations;
+        }
+
+        @Override
+        public Worker call() {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < streams.length) {
+                int count = Math.min(CHUNK_SIZE, simulations - chunk * CHUNK_SIZE);
+                SplittableRandom random = streams[chunk];
+                for (int s = 0; s < count; s++) season(random);
+            }
+            return this;
+        }
+
+        private void season(SplittableRandom random) {
+            int n = pts.length;
+            System.arraycopy(points, 0, pts, 0, n);
+            System.arraycopy(goalDifference, 0, gd, 0, n);
+            System.arraycopy(goalsFor, 0, gf, 0, n);
+
+            // locals keep field loads out of the hot loop
+            int[] fixtureHome = SeasonSimulator.this.fixtureHome, fixtureAway = SeasonSimulator.this.fixtureAway;
+            int[] pts = this.pts, gd = this.gd, gf = this.gf;
+            long[] homeCdf = SeasonSimulator.this.homeCdf, awayCdf = SeasonSimulator.this.awayCdf;
+            byte[] homeGuide = SeasonSimulator.this.homeGuide, awayGuide = SeasonSimulator.this.awayGuide;
+            int winPoints = SeasonSimulator.this.winPoints, drawPoints = SeasonSimulator.this.drawPoints;
+            for (int f = 0; f < fixtureHome.length; f++) {
+                int home = fixtureHome[f], away = fixtureAway[f];
+                long bits = random.nextLong(); // one draw, 32 bits per side
+                int hs = sample(homeCdf, homeGuide, f, bits >>> 32);
+                int as = sample(awayCdf, awayGuide, f, bits & 0xFFFFFFFFL);
+                gd[home] += hs - as;
+                gd[away] += as - hs;
+                gf[home] += hs;
+                gf[away] += as;
+                // branch-free result: the outcome is random, so a branch would mispredict often
+                int homeWin = (as - hs) >>> 31, awayWin = (hs - as) >>> 31, draw = 1 - homeWin - awayWin;
+                pts[home] += homeWin * winPoints + draw * drawPoints;
+                pts[away] += awayWin * winPoints + draw * drawPoints;
+            }
+
+            // one sortable key per team: points, goal difference, goals, then the team order
+            for (int t = 0; t < n; t++) {
+                order[t] = (long) pts[t] << 44 | (long) (gd[t] + (1 << 15)) << 28
+                        | (long) Math.min(gf[t], 0xFFF) << 16 | (0xFFFF - t);
+                pointsSum[t] += pts[t];
+            }
+            Arrays.sort(order);
+            for (int p = 0; p < n; p++) positionCounts[(0xFFFF - (int) (order[n - 1 - p] & 0xFFFF)) * n + p]++;
+        }
+
+        private int sample(long[] cdf, byte[] guide, int fixture, long draw) {
+            int base = fixture * (MAX_GOALS + 1);
+            int goals = guide[(fixture << GUIDE_BITS) + (int) (draw >>> (32 - GUIDE_BITS))];
+            while (draw >= cdf[base + goals]) goals++;
+            return goals;
+        }
+    }
+
+    /**
+     * Outcome of a simulation run.
+     */
+    public static final class Result {
+        private final List<TeamProjection> projections;
+        private final int simulations;
+        private final int parallelism;
+        private final long nanos;
+
+        Result(List<TeamProjection> projections, int simulations, int parallelism, long nanos) {
+            this.projections = Collections.unmodifiableList(projections);
+            this.simulations = simulations;
+            this.parallelism = parallelism;
+            this.nanos = nanos;
+        }
+
+        /** Returns every team's projection, best expected position first. */
+        public List<TeamProjection> getProjections() { return projections; }
+
+        /** Returns the number of simulated seasons. */
+        public int getSimulations() { return simulations; }
+
+        /** Returns the number of threads used. */
+        public int getParallelism() { return parallelism; }
+
+        /** Returns the wall-clock time in milliseconds. */
+        public double getMillis() { return nanos / 1e6; }
+
+        /** Returns simulated seasons per second. */
+        public double getThroughput() { return simulations / (nanos / 1e9); }
+    }
+
+    // ---------- Benchmark ----------
+
+    /**
+     * Simulates a synthetic 20-team league and prints the throughput and the projected table.
+     * Arguments: simulations (1,000,000), parallelism (all cores), seed (42).
+     */
+    public static void main(String[] args) {
+        int simulations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        SeasonSimulator simulator = synthetic(20, seed);
+        simulator.simulate(Math.min(simulations, 50_000), seed, parallelism); // warm-up
+
+        Result result = simulator.simulate(simulations, seed, parallelism);
+        System.out.printf("%,d seasons x %d fixtures on %d threads: %.0f ms, %,.0f seasons/s%n",
+                simulations, simulator.getFixtureCount(), result.getParallelism(), result.getMillis(), result.getThroughput());
+        if (parallelism > 1) {
+            Result sequential = simulator.simulate(simulations, seed, 1);
+            boolean same = Arrays.equals(chances(result), chances(sequential));
+            System.out.printf("1 thread: %.0f ms, %,.0f seasons/s, speedup %.2fx, %s%n",
+                    sequential.getMillis(), sequential.getThroughput(),
+                    sequential.getMillis() / result.getMillis(), same ? "same result" : "❌ results differ");
+        }
+        System.out.printf("%-10s %5s %7s %7s %7s%n", "Team", "Pts", "xPts", "1st %", "Last %");
+        for (TeamProjection p : result.getProjections()) {
+            System.out.printf("%-10s %5d %7.1f %7.2f %7.2f%n", p.getTeamName(), p.getCurrentPoints(),
+                    p.getExpectedPoints(), 100 * p.getTitleChance(), 100 * p.getPositionChance(result.getProjections().size()));
+        }
+    }
+
+    private static double[] chances(Result result) {
+        List<TeamProjection> projections = result.getProjections();
+        int n = projections.size();
+        double[] all = new double[n * (n + 1)];
+        for (int t = 0; t < n; t++) {
+            all[t * (n + 1)] = projections.get(t).getExpectedPoints();
+            for (int p = 1; p <= n; p++) all[t * (n + 1) + p] = projections.get(t).getPositionChance(p);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,295 @@
+package service;
+
+import dao.MatchDAO;
+import dao.MatchListener;
+import dao.TeamDAO;
+import model.Match;
+import model.TeamStanding;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StandingsEngine
+ *
+ * <p>
+ * Keeps the league table in memory. It is built once from the {@code teams} and
+ * {@code matches} tables; after that every match added, updated or deleted through
+ * {@link MatchDAO} only applies that match's delta (an update removes the old result and adds
+ * the new one). Reads return a cached, already sorted, immutable list, so serving the table
+ * costs no database access and no sorting unless something changed.
+ * </p>
+ *
+ * <p>Rules:
+ * <ul>
+ *   <li>Only played matches count: a match dated after today is a fixture and is ignored until
+ *       its date is reached (the table is rebuilt the first time it is read on a new day).</li>
+ *   <li>Points per win and draw come from {@code soccer.standings.winPoints} (3) and
+ *       {@code soccer.standings.drawPoints} (1).</li>
+ *   <li>Teams level on points are ordered by the configured {@link TieBreaker}s, by default
+ *       goal difference, goals scored, wins, then name; see
+ *       {@code soccer.standings.tieBreakers} and {@link #setTieBreakers(List)}.</li>
+ *   <li>Adding, renaming or deleting a team rebuilds the table on the next read.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * List&lt;TeamStanding&gt; table = StandingsEngine.getInstance().getStandings();
+ * TeamStanding leader = table.get(0);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class StandingsEngine implements MatchListener {
+
+    /**
+     * Ways to order teams that have the same number of points, applied in the configured order.
+     */
+    public enum TieBreaker {
+        /** Higher goal difference first. */
+        GOAL_DIFFERENCE(Comparator.comparingInt((Row r) -> r.goalsFor - r.goalsAgainst).reversed()),
+        /** More goals scored first. */
+        GOALS_FOR(Comparator.comparingInt((Row r) -> r.goalsFor).reversed()),
+        /** Fewer goals conceded first. */
+        GOALS_AGAINST(Comparator.comparingInt((Row r) -> r.goalsAgainst)),
+        /** More wins first. */
+        WINS(Comparator.comparingInt((Row r) -> r.wins).reversed()),
+        /** Alphabetical by team name. */
+        TEAM_NAME(Comparator.comparing((Row r) -> r.teamName, String.CASE_INSENSITIVE_ORDER));
+
+        private final Comparator<Row> comparator;
+
+        TieBreaker(Comparator<Row> comparator) { this.comparator = comparator; }
+    }
+
+    private static StandingsEngine instance;
+
+    private final int winPoints;
+    private final int drawPoints;
+    private List<TieBreaker> tieBreakers;
+    private Comparator<Row> order;
+
+    private final Map<Integer, Row> rows = new HashMap<>();
+    private volatile LocalDate loadedOn;
+    private boolean stale = true;
+    private volatile List<TeamStanding> snapshot;
+
+    /**
+     * Creates an engine; the table is loaded on the first read.
+     *
+     * @param winPoints   points for a win
+     * @param drawPoints  points for a draw
+     * @param tieBreakers tie-breakers after points, in order
+     */
+    public StandingsEngine(int winPoints, int drawPoints, List<TieBreaker> tieBreakers) {
+        this.winPoints = winPoints;
+        this.drawPoints = drawPoints;
+        setTieBreakers(tieBreakers);
+    }
+
+    /**
+     * Returns the shared engine, registered as a listener of {@link MatchDAO}. Defaults can be
+     * changed with the system properties {@code soccer.standings.winPoints},
+     * {@code soccer.standings.drawPoints} and {@code soccer.standings.tieBreakers} (a comma
+     * separated list of {@link TieBreaker} names).
+     */
+    public static synchronized StandingsEngine getInstance() {
+        if (instance == null) {
+            List<TieBreaker> tieBreakers = new ArrayList<>();
+            String configured = System.getProperty("soccer.standings.tieBreakers",
+                    "GOAL_DIFFERENCE,GOALS_FOR,WINS,TEAM_NAME");
+            for (String name : configured.split(",")) {
+                try {
+                    tieBreakers.add(TieBreaker.valueOf(name.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("⚠️ Unknown tie-breaker ignored: " + name);
+                }
+            }
+            instance = new StandingsEngine(
+                    Integer.getInteger("soccer.standings.winPoints", 3),
+                    Integer.getInteger("soccer.standings.drawPoints", 1),
+                    tieBreakers);
+            MatchDAO.addListener(instance);
+        }
+        return instance;
+    }
+
+    // ---------- Reads ----------
+
+    /**
+     * Returns the league table, best team first.
+     *
+     * @return immutable list of standings
+     */
+    public List<TeamStanding> getStandings() {
+        List<TeamStanding> current = snapshot;
+        if (current != null && LocalDate.now().equals(loadedOn)) return current;
+        return refresh();
+    }
+
+    /**
+     * Returns the standing of one team.
+     *
+     * @param teamId team ID
+     * @return the team's standing, or null if the team is unknown
+     */
+    public TeamStanding getStanding(int teamId) {
+        for (TeamStanding standing : getStandings()) {
+            if (standing.getTeamId() == teamId) return standing;
+        }
+        return null;
+    }
+
+    /** Returns the tie-breakers in use. */
+    public synchronized List<TieBreaker> getTieBreakers() {
+        return tieBreakers;
+    }
+
+    /**
+     * Changes the tie-breakers; the table is re-sorted on the next read.
+     *
+     * @param tieBreakers tie-breakers after points, in order
+     */
+    public synchronized void setTieBreakers(List<TieBreaker> tieBreakers) {
+        this.tieBreakers = List.copyOf(tieBreakers);
+        Comparator<Row> comparator = Comparator.comparingInt((Row r) -> r.points).reversed();
+        for (TieBreaker tieBreaker : this.tieBreakers) comparator = comparator.thenComparing(tieBreaker.comparator);
+        this.order = comparator.thenComparingInt(r -> r.teamId);
+        snapshot = null;
+    }
+
+    /** Forces a full rebuild from the database on the next read. */
+    public synchronized void invalidate() {
+        stale = true;
+        snapshot = null;
+    }
+
+    private synchronized List<TeamStanding> refresh() {
+        LocalDate today = LocalDate.now();
+        if (stale || !today.equals(loadedOn)) reload(today);
+        if (snapshot == null) snapshot = sortRows();
+        return snapshot;
+    }
+
+    private void reload(LocalDate today) {
+        rows.clear();
+        for (Map.Entry<Integer, String> team : TeamDAO.getTeamNames().entrySet()) {
+            rows.put(team.getKey(), new Row(team.getKey(), team.getValue()));
+        }
+        loadedOn = today;
+        for (Match match : MatchDAO.getAllMatches()) apply(match, +1);
+        stale = false;
+        snapshot = null;
+    }
+
+    private List<TeamStanding> sortRows() {
+        List<Row> sorted = new ArrayList<>(rows.values());
+        sorted.sort(order);
+        List<TeamStanding> table = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Row r = sorted.get(i);
+            table.add(new TeamStanding(i + 1, r.teamId, r.teamName, r.played, r.wins, r.draws, r.losses,
+                    r.goalsFor, r.goalsAgainst, r.points));
+        }
+        return Collections.unmodifiableList(table);
+    }
+
+    // ---------- Incremental updates ----------
+
+    @Override
+    public synchronized void onMatchAdded(Match match) {
+        if (stale) return;
+        apply(match, +1);
+    }
+
+    @Override
+    public synchronized void onMatchUpdated(Match before, Match after) {
+        if (stale) return;
+        apply(before, -1);
+        apply(after, +1);
+    }
+
+    @Override
+    public synchronized void onMatchDeleted(Match match) {
+        if (stale) return;
+        apply(match, -1);
+    }
+
+    @Override
+    public void onTeamsChanged() {
+        invalidate();
+    }
+
+    /**
+     * Adds ({@code sign} = +1) or removes ({@code sign} = -1) one match result. Fixtures and
+     * matches with unknown team IDs are ignored.
+     */
+    private void apply(Match match, int sign) {
+        if (!isPlayed(match)) return;
+        Row home = row(match.getHomeTeam());
+        Row away = row(match.getAwayTeam());
+        if (home == null || away == null) return;
+
+        int hs = match.getHomeScore();
+        int as = match.getAwayScore();
+        home.record(hs, as, sign);
+        away.record(as, hs, sign);
+        snapshot = null;
+    }
+
+    private boolean isPlayed(Match match) {
+        if (!match.hasResult()) return false;
+        try {
+            return !LocalDate.parse(match.getMatchDate()).isAfter(loadedOn);
+        } catch (DateTimeParseException | NullPointerException e) {
+            return true; // dates that are not ISO formatted are treated as played
+        }
+    }
+
+    private Row row(String teamId) {
+        try {
+            int id = Integer.parseInt(teamId.trim());
+            return rows.computeIfAbsent(id, key -> new Row(key, "Team #" + key));
+        } catch (NumberFormatException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Mutable record of one team, only touched while holding the engine lock.
+     */
+    private final class Row {
+        final int teamId;
+        final String teamName;
+        int played, wins, draws, losses, goalsFor, goalsAgainst, points;
+
+        Row(int teamId, String teamName) {
+            this.teamId = teamId;
+            this.teamName = teamName;
+        }
+
+        void record(int scored, int conceded, int sign) {
+            played += sign;
+            goalsFor += sign * scored;
+            goalsAgainst += sign * conceded;
+            if (scored > conceded) {
+                wins += sign;
+                points += sign * winPoints;
+            } else if (scored == conceded) {
+                draws += sign;
+                points += sign * drawPoints;
+            } else {
+                losses += sign;
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package ui;
 
 import dao.AdminDAO;
+import dao.PlayerStatsDAO;
+import model.ScheduleConflict;
+import service.DashboardStatsService;
+import service.ScheduleConflictDetector;
 import util.DBConnection;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * AdminFrame
@@ -26,7 +32,8 @@ import java.awt.event.ActionListener;
  *   <li>CardLayout main panel to switch between dashboard, players, teams, matches, events, performance, and settings</li>
  *   <li>Menu bar with Help, About, Preferences, and Logout functionality</li>
  *   <li>CRUD operations via AdminDAO</li>
- *   <li>Tables styled and populated dynamically from the database</li>
+ *   <li>Tables styled and populated from the database in the background, the first time their card is shown</li>
+ *   <li>Players, matches and events tables paged from the database while scrolling</li>
  *   <li>Logout handling and session closing</li>
  * </ul>
  * </p>
@@ -48,6 +55,9 @@ public class AdminFrame extends JFrame implements ActionListener {
 
     CardLayout cardLayout;
 
+    // Loads each card the first time it is shown
+    LazyCardLoader cardLoader;
+
     // Buttons
     JButton dashboardBtn, editPlayerBtn, showPlayerBtn, editTeamBtn, showTeamBtn,
             editMatchesBtn, showMatchesBtn, editGameEventBtn,
@@ -313,13 +323,17 @@ public class AdminFrame extends JFrame implements ActionListener {
         });
 
         // -------- Populate Tables & Dashboard ----------
+        // only the dashboard counters load at startup; every table card loads off the
+        // event dispatch thread the first time its button is clicked
+
+        cardLoader = new LazyCardLoader(cardLayout, mainPanel, LazyCardLoader.DEFAULT_TTL_MILLIS);
+        cardLoader.register("showPlayers", this::populatePlayersTable);
+        cardLoader.register("showTeams", this::populateTeamsTable);
+        cardLoader.register("showMatches", this::populateMatchesTable);
+        cardLoader.register("showEvents", this::populateEventsTable);
+        cardLoader.register("performance", this::populatePerformancePanel);
 
         updateDashboardCounters();
-        populatePlayersTable();
-        populateTeamsTable();
-        populateMatchesTable();
-        populateEventsTable();
-        populatePerformancePanel();
         setupAdminSettingPanel();
     }
 
@@ -331,12 +345,15 @@ public class AdminFrame extends JFrame implements ActionListener {
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (e.getSource() == dashboardBtn) cardLayout.show(mainPanel, "dashboard");
-        else if (e.getSource() == showPlayerBtn) cardLayout.show(mainPanel, "showPlayers");
-        else if (e.getSource() == showTeamBtn) cardLayout.show(mainPanel, "showTeams");
-        else if (e.getSource() == showMatchesBtn) cardLayout.show(mainPanel, "showMatches");
-        else if (e.getSource() == showGameEventBtn) cardLayout.show(mainPanel, "showEvents");
-        else if (e.getSource() == performanceBtn) cardLayout.show(mainPanel, "performance");
+        if (e.getSource() == dashboardBtn) {
+            cardLayout.show(mainPanel, "dashboard");
+            updateDashboardCounters(); // cached snapshot, refreshed after any insert or delete
+        }
+        else if (e.getSource() == showPlayerBtn) cardLoader.show("showPlayers");
+        else if (e.getSource() == showTeamBtn) cardLoader.show("showTeams");
+        else if (e.getSource() == showMatchesBtn) cardLoader.show("showMatches");
+        else if (e.getSource() == showGameEventBtn) cardLoader.show("showEvents");
+        else if (e.getSource() == performanceBtn) cardLoader.show("performance");
         else if (e.getSource() == settingBtn) cardLayout.show(mainPanel, "setting");
         else if (e.getSource() == logOutBtn) {
             JOptionPane.showMessageDialog(this, "Logging out...");
@@ -372,58 +389,73 @@ public class AdminFrame extends JFrame implements ActionListener {
 
     /**
      * Updates the counters on the Dashboard panel.
+     * The counts are queried in the background; the labels show "..." until they arrive.
      */
 
     private void updateDashboardCounters() {
-        try {
-            int playersCount = AdminDAO.getPlayersCount();
-            int teamsCount = AdminDAO.getTeamsCount();
-            int matchesCount = AdminDAO.getMatchesCount();
-            int eventsCount = AdminDAO.getEventsCount();
-
-            showPlayerCountLabel.setText(String.valueOf(playersCount));
-            showTeamCountLabel.setText(String.valueOf(teamsCount));
-            showMatchesCountLabel.setText(String.valueOf(matchesCount));
-            showEventsCountLabel.setText(String.valueOf(eventsCount));
-        } catch (Exception ex) { ex.printStackTrace(); }
+        JLabel[] labels = {showPlayerCountLabel, showTeamCountLabel, showMatchesCountLabel, showEventsCountLabel};
+        for (JLabel label : labels) label.setText("...");
+
+        // one query for all four counts
+        AsyncLoader.load(DashboardStatsService::getSnapshot, stats -> {
+            showPlayerCountLabel.setText(String.valueOf(stats.getPlayers()));
+            showTeamCountLabel.setText(String.valueOf(stats.getTeams()));
+            showMatchesCountLabel.setText(String.valueOf(stats.getMatches()));
+            showEventsCountLabel.setText(String.valueOf(stats.getEvents()));
+        }, error -> {
+            for (JLabel label : labels) label.setText("-");
+        });
     }
 
     /**
-     * Populates the players table on the corresponding panel.
+     * Populates the players table on the corresponding panel. Rows are read page by page while
+     * scrolling (see {@link PagedTableModel}).
      */
-    private void populatePlayersTable() {
-        DefaultTableModel model = AdminDAO.getPlayersTable();
-        styleAndAddTable(showPlayerPanel, model);
+    private CompletableFuture<?> populatePlayersTable() {
+        return AsyncLoader.loadInto(showPlayerPanel, "players", () -> PagedTableModel.open(AdminDAO.getPlayersQuery()),
+                model -> styleAndAddTable(showPlayerPanel, model));
     }
 
     /**
      * Populates the teams table on the corresponding panel.
      */
-    private void populateTeamsTable() {
-        DefaultTableModel model = AdminDAO.getTeamsTable();
-        styleAndAddTable(showTeamPanel, model);
+    private CompletableFuture<?> populateTeamsTable() {
+        return AsyncLoader.loadInto(showTeamPanel, "teams", AdminDAO::getTeamsTable,
+                model -> styleAndAddTable(showTeamPanel, model));
     }
 
     /**
-     * Populates the matches table on the corresponding panel.
+     * Populates the matches table on the corresponding panel. Rows are read page by page while
+     * scrolling (see {@link PagedTableModel}).
      */
-    private void populateMatchesTable() {
-        DefaultTableModel model = AdminDAO.getMatchesTable();
-        styleAndAddTable(showMatchesPanel, model);
+    private CompletableFuture<?> populateMatchesTable() {
+        return AsyncLoader.loadInto(showMatchesPanel, "matches", () -> PagedTableModel.open(AdminDAO.getMatchesQuery()),
+                model -> styleAndAddTable(showMatchesPanel, model));
     }
 
     /**
-     * Populates the events table on the corresponding panel.
+     * Populates the events table on the corresponding panel. Rows are read page by page while
+     * scrolling (see {@link PagedTableModel}).
      */
-    private void populateEventsTable() {
-        DefaultTableModel model = AdminDAO.getEventsTable();
-        styleAndAddTable(showGameEventPanel, model);
+    private CompletableFuture<?> populateEventsTable() {
+        return AsyncLoader.loadInto(showGameEventPanel, "events", () -> PagedTableModel.open(AdminDAO.getEventsQuery()),
+                model -> styleAndAddTable(showGameEventPanel, model));
     }
 
     /**
      * Populates the performance table on the corresponding panel.
      */
-    private void populatePerformancePanel() {
+    private CompletableFuture<?> populatePerformancePanel() {
+        return AsyncLoader.loadInto(performancePanel, "performance", AdminDAO::getPerformanceTable,
+                this::showPerformanceTable);
+    }
+
+    /**
+     * Builds the performance panel around an already loaded table model.
+     *
+     * @param model performance rows
+     */
+    private void showPerformanceTable(DefaultTableModel model) {
         performancePanel.removeAll();
         performancePanel.setLayout(new BorderLayout());
 
@@ -437,7 +469,6 @@ public class AdminFrame extends JFrame implements ActionListener {
         editPerformanceBtn.addActionListener(e -> new EditPerformanceFrame().setVisible(true));
 
         // جدول الأداء في منتصف الـ panel
-        DefaultTableModel model = AdminDAO.getPerformanceTable();
         JTable table = new JTable(model);
         table.setRowHeight(25);
         table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -530,17 +561,60 @@ public class AdminFrame extends JFrame implements ActionListener {
         restoreBtn.setFocusPainted(false);
         settingPanel.add(restoreBtn);
 
+        JButton rebuildStatsBtn = new JButton("Rebuild Player Stats");
+        rebuildStatsBtn.setBounds(500, 270, 170, 35);
+        rebuildStatsBtn.setBackground(new Color(0, 123, 255));
+        rebuildStatsBtn.setForeground(Color.WHITE);
+        rebuildStatsBtn.setFocusPainted(false);
+        settingPanel.add(rebuildStatsBtn);
+
+        JButton auditScheduleBtn = new JButton("Audit Schedule");
+        auditScheduleBtn.setBounds(180, 320, 150, 35);
+        auditScheduleBtn.setBackground(new Color(255, 140, 0));
+        auditScheduleBtn.setForeground(Color.WHITE);
+        auditScheduleBtn.setFocusPainted(false);
+        settingPanel.add(auditScheduleBtn);
+
 // ---- Action Listeners ----
 // استخدم النسخة الجديدة اللي مش محتاجة dbPath كـ parameter
         backupBtn.addActionListener(e -> util.BackupRestore.backupDatabase());
         restoreBtn.addActionListener(e -> util.BackupRestore.restoreDatabase());
+        rebuildStatsBtn.addActionListener(e -> {
+            rebuildStatsBtn.setEnabled(false);
+            AsyncLoader.load(PlayerStatsDAO::rebuild, differences -> {
+                rebuildStatsBtn.setEnabled(true);
+                if (differences < 0) {
+                    JOptionPane.showMessageDialog(this, "Failed to rebuild player stats!", "Error", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this, differences == 0
+                            ? "Player stats are in sync with the performance records."
+                            : "Player stats rebuilt, " + differences + " rows were out of date.");
+                }
+            }, error -> {
+                rebuildStatsBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Failed to rebuild player stats!", "Error", JOptionPane.ERROR_MESSAGE);
+            });
+        });
 
-// إعادة تحديث الـ Tables
-        populatePlayersTable();
-        populateTeamsTable();
-        populateMatchesTable();
-        populateEventsTable();
-        populatePerformancePanel();
+        auditScheduleBtn.addActionListener(e -> {
+            auditScheduleBtn.setEnabled(false);
+            AsyncLoader.load(ScheduleConflictDetector.getInstance()::audit, conflicts -> {
+                auditScheduleBtn.setEnabled(true);
+                if (conflicts.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "No teams or venues are booked twice.");
+                    return;
+                }
+                StringBuilder message = new StringBuilder(conflicts.size() + " schedule conflicts found:");
+                for (ScheduleConflict c : conflicts.subList(0, Math.min(20, conflicts.size()))) {
+                    message.append("\n• ").append(c);
+                }
+                if (conflicts.size() > 20) message.append("\n…");
+                JOptionPane.showMessageDialog(this, message.toString(), "Schedule Audit", JOptionPane.WARNING_MESSAGE);
+            }, error -> {
+                auditScheduleBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Failed to audit the schedule!", "Error", JOptionPane.ERROR_MESSAGE);
+            });
+        });
 
         settingPanel.revalidate();
         settingPanel.repaint();
@@ -553,7 +627,7 @@ public class AdminFrame extends JFrame implements ActionListener {
      * @param panel The panel to contain the table
      * @param model The table model containing the data
      */
-    private void styleAndAddTable(JPanel panel, DefaultTableModel model) {
+    private void styleAndAddTable(JPanel panel, TableModel model) {
         JTable table = new JTable(model);
 
         // ---- Style ----
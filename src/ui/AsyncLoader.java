@@ -0,0 +1,107 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * AsyncLoader
+ *
+ * <p>
+ * Runs database queries for the GUI on a small pool of worker threads instead of the Swing
+ * event dispatch thread (EDT), then hands each result back to the EDT to update the screen.
+ * Several panels can load in parallel (each query borrows its own pooled connection), and the
+ * window stays responsive while they do.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * AsyncLoader.showPlaceholder(showPlayerPanel, "Loading players...");
+ * AsyncLoader.load(AdminDAO::getPlayersTable, model -&gt; styleAndAddTable(showPlayerPanel, model));
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class AsyncLoader {
+
+    /** Same size as the default connection pool, so workers never wait for a connection. */
+    private static final int WORKERS = Integer.getInteger("soccer.ui.loaderThreads", 4);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKERS, r -> {
+        Thread t = new Thread(r, "ui-loader-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Runs {@code query} on a worker thread and passes its result to {@code onEdt} on the EDT.
+     * Errors are printed and passed to {@code onError} on the EDT. If the returned future is
+     * cancelled, neither callback runs.
+     *
+     * @param query   background work, typically a DAO call
+     * @param onEdt   receives the result on the event dispatch thread
+     * @param onError receives the failure on the event dispatch thread, may be null
+     * @return future of the query result
+     */
+    public static <T> CompletableFuture<T> load(Supplier<T> query, Consumer<T> onEdt, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(query, EXECUTOR);
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                onEdt.accept(result);
+            } else if (!future.isCancelled()) {
+                error.printStackTrace();
+                if (onError != null) onError.accept(error);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Runs {@code query} on a worker thread and passes its result to {@code onEdt} on the EDT.
+     */
+    public static <T> CompletableFuture<T> load(Supplier<T> query, Consumer<T> onEdt) {
+        return load(query, onEdt, null);
+    }
+
+    /**
+     * Loads a table into a panel: shows a "Loading..." placeholder, runs the query in the
+     * background and shows an error message in the panel if it fails.
+     *
+     * @param panel  panel that will hold the table
+     * @param what   name used in the placeholder text (e.g. "players")
+     * @param query  background query
+     * @param onEdt  builds the panel content from the result on the EDT
+     * @return future of the query result
+     */
+    public static <T> CompletableFuture<T> loadInto(JPanel panel, String what, Supplier<T> query, Consumer<T> onEdt) {
+        showPlaceholder(panel, "⏳ Loading " + what + "...");
+        return load(query, onEdt, error -> showPlaceholder(panel, "❌ Failed to load " + what + "."));
+    }
+
+    /**
+     * Replaces the content of a panel with a centered message. Must be called on the EDT.
+     *
+     * @param panel panel to clear
+     * @param text  message to show
+     */
+    public static void showPlaceholder(JPanel panel, String text) {
+        panel.removeAll();
+        panel.setLayout(null);
+        JLabel label = new JLabel(text, SwingConstants.CENTER);
+        label.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        label.setForeground(Color.WHITE);
+        label.setBounds(20, 250, 750, 40);
+        panel.add(label);
+        panel.revalidate();
+        panel.repaint();
+    }
+}
@@ -0,0 +1,100 @@
+package ui;
+
+import dao.QueryCancellation;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * DebouncedSearch
+ *
+ * <p>
+ * Runs a search in the background once the user stops typing in a search field, instead of
+ * on every keystroke. Each new search supersedes the previous one: a search that has not
+ * started yet never runs, and the SQLite statement of one that is already running is
+ * interrupted through a {@link QueryCancellation} (for searches that go through
+ * {@link dao.SearchDAO} or {@link dao.KeysetQuery}), so superseded queries do not keep pooled
+ * connections busy and the table always shows the result for the latest text.
+ * </p>
+ *
+ * <p>The delay can be changed with the system property {@code soccer.ui.searchDelayMs}
+ * (default 250 ms).</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * DebouncedSearch.attach(searchField, searchField::getText,
+ *         text -&gt; PagedTableModel.open(query.filtered(text)),
+ *         table::setModel);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class DebouncedSearch<T> implements DocumentListener {
+
+    private static final int DELAY_MILLIS = Integer.getInteger("soccer.ui.searchDelayMs", 250);
+
+    private final Supplier<String> text;
+    private final Function<String, T> search;
+    private final Consumer<T> onResult;
+    private final Timer timer;
+
+    private String lastText;
+    private QueryCancellation cancellation;
+    private CompletableFuture<T> running;
+
+    private DebouncedSearch(Supplier<String> text, Function<String, T> search, Consumer<T> onResult) {
+        this.text = text;
+        this.search = search;
+        this.onResult = onResult;
+        this.lastText = text.get();
+        this.timer = new Timer(DELAY_MILLIS, e -> fire());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Attaches a debounced search to a text field.
+     *
+     * @param field    field the user types in
+     * @param text     returns the text to search for (e.g. without a placeholder)
+     * @param search   background search, receives the text
+     * @param onResult receives the result of the latest search on the event dispatch thread
+     * @return the search, already listening to the field
+     */
+    public static <T> DebouncedSearch<T> attach(JTextField field, Supplier<String> text,
+                                                Function<String, T> search, Consumer<T> onResult) {
+        DebouncedSearch<T> debounced = new DebouncedSearch<>(text, search, onResult);
+        field.getDocument().addDocumentListener(debounced);
+        return debounced;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) { timer.restart(); }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) { timer.restart(); }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) { timer.restart(); }
+
+    /** Starts the search for the current text, superseding any search still in progress. */
+    private void fire() {
+        String current = text.get();
+        if (current.equals(lastText)) return;
+        lastText = current;
+
+        if (cancellation != null) cancellation.cancel();
+        if (running != null) running.cancel(false);
+        QueryCancellation mine = new QueryCancellation();
+        cancellation = mine;
+        running = AsyncLoader.load(() -> mine.run(() -> search.apply(current)), result -> {
+            if (!mine.isCancelled()) onResult.accept(result);
+        });
+    }
+}
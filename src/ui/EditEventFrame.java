@@ -2,6 +2,7 @@ package ui;
 
 import dao.GameEventDAO;
 import model.GameEvent;
+import service.GameEventIngestor;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,7 +19,8 @@ import java.awt.event.ActionListener;
  *   <li>Three main panels for adding, editing, and deleting events</li>
  *   <li>Sidebar navigation with buttons for each action and back to Admin page</li>
  *   <li>Form fields to input event data: match ID, player ID, event type, and event time</li>
- *   <li>Integration with GameEventDAO for database operations</li>
+ *   <li>New events go through {@link GameEventIngestor}, which group-commits them with other
+ *       live writes; edits and deletes use GameEventDAO directly</li>
  *   <li>Feedback via message dialogs for success or failure of operations</li>
  * </ul>
  * </p>
@@ -231,8 +233,9 @@ public class EditEventFrame extends JFrame implements ActionListener {
             event.setPlayerId(Integer.parseInt(playerIdField.getText().trim()));
             event.setEventType(eventTypeField.getText().trim());
             event.setEventTime(Integer.parseInt(eventTimeField.getText().trim()));
-            boolean success = GameEventDAO.AddEvent(event);
-            JOptionPane.showMessageDialog(this, success ? "✅ Event added!" : "❌ Failed!");
+            GameEventIngestor.getInstance().submit(event).whenComplete((id, error) ->
+                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                            error == null ? "✅ Event added!" : "❌ Failed!")));
         } else if (e.getSource() == confirmUpdateBtn) {
             GameEvent event = new GameEvent();
             event.setEventId(Integer.parseInt(editEventIdField.getText().trim()));
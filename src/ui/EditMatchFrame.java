@@ -1,12 +1,21 @@
 package ui;
 
 import dao.MatchDAO;
+import dao.TeamDAO;
 import model.Match;
+import model.ScheduleConflict;
+import service.FixtureGenerator;
+import service.ScheduleConflictDetector;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * EditMatchFrame provides the GUI for managing Matches in the Soccer Management System.
@@ -16,6 +25,8 @@ import java.awt.event.ActionListener;
  * <p>Main Features:
  * <ul>
  *   <li>Three main panels for adding, editing, and deleting matches</li>
+ *   <li>A fixture generator panel that schedules a full single or double round-robin for all
+ *       teams ({@link FixtureGenerator}) and saves it in one transaction</li>
  *   <li>Sidebar navigation with buttons for each operation and back to Admin page</li>
  *   <li>Form fields for inputting match details: home team, away team, match date, venue, and scores</li>
  *   <li>Integration with MatchDAO for database operations</li>
@@ -30,10 +41,12 @@ public class EditMatchFrame extends JFrame implements ActionListener {
 
     // ------- Variables ---------
     CardLayout cardLayout;
-    JButton addMatchBtn, editMatchBtn, deleteMatchBtn, backBtn,
-            insertMatchBtn, confirmUpdateBtn, confirmDeleteBtn;
+    JButton addMatchBtn, editMatchBtn, deleteMatchBtn, generateFixturesBtn, backBtn,
+            insertMatchBtn, confirmUpdateBtn, confirmDeleteBtn, confirmGenerateBtn;
 
-    JPanel sidePanel, mainPanel, addJPanel, editJPanel, deleteJPanel;
+    JPanel sidePanel, mainPanel, addJPanel, editJPanel, deleteJPanel, generateJPanel;
+
+    JCheckBox doubleRoundRobinBox;
 
     JLabel addMatchLabel;
 
@@ -41,7 +54,8 @@ public class EditMatchFrame extends JFrame implements ActionListener {
             homeScoreField, awayScoreField,
             editHomeTeamField, editAwayTeamField, editDateField, editVenueField,
             editHomeScoreField, editAwayScoreField, editIdField,
-            deleteIdField;
+            deleteIdField,
+            firstRoundField, daysBetweenField;
 
     ImageIcon dashboardIcon = new ImageIcon("main2.jpg");
     final Image dashboardImage = dashboardIcon.getImage();
@@ -86,6 +100,10 @@ public class EditMatchFrame extends JFrame implements ActionListener {
 
         deleteIdField = new JTextField();
 
+        firstRoundField = new JTextField(LocalDate.now().plusWeeks(1).toString());
+        daysBetweenField = new JTextField("7");
+        doubleRoundRobinBox = new JCheckBox("Double round-robin (home and away)", true);
+
         // ---------- Panels ----------
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
@@ -93,19 +111,23 @@ public class EditMatchFrame extends JFrame implements ActionListener {
         addJPanel = createBackgroundPanel();
         editJPanel = createBackgroundPanel();
         deleteJPanel = createBackgroundPanel();
+        generateJPanel = createBackgroundPanel();
 
         mainPanel.add(addJPanel, "add");
         mainPanel.add(editJPanel, "edit");
         mainPanel.add(deleteJPanel, "delete");
+        mainPanel.add(generateJPanel, "generate");
 
         // ---------- Buttons ----------
         addMatchBtn = new JButton("Add Match");
         editMatchBtn = new JButton("Update Match");
         deleteMatchBtn = new JButton("Delete Match");
+        generateFixturesBtn = new JButton("Generate Fixtures");
         backBtn = new JButton("Back");
         insertMatchBtn = new JButton("Insert");
         confirmUpdateBtn = new JButton("Update");
         confirmDeleteBtn = new JButton("Confirm");
+        confirmGenerateBtn = new JButton("Generate");
 
         // ---------- Sidebar ----------
         ImageIcon sideImageIcon = new ImageIcon("sidebar.jpg");
@@ -129,6 +151,8 @@ public class EditMatchFrame extends JFrame implements ActionListener {
         sidePanel.add(editMatchBtn);
         deleteMatchBtn.setBounds(5, 195, 190, 40);
         sidePanel.add(deleteMatchBtn);
+        generateFixturesBtn.setBounds(5, 265, 190, 40);
+        sidePanel.add(generateFixturesBtn);
         backBtn.setBounds(5, 525, 190, 40);
         backBtn.setBackground(Color.RED);
         backBtn.setForeground(Color.BLACK);
@@ -201,14 +225,41 @@ public class EditMatchFrame extends JFrame implements ActionListener {
         confirmDeleteBtn.setFont(new Font(null, Font.BOLD, 15));
         deleteJPanel.add(confirmDeleteBtn);
 
+        // --------- Generate Fixtures Panel ----------
+        JLabel generateLabel = new JLabel("Generate Fixtures Page");
+        generateLabel.setBounds(20, 20, 300, 30);
+        generateLabel.setFont(new Font("Arial", Font.BOLD, 20));
+        generateLabel.setForeground(Color.WHITE);
+        generateJPanel.add(generateLabel);
+
+        addLabelAndField(generateJPanel, "First Round:", 80, firstRoundField);
+        addLabelAndField(generateJPanel, "Days Between:", 130, daysBetweenField);
+
+        doubleRoundRobinBox.setBounds(180, 185, 320, 30);
+        doubleRoundRobinBox.setOpaque(false);
+        doubleRoundRobinBox.setForeground(Color.WHITE);
+        doubleRoundRobinBox.setFont(new Font("Arial", Font.BOLD, 15));
+        generateJPanel.add(doubleRoundRobinBox);
+
+        JLabel venueNote = new JLabel("All teams play every round; each match is at the home team's last venue.");
+        venueNote.setBounds(30, 235, 600, 30);
+        venueNote.setForeground(Color.WHITE);
+        generateJPanel.add(venueNote);
+
+        confirmGenerateBtn.setBounds(280, 430, 170, 30);
+        confirmGenerateBtn.setFont(new Font(null, Font.BOLD, 15));
+        generateJPanel.add(confirmGenerateBtn);
+
         // ---------- Button Actions ----------
         addMatchBtn.addActionListener(this);
         editMatchBtn.addActionListener(this);
         deleteMatchBtn.addActionListener(this);
+        generateFixturesBtn.addActionListener(this);
         backBtn.addActionListener(this);
         insertMatchBtn.addActionListener(this);
         confirmUpdateBtn.addActionListener(this);
         confirmDeleteBtn.addActionListener(this);
+        confirmGenerateBtn.addActionListener(this);
 
         this.setVisible(true);
     }
@@ -265,6 +316,7 @@ public class EditMatchFrame extends JFrame implements ActionListener {
         if (e.getSource() == addMatchBtn) cardLayout.show(mainPanel, "add");
         else if (e.getSource() == editMatchBtn) cardLayout.show(mainPanel, "edit");
         else if (e.getSource() == deleteMatchBtn) cardLayout.show(mainPanel, "delete");
+        else if (e.getSource() == generateFixturesBtn) cardLayout.show(mainPanel, "generate");
         else if (e.getSource() == backBtn) {
             JOptionPane.showMessageDialog(this, "Back to Admin Page...");
             dispose();
@@ -277,6 +329,7 @@ public class EditMatchFrame extends JFrame implements ActionListener {
             m.setVenue(venueField.getText().trim());
             m.setHomeScore(Integer.parseInt(homeScoreField.getText().trim()));
             m.setAwayScore(Integer.parseInt(awayScoreField.getText().trim()));
+            if (hasScheduleConflicts(m)) return;
             boolean success = MatchDAO.AddMatch(m);
             JOptionPane.showMessageDialog(this, success ? "✅ Match added successfully!" : "❌ Failed to add match.");
         } else if (e.getSource() == confirmUpdateBtn) {
@@ -288,6 +341,7 @@ public class EditMatchFrame extends JFrame implements ActionListener {
             m.setVenue(editVenueField.getText().trim());
             m.setHomeScore(Integer.parseInt(editHomeScoreField.getText().trim()));
             m.setAwayScore(Integer.parseInt(editAwayScoreField.getText().trim()));
+            if (hasScheduleConflicts(m)) return;
             boolean success = MatchDAO.UpdateMatch(m);
             JOptionPane.showMessageDialog(this, success ? "✅ Match updated successfully!" : "❌ Failed to update match.");
         } else if (e.getSource() == confirmDeleteBtn) {
@@ -295,6 +349,77 @@ public class EditMatchFrame extends JFrame implements ActionListener {
             m.setMatchId(Integer.parseInt(deleteIdField.getText().trim()));
             boolean success = MatchDAO.DeleteMatch(m);
             JOptionPane.showMessageDialog(this, success ? "✅ Match deleted successfully!" : "❌ Failed to delete match.");
+        } else if (e.getSource() == confirmGenerateBtn) {
+            generateFixtures();
+        }
+    }
+
+    /**
+     * Shows the matches a new or edited match would clash with, if any.
+     *
+     * @param m the match about to be saved
+     * @return true if it conflicts and must not be saved
+     */
+    private boolean hasScheduleConflicts(Match m) {
+        List<ScheduleConflict> conflicts = ScheduleConflictDetector.getInstance().check(m);
+        if (conflicts.isEmpty()) return false;
+        showScheduleConflicts("This match clashes with the schedule:", conflicts, null);
+        return true;
+    }
+
+    /** Lists up to ten conflicts under a heading, with an optional hint below. */
+    private void showScheduleConflicts(String heading, List<ScheduleConflict> conflicts, String hint) {
+        StringBuilder message = new StringBuilder("❌ " + heading);
+        for (ScheduleConflict c : conflicts.subList(0, Math.min(10, conflicts.size()))) {
+            message.append("\n• ").append(c);
+        }
+        if (conflicts.size() > 10) message.append("\n…");
+        if (hint != null) message.append("\n").append(hint);
+        JOptionPane.showMessageDialog(this, message.toString());
+    }
+
+    /**
+     * Generates a round-robin for all teams from the form, checks it against the stored
+     * matches and, after confirmation, saves it in one transaction.
+     */
+    private void generateFixtures() {
+        LocalDate firstRound;
+        int daysBetween;
+        try {
+            firstRound = LocalDate.parse(firstRoundField.getText().trim());
+            daysBetween = Integer.parseInt(daysBetweenField.getText().trim());
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "⚠️ Enter the first round as YYYY-MM-DD and the days between rounds as a number.");
+            return;
         }
+        if (!firstRound.isAfter(LocalDate.now()) || daysBetween < 1) {
+            JOptionPane.showMessageDialog(this, "⚠️ The first round must be after today, with at least one day between rounds.");
+            return;
+        }
+
+        Map<Integer, String> teams = TeamDAO.getTeamNames();
+        if (teams.size() < 2) {
+            JOptionPane.showMessageDialog(this, "⚠️ At least two teams are needed.");
+            return;
+        }
+        FixtureGenerator generator = new FixtureGenerator(doubleRoundRobinBox.isSelected(), firstRound, daysBetween,
+                MatchDAO.getHomeVenues());
+        List<Match> fixtures = generator.generate(new ArrayList<>(teams.keySet()));
+
+        List<ScheduleConflict> conflicts = ScheduleConflictDetector.getInstance().checkAll(fixtures);
+        if (!conflicts.isEmpty()) {
+            showScheduleConflicts("The fixtures have " + conflicts.size() + " schedule conflicts:", conflicts,
+                    "Pick another first round date.");
+            return;
+        }
+
+        int rounds = FixtureGenerator.rounds(teams.size(), doubleRoundRobinBox.isSelected());
+        int choice = JOptionPane.showConfirmDialog(this, "Schedule " + fixtures.size() + " matches in " + rounds
+                + " rounds from " + firstRound + " to " + generator.lastRound(teams.size()) + "?",
+                "Confirm Fixtures", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) return;
+
+        boolean success = MatchDAO.addMatches(fixtures);
+        JOptionPane.showMessageDialog(this, success ? "✅ " + fixtures.size() + " fixtures added successfully!" : "❌ Failed to add fixtures.");
     }
 }
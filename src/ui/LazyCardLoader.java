@@ -0,0 +1,124 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * LazyCardLoader
+ *
+ * <p>
+ * Loads the content of a {@link CardLayout} card the first time it is shown instead of when the
+ * frame is built. Once loaded, the card keeps its table and is shown again without touching the
+ * database. An optional time-to-live makes a card reload when it is shown after its data got old.
+ * If loading fails the card is loaded again the next time it is shown.
+ * </p>
+ *
+ * <p>All methods must be called on the event dispatch thread.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * LazyCardLoader cards = new LazyCardLoader(cardLayout, mainPanel, 0);
+ * cards.register("showPlayers", this::populatePlayersTable);
+ * cards.show("showPlayers"); // first call loads, later calls only switch the card
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class LazyCardLoader {
+
+    /** Default time-to-live of a loaded card, from {@code soccer.ui.cardTtlSeconds} (0 = keep forever). */
+    public static final long DEFAULT_TTL_MILLIS = Long.getLong("soccer.ui.cardTtlSeconds", 0L) * 1000;
+
+    private final CardLayout cardLayout;
+    private final JPanel mainPanel;
+    private final long ttlMillis;
+    private final Map<String, Card> cards = new HashMap<>();
+
+    /**
+     * @param cardLayout layout of {@code mainPanel}
+     * @param mainPanel  panel holding the cards
+     * @param ttlMillis  how long loaded data stays fresh, 0 to keep it until {@link #invalidate(String)}
+     */
+    public LazyCardLoader(CardLayout cardLayout, JPanel mainPanel, long ttlMillis) {
+        this.cardLayout = cardLayout;
+        this.mainPanel = mainPanel;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Registers the loader of a card.
+     *
+     * @param name   card name used with the CardLayout
+     * @param loader starts loading the card and returns a future that completes when it is done
+     */
+    public void register(String name, Supplier<CompletableFuture<?>> loader) {
+        cards.put(name, new Card(loader));
+    }
+
+    /**
+     * Shows a card, loading it first if it was never loaded or its data expired.
+     *
+     * @param name card name
+     */
+    public void show(String name) {
+        cardLayout.show(mainPanel, name);
+        ensureLoaded(name);
+    }
+
+    /**
+     * Loads a card if needed without switching to it.
+     *
+     * @param name card name
+     */
+    public void ensureLoaded(String name) {
+        Card card = cards.get(name);
+        if (card == null || card.loading) return;
+
+        long now = System.currentTimeMillis();
+        boolean expired = ttlMillis > 0 && now - card.loadedAt > ttlMillis;
+        if (card.loadedAt > 0 && !expired) return;
+
+        card.loading = true;
+        card.loader.get().whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            card.loading = false;
+            card.loadedAt = error == null ? System.currentTimeMillis() : 0;
+        }));
+    }
+
+    /** Marks a card as stale so it is reloaded the next time it is shown. */
+    public void invalidate(String name) {
+        Card card = cards.get(name);
+        if (card != null) card.loadedAt = 0;
+    }
+
+    /** Marks every card as stale. */
+    public void invalidateAll() {
+        for (Card card : cards.values()) card.loadedAt = 0;
+    }
+
+    /** Returns true if the card has been loaded and is not stale. */
+    public boolean isLoaded(String name) {
+        Card card = cards.get(name);
+        return card != null && card.loadedAt > 0
+                && (ttlMillis <= 0 || System.currentTimeMillis() - card.loadedAt <= ttlMillis);
+    }
+
+    /**
+     * Loading state of one card.
+     */
+    private static class Card {
+        final Supplier<CompletableFuture<?>> loader;
+        long loadedAt = 0;
+        boolean loading = false;
+
+        Card(Supplier<CompletableFuture<?>> loader) {
+            this.loader = loader;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ui;
+
+import dao.KeysetQuery;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PagedTableModel
+ *
+ * <p>
+ * Read-only table model that loads its rows from a {@link KeysetQuery} one page at a time, as
+ * the JTable asks for them while the user scrolls. Only a fixed number of pages is kept in
+ * memory (least recently used pages are dropped), so memory stays the same no matter how many
+ * rows the table has. The row count comes from {@link KeysetQuery#count()}.
+ * </p>
+ *
+ * <p>Main Features:
+ * <ul>
+ *   <li>Pages are read in the background with {@link AsyncLoader}; cells of a page that is
+ *       still loading are shown empty and repainted when it arrives</li>
+ *   <li>The page after the one being viewed is prefetched</li>
+ *   <li>A page next to one in memory is read by key ({@code key > last}); only a jump far away
+ *       from every cached page looks its first key up by position</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Page size and window can be changed with the system properties {@code soccer.ui.pageSize}
+ * (default 100 rows) and {@code soccer.ui.pageWindow} (default 8 pages).</p>
+ *
+ * <p>All methods except {@link #open(KeysetQuery)} must be called on the event dispatch thread.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * AsyncLoader.load(() -&gt; PagedTableModel.open(AdminDAO.getEventsQuery()),
+ *         model -&gt; table.setModel(model));
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class PagedTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int PAGE_SIZE = Integer.getInteger("soccer.ui.pageSize", 100);
+    private static final int PAGE_WINDOW = Math.max(2, Integer.getInteger("soccer.ui.pageWindow", 8));
+
+    private final KeysetQuery query;
+    private final String[] columns;
+    private int rowCount;
+
+    /** Cached pages by page number, in access order. */
+    private final LinkedHashMap<Integer, List<Object[]>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            return size() > PAGE_WINDOW;
+        }
+    };
+
+    private final Set<Integer> loading = new HashSet<>();
+
+    private PagedTableModel(KeysetQuery query, int rowCount, List<Object[]> firstPage) {
+        this.query = query;
+        this.columns = query.getColumns();
+        this.rowCount = rowCount;
+        pages.put(0, firstPage);
+        if (firstPage.size() < PAGE_SIZE) this.rowCount = firstPage.size();
+    }
+
+    /**
+     * Reads the row count and the first page, then returns the model. Runs the queries on the
+     * calling thread, so call it from a background thread.
+     *
+     * @param query listing to page through
+     * @return model holding the first page
+     */
+    public static PagedTableModel open(KeysetQuery query) {
+        int count = query.count();
+        List<Object[]> first = query.fetchAfter(Integer.MIN_VALUE, PAGE_SIZE);
+        return new PagedTableModel(query, Math.max(count, first.size()), first);
+    }
+
+    @Override
+    public int getRowCount() { return rowCount; }
+
+    @Override
+    public int getColumnCount() { return columns.length; }
+
+    @Override
+    public String getColumnName(int column) { return columns[column]; }
+
+    @Override
+    public boolean isCellEditable(int row, int column) { return false; }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+            return null;
+        }
+        // the viewport reached this page: make sure the next one is on its way
+        if (row % PAGE_SIZE >= PAGE_SIZE / 2) request(page + 1);
+
+        int index = row % PAGE_SIZE;
+        return index < rows.size() ? rows.get(index)[column] : null;
+    }
+
+    /** Returns the number of pages currently held in memory. */
+    public int getCachedPageCount() { return pages.size(); }
+
+    /** Starts loading a page unless it is cached, already loading or past the end. */
+    private void request(int page) {
+        if (page * PAGE_SIZE >= rowCount || pages.containsKey(page) || !loading.add(page)) return;
+
+        // pick the cheapest way to reach the page from what is already in memory
+        List<Object[]> previous = pages.get(page - 1);
+        List<Object[]> next = pages.get(page + 1);
+        AsyncLoader.load(() -> {
+            if (previous != null && !previous.isEmpty()) {
+                return query.fetchAfter(keyOf(previous.get(previous.size() - 1)), PAGE_SIZE);
+            }
+            if (next != null && !next.isEmpty()) {
+                return query.fetchBefore(keyOf(next.get(0)), PAGE_SIZE);
+            }
+            Integer first = query.keyAt(page * PAGE_SIZE);
+            return first == null ? List.<Object[]>of() : query.fetchAfter(first - 1, PAGE_SIZE);
+        }, rows -> loaded(page, rows), error -> loading.remove(page));
+    }
+
+    private void loaded(int page, List<Object[]> rows) {
+        loading.remove(page);
+        pages.put(page, rows);
+
+        int first = page * PAGE_SIZE;
+        int end = first + rows.size();
+        if (rows.size() < PAGE_SIZE && end < rowCount) {
+            // rows were deleted since the count was read
+            rowCount = end;
+            fireTableDataChanged();
+        } else if (end > first) {
+            fireTableRowsUpdated(first, end - 1);
+        }
+    }
+
+    private static int keyOf(Object[] row) {
+        return ((Number) row[0]).intValue();
+    }
+}
@@ -0,0 +1,364 @@
+package ui;
+
+import javax.swing.RowFilter;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TableSearchIndex
+ *
+ * <p>
+ * In-memory inverted index over the cells of a {@link TableModel}, built once when a table is
+ * loaded. Every cell is split into lower-case words; each word maps to the sorted list of rows
+ * that contain it, stored as a primitive {@code int[]}. A search finds all words starting with
+ * each typed term (binary search in the sorted vocabulary), turns their rows into a
+ * {@link BitSet} and intersects the sets of all terms, so filtering does not look at a single
+ * cell.
+ * </p>
+ *
+ * <p>Main Features:
+ * <ul>
+ *   <li>Prefix search: "man cit" matches a row containing "Manchester City"</li>
+ *   <li>Incremental: the index listens to the model and updates itself when rows are inserted,
+ *       updated or deleted</li>
+ *   <li>Reports its build time and an estimate of its memory use</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Must be used on the event dispatch thread, like the model it indexes. Create it after the
+ * JTable so that it sees model changes before the table's row sorter re-filters.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * TableSearchIndex index = TableSearchIndex.build(model);
+ * BitSet rows = index.search("real mad"); // null means "no filter"
+ * sorter.setRowFilter(index.rowFilter("real mad"));
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class TableSearchIndex implements TableModelListener {
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final String[] NO_WORDS = new String[0];
+
+    private final TableModel model;
+
+    // vocabulary: word -> word id
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private String[] words = new String[64];
+    private int wordCount = 0;
+
+    // postings: sorted model rows per word id
+    private int[][] postings = new int[64][];
+    private int[] postingSizes = new int[64];
+
+    // distinct word ids of every row, needed to update or remove a row
+    private int[][] rowWords = new int[64][];
+    private int rowCount = 0;
+
+    // word ids in alphabetical order, rebuilt lazily after new words were added
+    private int[] sortedWordIds = NO_ROWS;
+    private boolean sortedDirty = true;
+
+    private long buildNanos;
+
+    private TableSearchIndex(TableModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Indexes every row of the model and starts listening for changes.
+     *
+     * @param model table model to index
+     * @return the index
+     */
+    public static TableSearchIndex build(TableModel model) {
+        TableSearchIndex index = new TableSearchIndex(model);
+        index.rebuild();
+        model.addTableModelListener(index);
+        return index;
+    }
+
+    /** Stops listening to the model. */
+    public void detach() {
+        model.removeTableModelListener(this);
+    }
+
+    // ---------- Search ----------
+
+    /**
+     * Returns the rows containing, for every term of the query, a word that starts with it.
+     *
+     * @param query terms separated by spaces or punctuation
+     * @return matching model rows, or null if the query has no terms (no filter)
+     */
+    public BitSet search(String query) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) return null;
+        if (sortedDirty) sortVocabulary();
+
+        BitSet result = null;
+        for (String term : terms) {
+            BitSet rows = rowsWithPrefix(term);
+            if (result == null) result = rows;
+            else result.and(rows);
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a row filter for a {@code TableRowSorter} that shows the rows matching the query.
+     * The rows are computed once here; the filter itself only tests a bit.
+     *
+     * @param query terms to look for
+     * @return the filter, or null if the query has no terms
+     */
+    public RowFilter<TableModel, Integer> rowFilter(String query) {
+        BitSet rows = search(query);
+        if (rows == null) return null;
+        return new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return rows.get(entry.getIdentifier());
+            }
+        };
+    }
+
+    private BitSet rowsWithPrefix(String prefix) {
+        BitSet rows = new BitSet(rowCount);
+        int i = firstWordNotBefore(prefix);
+        for (; i < sortedWordIds.length; i++) {
+            int id = sortedWordIds[i];
+            if (!words[id].startsWith(prefix)) break;
+            int[] posting = postings[id];
+            for (int p = 0; p < postingSizes[id]; p++) rows.set(posting[p]);
+        }
+        return rows;
+    }
+
+    /** Binary search for the first word in alphabetical order that is not before {@code key}. */
+    private int firstWordNotBefore(String key) {
+        int low = 0, high = sortedWordIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[sortedWordIds[mid]].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void sortVocabulary() {
+        Integer[] ids = new Integer[wordCount];
+        for (int i = 0; i < wordCount; i++) ids[i] = i;
+        Arrays.sort(ids, (a, b) -> words[a].compareTo(words[b]));
+        sortedWordIds = new int[wordCount];
+        for (int i = 0; i < wordCount; i++) sortedWordIds[i] = ids[i];
+        sortedDirty = false;
+    }
+
+    // ---------- Incremental updates ----------
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE) {
+            rebuild();
+            return;
+        }
+        switch (e.getType()) {
+            case TableModelEvent.INSERT -> insertRows(first, last - first + 1);
+            case TableModelEvent.DELETE -> {
+                // cheaper to start over than to shift everything when most rows are gone
+                if (last - first + 1 > rowCount / 2) rebuild();
+                else deleteRows(first, last - first + 1);
+            }
+            default -> {
+                for (int row = first; row <= last; row++) {
+                    unlinkRow(row);
+                    rowWords[row] = linkRow(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes {@code count} new model rows starting at {@code first}; rows that were at or after
+     * {@code first} move down by {@code count} (a single pass over the postings).
+     */
+    private void insertRows(int first, int count) {
+        if (first < rowCount) shiftRows(first, count);
+        if (rowCount + count > rowWords.length) {
+            rowWords = Arrays.copyOf(rowWords, Math.max(rowWords.length * 2, rowCount + count));
+        }
+        System.arraycopy(rowWords, first, rowWords, first + count, rowCount - first);
+        rowCount += count;
+        for (int row = first; row < first + count; row++) rowWords[row] = linkRow(row);
+    }
+
+    /** Removes {@code count} rows starting at {@code first}; the rows after them move up. */
+    private void deleteRows(int first, int count) {
+        for (int row = first; row < first + count; row++) unlinkRow(row);
+        System.arraycopy(rowWords, first + count, rowWords, first, rowCount - first - count);
+        Arrays.fill(rowWords, rowCount - count, rowCount, null);
+        rowCount -= count;
+        shiftRows(first + count, -count);
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        wordIds.clear();
+        words = new String[64];
+        postings = new int[64][];
+        postingSizes = new int[64];
+        rowWords = new int[Math.max(64, model.getRowCount())][];
+        wordCount = 0;
+        rowCount = 0;
+        insertRows(0, model.getRowCount());
+        sortVocabulary();
+        buildNanos = System.nanoTime() - start;
+    }
+
+    /** Adds {@code delta} to every posting entry that is at least {@code fromRow}. */
+    private void shiftRows(int fromRow, int delta) {
+        for (int id = 0; id < wordCount; id++) {
+            int[] posting = postings[id];
+            int size = postingSizes[id];
+            for (int p = lowerBound(posting, size, fromRow); p < size; p++) posting[p] += delta;
+        }
+    }
+
+    /** Adds the row to the postings of its words and returns its distinct word ids. */
+    private int[] linkRow(int row) {
+        int[] ids = new int[8];
+        int count = 0;
+        for (int col = 0; col < model.getColumnCount(); col++) {
+            for (String word : tokenize(model.getValueAt(row, col))) {
+                int id = wordId(word);
+                if (!addPosting(id, row)) continue; // already linked through another cell
+                if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private void unlinkRow(int row) {
+        int[] ids = rowWords[row];
+        if (ids == null) return;
+        for (int id : ids) {
+            int size = postingSizes[id];
+            int p = lowerBound(postings[id], size, row);
+            if (p < size && postings[id][p] == row) {
+                System.arraycopy(postings[id], p + 1, postings[id], p, size - p - 1);
+                postingSizes[id] = size - 1;
+            }
+        }
+        rowWords[row] = null;
+    }
+
+    private int wordId(String word) {
+        Integer id = wordIds.get(word);
+        if (id != null) return id;
+
+        if (wordCount == words.length) {
+            words = Arrays.copyOf(words, wordCount * 2);
+            postings = Arrays.copyOf(postings, wordCount * 2);
+            postingSizes = Arrays.copyOf(postingSizes, wordCount * 2);
+        }
+        words[wordCount] = word;
+        postings[wordCount] = new int[4];
+        postingSizes[wordCount] = 0;
+        wordIds.put(word, wordCount);
+        sortedDirty = true;
+        return wordCount++;
+    }
+
+    /** Inserts the row into the sorted posting list; returns false if it was already there. */
+    private boolean addPosting(int id, int row) {
+        int[] posting = postings[id];
+        int size = postingSizes[id];
+        int p = lowerBound(posting, size, row);
+        if (p < size && posting[p] == row) return false;
+        if (size == posting.length) posting = postings[id] = Arrays.copyOf(posting, size * 2);
+        System.arraycopy(posting, p, posting, p + 1, size - p);
+        posting[p] = row;
+        postingSizes[id] = size + 1;
+        return true;
+    }
+
+    private static int lowerBound(int[] values, int size, int key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** Splits a value into lower-case runs of letters and digits. */
+    private static String[] tokenize(Object value) {
+        if (value == null) return NO_WORDS;
+        String text = value.toString();
+        List<String> result = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return result.toArray(NO_WORDS);
+    }
+
+    // ---------- Statistics ----------
+
+    /** Returns the number of indexed rows. */
+    public int getRowCount() { return rowCount; }
+
+    /** Returns the number of distinct words. */
+    public int getWordCount() { return wordCount; }
+
+    /** Returns how long the last full build took, in milliseconds. */
+    public double getBuildMillis() { return buildNanos / 1_000_000.0; }
+
+    /**
+     * Returns a rough estimate of the memory used by the index: posting and row arrays, the
+     * vocabulary strings and its hash map.
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 16L * 4 + rowWords.length * 8L + postings.length * 8L + postingSizes.length * 4L
+                + words.length * 8L + sortedWordIds.length * 4L;
+        for (int id = 0; id < wordCount; id++) {
+            bytes += 16 + postings[id].length * 4L;          // posting array
+            bytes += 40 + words[id].length();                // String with its byte[]
+            bytes += 48;                                     // HashMap entry and boxed id
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (rowWords[row] != null) bytes += 16 + rowWords[row].length * 4L;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TableSearchIndex[rows=%d, words=%d, build=%.1f ms, memory~%d KB]",
+                rowCount, wordCount, getBuildMillis(), estimateMemoryBytes() / 1024);
+    }
+}
@@ -1,6 +1,18 @@
 package ui;
 
 import dao.AdminDAO;
+import dao.KeysetQuery;
+import dao.SearchDAO;
+import dao.TeamAnalyticsDAO;
+import dao.TeamDAO;
+import model.LeaderboardEntry;
+import model.SearchHit;
+import model.TeamProjection;
+import model.TeamStanding;
+import service.LeaderboardService;
+import service.RatingEngine;
+import service.SeasonSimulator;
+import service.StandingsEngine;
 import util.DBConnection;
 
 import javax.swing.*;
@@ -9,22 +21,34 @@ import javax.swing.event.DocumentListener;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ViewerFrame provides the graphical interface for "Viewer" users in the Soccer Matches System.
  *
  * <p>Features:
  * <ul>
- *     <li>CardLayout panels for Dashboard, Players, Teams, Matches, Game Events, and Performance.</li>
+ *     <li>CardLayout panels for Dashboard, Players, Teams, Matches, Game Events, Performance, and Standings.</li>
  *     <li>Bottom toolbar with buttons to navigate between panels and logout.</li>
  *     <li>Searchable tables for Players, Teams, Matches, Game Events, and Performance.</li>
+ *     <li>League standings served from memory by the {@link StandingsEngine}, with final-table
+ *         chances from simulating the remaining fixtures ({@link SeasonSimulator}).</li>
+ *     <li>Top-player leaderboards by statistic, team and date range ({@link LeaderboardService}).</li>
  *     <li>Menu bar with Help, About, Settings, and Logout options.</li>
  * </ul>
  * </p>
  *
- * <p>Search functionality allows filtering tables dynamically using a placeholder search field.</p>
+ * <p>Search functionality allows filtering tables dynamically using a placeholder search field.
+ * The players, matches and events tables are paged from the database and searched there
+ * (see {@link KeysetQuery#filtered(String)}); the small teams and performance tables are
+ * filtered in memory through a {@link TableSearchIndex}. The dashboard has a global search over all of them backed by the
+ * full-text index ({@link SearchDAO}).</p>
  *
- * <p>Uses AdminDAO methods to populate tables with data from the database.</p>
+ * <p>Uses AdminDAO methods to populate tables with data from the database. Each table is loaded
+ * in the background the first time its button is clicked and kept for later visits.</p>
  *
  * <p>On logout, closes DB connection and redirects to LoginFrame.</p>
  *
@@ -35,14 +59,26 @@ public class ViewerFrame extends JFrame implements ActionListener {
 
     // ------------ Variables ------------
     CardLayout cardLayout;
+    LazyCardLoader cardLoader;
     JButton dashboardBtn, showPlayerBtn, showTeamBtn, showMatchesBtn,
-            showGameEventBtn, performanceBtn, logOutBtn;
+            showGameEventBtn, performanceBtn, standingsBtn, leadersBtn, logOutBtn;
 
     JPanel mainPanel, dashboardPanel, showPlayerPanel, showTeamPanel,
-            showMatchesPanel, showGameEventPanel, performancePanel;
+            showMatchesPanel, showGameEventPanel, performancePanel, standingsPanel, leadersPanel;
 
     JLabel dashboardLabel;
 
+    private static final String SEARCH_PLACEHOLDER = " 🔍 Search...";
+    private static final int GLOBAL_SEARCH_LIMIT = 100;
+    private static final int LEADERBOARD_SIZE = 20;
+    private static final int FORM_LENGTH = 5;
+    private static final int SIMULATION_RUNS = Integer.getInteger("soccer.simulator.runs", 200_000);
+    private static final long SIMULATION_SEED = Long.getLong("soccer.simulator.seed", 42L);
+    private static final int RELEGATION_PLACES = 3;
+
+    /** Reloads the leaderboard with the current filters; set once the Leaders card is built. */
+    private Runnable leadersRefresh;
+
     ImageIcon dashboardIcon = new ImageIcon("main.jpg");
     final Image dashboardImage = dashboardIcon.getImage();
 
@@ -65,6 +101,8 @@ public class ViewerFrame extends JFrame implements ActionListener {
         showMatchesBtn = new JButton("Show Matches");
         showGameEventBtn = new JButton("Show Events");
         performanceBtn = new JButton("Performance");
+        standingsBtn = new JButton("Standings");
+        leadersBtn = new JButton("Leaders");
         logOutBtn = new JButton("Logout");
         logOutBtn.setBackground(Color.RED);
         logOutBtn.setForeground(Color.black);
@@ -77,6 +115,8 @@ public class ViewerFrame extends JFrame implements ActionListener {
         bottomPanel.add(showMatchesBtn);
         bottomPanel.add(showGameEventBtn);
         bottomPanel.add(performanceBtn);
+        bottomPanel.add(standingsBtn);
+        bottomPanel.add(leadersBtn);
         bottomPanel.add(logOutBtn);
 
         this.add(bottomPanel, BorderLayout.SOUTH);
@@ -91,6 +131,8 @@ public class ViewerFrame extends JFrame implements ActionListener {
         showMatchesPanel = createBackgroundPanel();
         showGameEventPanel = createBackgroundPanel();
         performancePanel = createBackgroundPanel();
+        standingsPanel = createBackgroundPanel();
+        leadersPanel = createBackgroundPanel();
 
         mainPanel.add(dashboardPanel, "dashboard");
         mainPanel.add(showPlayerPanel, "showPlayers");
@@ -98,6 +140,8 @@ public class ViewerFrame extends JFrame implements ActionListener {
         mainPanel.add(showMatchesPanel, "showMatches");
         mainPanel.add(showGameEventPanel, "showEvents");
         mainPanel.add(performancePanel, "performance");
+        mainPanel.add(standingsPanel, "standings");
+        mainPanel.add(leadersPanel, "leaders");
 
         this.add(mainPanel, BorderLayout.CENTER);
 
@@ -107,6 +151,7 @@ public class ViewerFrame extends JFrame implements ActionListener {
         dashboardLabel.setFont(new Font("Arial", Font.BOLD, 20));
         dashboardLabel.setForeground(Color.WHITE);
         dashboardPanel.add(dashboardLabel);
+        setupGlobalSearch();
 
         // ---------- Menu Bar (Copied from AdminFrame) -----------
         JMenuBar menuBar = new JMenuBar();
@@ -153,6 +198,8 @@ public class ViewerFrame extends JFrame implements ActionListener {
         logOutBtn.addActionListener(this);
         showPlayerBtn.addActionListener(this);
         performanceBtn.addActionListener(this);
+        standingsBtn.addActionListener(this);
+        leadersBtn.addActionListener(this);
         showTeamBtn.addActionListener(this);
 
         // ------ Menu Actions -------
@@ -188,22 +235,33 @@ public class ViewerFrame extends JFrame implements ActionListener {
             }
         });
 
-        // -------- Populate Tables ----------
-        populatePlayersTable();
-        populateTeamsTable();
-        populateMatchesTable();
-        populateEventsTable();
-        populatePerformancePanel();
+        // -------- Populate Tables (on first visit) ----------
+        cardLoader = new LazyCardLoader(cardLayout, mainPanel, LazyCardLoader.DEFAULT_TTL_MILLIS);
+        cardLoader.register("showPlayers", this::populatePlayersTable);
+        cardLoader.register("showTeams", this::populateTeamsTable);
+        cardLoader.register("showMatches", this::populateMatchesTable);
+        cardLoader.register("showEvents", this::populateEventsTable);
+        cardLoader.register("performance", this::populatePerformancePanel);
+        cardLoader.register("standings", this::populateStandingsTable);
+        cardLoader.register("leaders", this::populateLeadersPanel);
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
         if (e.getSource() == dashboardBtn) cardLayout.show(mainPanel, "dashboard");
-        else if (e.getSource() == showPlayerBtn) cardLayout.show(mainPanel, "showPlayers");
-        else if (e.getSource() == showTeamBtn) cardLayout.show(mainPanel, "showTeams");
-        else if (e.getSource() == showMatchesBtn) cardLayout.show(mainPanel, "showMatches");
-        else if (e.getSource() == showGameEventBtn) cardLayout.show(mainPanel, "showEvents");
-        else if (e.getSource() == performanceBtn) cardLayout.show(mainPanel, "performance");
+        else if (e.getSource() == showPlayerBtn) cardLoader.show("showPlayers");
+        else if (e.getSource() == showTeamBtn) cardLoader.show("showTeams");
+        else if (e.getSource() == showMatchesBtn) cardLoader.show("showMatches");
+        else if (e.getSource() == showGameEventBtn) cardLoader.show("showEvents");
+        else if (e.getSource() == performanceBtn) cardLoader.show("performance");
+        else if (e.getSource() == standingsBtn) {
+            cardLoader.invalidate("standings"); // served from memory, always show the latest table
+            cardLoader.show("standings");
+        }
+        else if (e.getSource() == leadersBtn) {
+            cardLoader.show("leaders");
+            if (leadersRefresh != null) leadersRefresh.run(); // cached boards come back at once
+        }
         else if (e.getSource() == logOutBtn) {
             JOptionPane.showMessageDialog(this, "Logging out...");
             DBConnection.closeConnection();
@@ -227,34 +285,260 @@ public class ViewerFrame extends JFrame implements ActionListener {
     }
 
     // ---------- Populate + Search ----------
-    private void populatePlayersTable() {
-        DefaultTableModel model = AdminDAO.getPlayersTable();
-        addSearchableTable(showPlayerPanel, model);
+    private CompletableFuture<?> populatePlayersTable() {
+        KeysetQuery query = AdminDAO.getPlayersQuery();
+        return AsyncLoader.loadInto(showPlayerPanel, "players", () -> PagedTableModel.open(query),
+                model -> addSearchableTable(showPlayerPanel, query, model));
+    }
+
+    private CompletableFuture<?> populateTeamsTable() {
+        return AsyncLoader.loadInto(showTeamPanel, "teams", AdminDAO::getTeamsTable,
+                model -> addSearchableTable(showTeamPanel, model));
     }
 
-    private void populateTeamsTable() {
-        DefaultTableModel model = AdminDAO.getTeamsTable();
-        addSearchableTable(showTeamPanel, model);
+    private CompletableFuture<?> populateMatchesTable() {
+        KeysetQuery query = AdminDAO.getMatchesQuery();
+        return AsyncLoader.loadInto(showMatchesPanel, "matches", () -> PagedTableModel.open(query),
+                model -> addSearchableTable(showMatchesPanel, query, model));
     }
 
-    private void populateMatchesTable() {
-        DefaultTableModel model = AdminDAO.getMatchesTable();
-        addSearchableTable(showMatchesPanel, model);
+    private CompletableFuture<?> populateEventsTable() {
+        KeysetQuery query = AdminDAO.getEventsQuery();
+        return AsyncLoader.loadInto(showGameEventPanel, "events", () -> PagedTableModel.open(query),
+                model -> addSearchableTable(showGameEventPanel, query, model));
     }
 
-    private void populateEventsTable() {
-        DefaultTableModel model = AdminDAO.getEventsTable();
-        addSearchableTable(showGameEventPanel, model);
+    private CompletableFuture<?> populateStandingsTable() {
+        return AsyncLoader.loadInto(standingsPanel, "standings", ViewerFrame::getStandingsTable, model -> {
+            addSearchableTable(standingsPanel, model);
+            addSimulateButton(standingsPanel);
+        });
     }
 
-    private void populatePerformancePanel() {
-        DefaultTableModel model = AdminDAO.getPerformanceTable();
-        addSearchableTable(performancePanel, model);
+    /**
+     * Adds the button that simulates the rest of the season in the background and shows each
+     * team's chances of finishing first, in the top four and in the bottom places.
+     */
+    private void addSimulateButton(JPanel panel) {
+        JButton simulateBtn = new JButton("Simulate Season");
+        simulateBtn.setBounds(240, 20, 150, 30);
+        simulateBtn.setToolTipText(String.format("Final-table chances from %,d simulated seasons", SIMULATION_RUNS));
+        simulateBtn.addActionListener(e -> {
+            simulateBtn.setEnabled(false);
+            AsyncLoader.load(() -> SeasonSimulator.fromDatabase().simulate(SIMULATION_RUNS, SIMULATION_SEED), result -> {
+                simulateBtn.setEnabled(true);
+                showProjections(result);
+            }, error -> {
+                simulateBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "❌ Simulation failed.", "Error", JOptionPane.ERROR_MESSAGE);
+            });
+        });
+        panel.add(simulateBtn);
+        panel.repaint();
     }
 
+    private void showProjections(SeasonSimulator.Result result) {
+        List<TeamProjection> projections = result.getProjections();
+        int teams = projections.size();
+        String[] columns = {"#", "Team", "Pts", "xPts", "1st %", "Top 4 %", "Bottom " + RELEGATION_PLACES + " %"};
+        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        for (int i = 0; i < teams; i++) {
+            TeamProjection p = projections.get(i);
+            model.addRow(new Object[]{
+                    i + 1, p.getTeamName(), p.getCurrentPoints(),
+                    String.format("%.1f", p.getExpectedPoints()),
+                    String.format("%.1f", 100 * p.getTitleChance()),
+                    String.format("%.1f", 100 * p.getRangeChance(1, 4)),
+                    String.format("%.1f", 100 * p.getRangeChance(teams - RELEGATION_PLACES + 1, teams))
+            });
+        }
+        JTable table = new JTable(model);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(620, 400));
+        JOptionPane.showMessageDialog(this, scrollPane, String.format("%,d seasons simulated in %.0f ms (%,.0f/s)",
+                result.getSimulations(), result.getMillis(), result.getThroughput()), JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private CompletableFuture<?> populateLeadersPanel() {
+        return AsyncLoader.loadInto(leadersPanel, "leaderboards", TeamDAO::getTeamNames, this::setupLeadersPanel);
+    }
+
+    /**
+     * Builds the Leaders card: statistic and team selectors, a date range and the top players.
+     * @param teams team names by ID for the team filter
+     */
+    private void setupLeadersPanel(Map<Integer, String> teams) {
+        leadersPanel.removeAll();
+
+        JComboBox<LeaderboardService.Metric> metricBox = new JComboBox<>(LeaderboardService.Metric.values());
+        metricBox.setBounds(20, 20, 160, 30);
+        leadersPanel.add(metricBox);
+
+        List<Integer> teamIds = new ArrayList<>();
+        JComboBox<String> teamBox = new JComboBox<>();
+        teamIds.add(null);
+        teamBox.addItem("All Teams");
+        for (Map.Entry<Integer, String> team : teams.entrySet()) {
+            teamIds.add(team.getKey());
+            teamBox.addItem(team.getValue());
+        }
+        teamBox.setBounds(190, 20, 180, 30);
+        leadersPanel.add(teamBox);
+
+        JTextField fromField = new JTextField();
+        fromField.setToolTipText("From date (YYYY-MM-DD), empty for no limit");
+        fromField.setBounds(380, 20, 110, 30);
+        leadersPanel.add(fromField);
+
+        JTextField toField = new JTextField();
+        toField.setToolTipText("To date (YYYY-MM-DD), empty for no limit");
+        toField.setBounds(500, 20, 110, 30);
+        leadersPanel.add(toField);
+
+        JButton applyBtn = new JButton("Apply");
+        applyBtn.setBounds(620, 20, 90, 30);
+        leadersPanel.add(applyBtn);
+
+        DefaultTableModel model = new DefaultTableModel(new String[]{"#", "Player", "Team", ""}, 0);
+        addTable(leadersPanel, model);
+
+        leadersRefresh = () -> {
+            LeaderboardService.Metric metric = (LeaderboardService.Metric) metricBox.getSelectedItem();
+            Integer teamId = teamIds.get(Math.max(0, teamBox.getSelectedIndex()));
+            String from = fromField.getText();
+            String to = toField.getText();
+            AsyncLoader.load(() -> LeaderboardService.getLeaders(metric, teamId, from, to, LEADERBOARD_SIZE), leaders -> {
+                model.setColumnIdentifiers(new Object[]{"#", "Player", "Team", metric.toString()});
+                model.setRowCount(0);
+                for (LeaderboardEntry entry : leaders) {
+                    model.addRow(new Object[]{entry.getRank(), entry.getPlayerName(), entry.getTeamName(), entry.getValue()});
+                }
+            });
+        };
+        metricBox.addActionListener(e -> leadersRefresh.run());
+        teamBox.addActionListener(e -> leadersRefresh.run());
+        applyBtn.addActionListener(e -> leadersRefresh.run());
+        leadersRefresh.run();
+
+        leadersPanel.revalidate();
+        leadersPanel.repaint();
+    }
+
+    /**
+     * Builds the league table from the {@link StandingsEngine}, with each team's last
+     * {@value #FORM_LENGTH} results from the cached {@link TeamAnalyticsDAO} and its current
+     * strength from the {@link RatingEngine}.
+     * @return DefaultTableModel of the standings, best team first
+     */
+    private static DefaultTableModel getStandingsTable() {
+        String[] columns = {"#", "Team", "P", "W", "D", "L", "GF", "GA", "GD", "Pts", "Form", "Rating"};
+        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        RatingEngine ratings = RatingEngine.getInstance();
+        for (TeamStanding s : StandingsEngine.getInstance().getStandings()) {
+            model.addRow(new Object[]{
+                    s.getPosition(), s.getTeamName(), s.getPlayed(), s.getWins(), s.getDraws(), s.getLosses(),
+                    s.getGoalsFor(), s.getGoalsAgainst(), s.getGoalDifference(), s.getPoints(),
+                    TeamAnalyticsDAO.getForm(s.getTeamId(), FORM_LENGTH),
+                    Math.round(ratings.getRating(s.getTeamId()))
+            });
+        }
+        return model;
+    }
+
+    private CompletableFuture<?> populatePerformancePanel() {
+        return AsyncLoader.loadInto(performancePanel, "performance", AdminDAO::getPerformanceTable,
+                model -> addSearchableTable(performancePanel, model));
+    }
+
+    /**
+     * Adds the global search to the dashboard: one search field over players, teams, matches and
+     * events using the full-text index, with ranked results. Double-clicking a result opens the
+     * table it belongs to.
+     */
+    private void setupGlobalSearch() {
+        String[] columns = {"Type", "Name", "Context", "ID"};
+        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        JTable table = addTable(dashboardPanel, model);
+        JTextField searchField = addSearchField(dashboardPanel);
+        searchField.setBounds(20, 60, 300, 30);
+        SwingUtilities.getAncestorOfClass(JScrollPane.class, table).setBounds(20, 100, 750, 460);
+
+        DebouncedSearch.attach(searchField, () -> searchText(searchField),
+                text -> SearchDAO.search(text, GLOBAL_SEARCH_LIMIT),
+                hits -> {
+                    model.setRowCount(0);
+                    for (SearchHit hit : hits) {
+                        model.addRow(new Object[]{hit.getKind(), hit.getTitle(), hit.getSnippetHtml(), hit.getId()});
+                    }
+                });
+
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = table.getSelectedRow();
+                if (e.getClickCount() != 2 || row < 0) return;
+                switch ((SearchHit.Kind) model.getValueAt(row, 0)) {
+                    case PLAYER -> cardLoader.show("showPlayers");
+                    case TEAM -> cardLoader.show("showTeams");
+                    case MATCH -> cardLoader.show("showMatches");
+                    case EVENT -> cardLoader.show("showEvents");
+                }
+            }
+        });
+    }
+
+    /**
+     * Shows a fully loaded table with a search field that filters it in memory. Used for the
+     * small tables (teams, performance). Each typed word matches the start of a word in any
+     * cell, looked up in a {@link TableSearchIndex} built when the table is loaded.
+     */
     private void addSearchableTable(JPanel panel, DefaultTableModel model) {
         panel.removeAll();
+        JTable table = addTable(panel, model);
+        JTextField searchField = addSearchField(panel);
+
+        // ---- Search Logic ----
+        TableRowSorter<TableModel> sorter = new TableRowSorter<>(model);
+        table.setRowSorter(sorter);
+        TableSearchIndex index = TableSearchIndex.build(model);
+        searchField.setToolTipText(index.toString());
+
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { search(); }
+            public void removeUpdate(DocumentEvent e) { search(); }
+            public void changedUpdate(DocumentEvent e) { search(); }
+
+            private void search() {
+                sorter.setRowFilter(index.rowFilter(searchText(searchField)));
+            }
+        });
+
+        panel.revalidate();
+        panel.repaint();
+    }
+
+    /**
+     * Shows a paged table with a search field whose filter runs in SQLite. Searching starts
+     * once the user stops typing, and only the result of the latest text is shown.
+     */
+    private void addSearchableTable(JPanel panel, KeysetQuery query, PagedTableModel model) {
+        panel.removeAll();
+        JTable table = addTable(panel, model);
+        JTextField searchField = addSearchField(panel);
+
+        // ---- Search Logic (server side) ----
+        DebouncedSearch.attach(searchField, () -> searchText(searchField),
+                text -> PagedTableModel.open(query.filtered(text)),
+                table::setModel);
+
+        panel.revalidate();
+        panel.repaint();
+    }
 
+    /**
+     * Adds a read-only, transparent table in a scroll pane to the panel.
+     */
+    private JTable addTable(JPanel panel, TableModel model) {
         JTable table = new JTable(model) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -284,9 +568,14 @@ public class ViewerFrame extends JFrame implements ActionListener {
         scrollPane.setBorder(BorderFactory.createLineBorder(new Color(255, 255, 255, 80), 1));
 
         panel.add(scrollPane);
+        return table;
+    }
 
-        // ---- Search Field ----
-        JTextField searchField = new JTextField(" 🔍 Search...");
+    /**
+     * Adds the search field with its placeholder to the panel.
+     */
+    private JTextField addSearchField(JPanel panel) {
+        JTextField searchField = new JTextField(SEARCH_PLACEHOLDER);
         searchField.setBounds(20, 20, 200, 30);
         searchField.setFont(new Font("Segoe UI", Font.ITALIC, 13));
         searchField.setForeground(Color.GRAY);
@@ -296,42 +585,27 @@ public class ViewerFrame extends JFrame implements ActionListener {
         // Placeholder behavior
         searchField.addFocusListener(new FocusAdapter() {
             public void focusGained(FocusEvent e) {
-                if (searchField.getText().equals(" 🔍 Search...")) {
+                if (searchField.getText().equals(SEARCH_PLACEHOLDER)) {
                     searchField.setText("");
                     searchField.setForeground(Color.BLACK);
                 }
             }
             public void focusLost(FocusEvent e) {
                 if (searchField.getText().isEmpty()) {
-                    searchField.setText(" 🔍 Search...");
+                    searchField.setText(SEARCH_PLACEHOLDER);
                     searchField.setForeground(Color.GRAY);
                 }
             }
         });
 
         panel.add(searchField);
+        return searchField;
+    }
 
-        // ---- Search Logic ----
-        TableRowSorter<TableModel> sorter = new TableRowSorter<>(model);
-        table.setRowSorter(sorter);
-
-        searchField.getDocument().addDocumentListener(new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { search(); }
-            public void removeUpdate(DocumentEvent e) { search(); }
-            public void changedUpdate(DocumentEvent e) { search(); }
-
-            private void search() {
-                String text = searchField.getText();
-                if (text.trim().length() == 0 || text.equals(" 🔍 Search...")) {
-                    sorter.setRowFilter(null);
-                } else {
-                    sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text));
-                }
-            }
-        });
-
-        panel.revalidate();
-        panel.repaint();
+    /** Returns the text typed in the search field, empty while the placeholder is shown. */
+    private static String searchText(JTextField searchField) {
+        String text = searchField.getText();
+        return text.equals(SEARCH_PLACEHOLDER) ? "" : text.trim();
     }
 
 }
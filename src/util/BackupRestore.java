@@ -29,6 +29,8 @@ public class BackupRestore {
         if(userSelection == JFileChooser.APPROVE_OPTION){
             File backupFile = fileChooser.getSelectedFile();
             try {
+                // flush the write-ahead log so the copied file contains every committed change
+                DBConnection.checkpoint();
                 Files.copy(dbFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 JOptionPane.showMessageDialog(null, "✅ Backup successful!\nSaved to: " + backupFile.getAbsolutePath());
             } catch (IOException e) {
@@ -56,6 +58,10 @@ public class BackupRestore {
                     JOptionPane.YES_NO_OPTION);
             if(confirm == JOptionPane.YES_OPTION){
                 try {
+                    // close the pool and drop the old WAL files so they are not replayed over the restored copy
+                    DBConnection.closeConnection();
+                    Files.deleteIfExists(Paths.get(targetDBPath + "-wal"));
+                    Files.deleteIfExists(Paths.get(targetDBPath + "-shm"));
                     Files.copy(backupFile.toPath(), Paths.get(targetDBPath), StandardCopyOption.REPLACE_EXISTING);
                     JOptionPane.showMessageDialog(null, "✅ Restore successful!");
                 } catch (IOException e) {
@@ -0,0 +1,83 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CheckpointScheduler
+ *
+ * <p>
+ * Runs a passive WAL checkpoint in the background at a fixed interval. A passive checkpoint
+ * copies committed pages from the write-ahead log back into the database file without blocking
+ * readers or writers, which keeps the WAL file small while matches are being recorded.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * CheckpointScheduler scheduler = new CheckpointScheduler(pool, 30);
+ * scheduler.start();
+ * ...
+ * scheduler.stop();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class CheckpointScheduler {
+
+    private final ConnectionPool pool;
+    private final int intervalSeconds;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param pool            pool used to borrow a connection for each checkpoint
+     * @param intervalSeconds seconds between two checkpoints
+     */
+    public CheckpointScheduler(ConnectionPool pool, int intervalSeconds) {
+        this.pool = pool;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    /** Starts the background checkpoint thread. Does nothing if already running. */
+    public synchronized void start() {
+        if (executor != null || intervalSeconds <= 0) return;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sqlite-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(() -> checkpoint("PASSIVE"),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /** Stops the background checkpoint thread. */
+    public synchronized void stop() {
+        if (executor == null) return;
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    /**
+     * Runs a single checkpoint with the given mode.
+     *
+     * @param mode PASSIVE, FULL, RESTART or TRUNCATE
+     * @return number of WAL frames checkpointed, or -1 if the checkpoint failed
+     */
+    public int checkpoint(String mode) {
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            // columns: busy, log frames, checkpointed frames
+            return rs.next() ? rs.getInt(3) : 0;
+        } catch (SQLException e) {
+            System.out.println("⚠️ WAL checkpoint failed: " + e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool keeps a bounded set of pre-opened SQLite connections and lends them out.
+ *
+ * <p>Features:
+ * <ul>
+ *     <li>All physical connections are opened up front, so borrowing never pays the connect cost.</li>
+ *     <li>Borrowed connections are thin wrappers; calling {@code close()} (for example from
+ *         try-with-resources) hands the connection back to the pool instead of closing it.</li>
+ *     <li>Connections that sat idle for a while are validated before being lent out and
+ *         reopened if they are no longer usable.</li>
+ *     <li>An optional {@link StorageProfile} is applied to every connection as it is opened.</li>
+ *     <li>Each connection keeps its own {@link StatementCache} of prepared statements.</li>
+ *     <li>Exposes metrics: active, idle, number of borrows, wait times and timeouts.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Usage:
+ * <pre>
+ * ConnectionPool pool = new ConnectionPool("jdbc:sqlite:soccer_project.db", 4, 5000);
+ * try (Connection conn = pool.borrow()) {
+ *     // Use the connection for queries...
+ * } // returned to the pool here
+ * pool.shutdown();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class ConnectionPool {
+
+    /** Connections idle for longer than this are validated before being handed out. */
+    private static final long VALIDATE_AFTER_IDLE_MS = 30_000;
+
+    /** Timeout in seconds used by {@link Connection#isValid(int)} during health checks. */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final StorageProfile profile;
+    private final BlockingQueue<PooledConnection> idle;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong reopenCount = new AtomicLong();
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates the pool and opens all of its connections.
+     *
+     * @param url                 JDBC url of the database
+     * @param maxSize             number of connections kept by the pool
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection
+     * @throws SQLException if one of the connections cannot be opened
+     */
+    public ConnectionPool(String url, int maxSize, long borrowTimeoutMillis) throws SQLException {
+        this(url, maxSize, borrowTimeoutMillis, null);
+    }
+
+    /**
+     * Creates the pool, opens all of its connections and applies the storage profile to each one.
+     *
+     * @param url                 JDBC url of the database
+     * @param maxSize             number of connections kept by the pool
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection
+     * @param profile             pragmas applied to every new connection, or null for SQLite defaults
+     * @throws SQLException if one of the connections cannot be opened or configured
+     */
+    public ConnectionPool(String url, int maxSize, long borrowTimeoutMillis, StorageProfile profile) throws SQLException {
+        if (maxSize < 1) throw new IllegalArgumentException("Pool size must be at least 1");
+        this.url = url;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.profile = profile;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+
+        try {
+            for (int i = 0; i < maxSize; i++) {
+                idle.add(new PooledConnection(this, openPhysical()));
+            }
+        } catch (SQLException e) {
+            shutdown();
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured timeout if all of them are in use.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return a connection leased from the pool
+     * @throws SQLException if the pool is shut down, the wait timed out, or the connection is broken
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown) throw new SQLException("Connection pool is shut down");
+
+        long start = System.nanoTime();
+        PooledConnection pc;
+        try {
+            pc = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        if (pc == null) {
+            timeoutCount.incrementAndGet();
+            throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection");
+        }
+
+        try {
+            if (!pc.isHealthy(VALIDATE_AFTER_IDLE_MS, VALIDATION_TIMEOUT_SECONDS)) {
+                pc.reopen(openPhysical());
+                reopenCount.incrementAndGet();
+            }
+        } catch (SQLException e) {
+            // keep the slot so a later borrow can try to reopen it again
+            idle.offer(pc);
+            throw e;
+        }
+
+        active.incrementAndGet();
+        borrowCount.incrementAndGet();
+        return pc.lease();
+    }
+
+    /**
+     * Called by {@link PooledConnection} when a lease is closed.
+     */
+    void release(PooledConnection pc) {
+        active.decrementAndGet();
+        pc.resetState();
+        if (shutdown) {
+            pc.closePhysical();
+        } else {
+            idle.offer(pc);
+        }
+    }
+
+    /**
+     * Closes every idle connection and marks the pool as shut down.
+     * Connections that are still borrowed are closed as soon as they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        PooledConnection pc;
+        while ((pc = idle.poll()) != null) {
+            pc.closePhysical();
+        }
+    }
+
+    /** Opens a new physical connection to the database and applies the storage profile. */
+    protected Connection openPhysical() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        if (profile != null) {
+            try {
+                profile.apply(conn);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+        return conn;
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ---------- Metrics ----------
+
+    /** Returns true once {@link #shutdown()} has been called. */
+    public boolean isShutdown() { return shutdown; }
+
+    /** Returns the storage profile applied to new connections, or null. */
+    public StorageProfile getProfile() { return profile; }
+
+    /** Returns the number of connections kept by the pool. */
+    public int getMaxSize() { return maxSize; }
+
+    /** Returns the number of connections currently borrowed. */
+    public int getActiveCount() { return active.get(); }
+
+    /** Returns the number of connections currently waiting in the pool. */
+    public int getIdleCount() { return idle.size(); }
+
+    /** Returns how many times a connection has been borrowed. */
+    public long getBorrowCount() { return borrowCount.get(); }
+
+    /** Returns the number of borrow attempts that gave up waiting. */
+    public long getTimeoutCount() { return timeoutCount.get(); }
+
+    /** Returns how many broken connections were replaced by the health check. */
+    public long getReopenCount() { return reopenCount.get(); }
+
+    /** Returns the average time spent waiting for a connection, in milliseconds. */
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.get() + timeoutCount.get();
+        return borrows == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+    }
+
+    /** Returns the longest time spent waiting for a connection, in milliseconds. */
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[size=%d, active=%d, idle=%d, borrows=%d, avgWait=%.3f ms, maxWait=%.3f ms, timeouts=%d, reopened=%d] %s",
+                maxSize, getActiveCount(), getIdleCount(), getBorrowCount(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount(), getReopenCount(),
+                StatementCache.describeTotals());
+    }
+}
@@ -1,25 +1,34 @@
 package util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * DBConnection is a utility class for managing a single SQLite database connection.
+ * DBConnection is a utility class for handing out SQLite database connections.
  *
  * <p>Features:
  * <ul>
- *     <li>Provides a singleton connection instance to the SQLite database "soccer_project.db".</li>
- *     <li>Handles automatic connection creation if not already connected.</li>
- *     <li>Provides a method to safely close the connection.</li>
+ *     <li>Backed by a {@link ConnectionPool} of pre-opened connections to "soccer_project.db".</li>
+ *     <li>Connections are borrowed with {@link #getConnection()} and returned by closing them,
+ *         so try-with-resources no longer forces a reconnect on the next query.</li>
+ *     <li>The pool is created lazily and recreated after {@link #closeConnection()}.</li>
+ *     <li>Components that buffer writes can register a close listener; listeners run before the
+ *         pool shuts down (on logout and on JVM exit) so buffered data is flushed first.</li>
+ *     <li>Every new connection gets the pragmas of the {@link StorageProfile} (WAL by default),
+ *         and a {@link CheckpointScheduler} keeps the write-ahead log short.</li>
+ *     <li>Pool size and borrow timeout can be tuned with the system properties
+ *         {@code soccer.db.poolSize} and {@code soccer.db.borrowTimeoutMs}.</li>
  * </ul>
  * </p>
  *
  * <p>Usage:
  * <pre>
- * Connection conn = DBConnection.getConnection();
- * // Use the connection for queries...
- * DBConnection.closeConnection();
+ * try (Connection conn = DBConnection.getConnection()) {
+ *     // Use the connection for queries...
+ * } // connection goes back to the pool
+ * DBConnection.closeConnection(); // on logout / exit
  * </pre>
  * </p>
  *
@@ -30,40 +39,107 @@ public class DBConnection {
     /** SQLite database URL */
     private static final String URL = "jdbc:sqlite:soccer_project.db";
 
-    /** Singleton connection instance */
-    private static Connection connection = null;
+    /** Number of connections kept open by the pool */
+    private static final int POOL_SIZE = Integer.getInteger("soccer.db.poolSize", 4);
+
+    /** How long a caller waits for a free connection before giving up */
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("soccer.db.borrowTimeoutMs", 5000L);
+
+    /** Pragmas applied to every new connection */
+    private static final StorageProfile PROFILE = StorageProfile.fromSystemProperties();
+
+    /** Shared pool instance */
+    private static ConnectionPool pool = null;
+
+    /** Background WAL checkpoints for the current pool */
+    private static CheckpointScheduler checkpointScheduler = null;
+
+    /** Callbacks run before the pool is shut down */
+    private static final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+    static {
+        // flush write buffers and checkpoint the WAL when the window is closed with EXIT_ON_CLOSE
+        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::closeConnection, "db-shutdown"));
+    }
+
+    /**
+     * Returns the connection pool, creating it if it does not exist or was shut down.
+     *
+     * @return the shared ConnectionPool
+     * @throws SQLException if the pool connections cannot be opened
+     */
+    public static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null || pool.isShutdown()) {
+            pool = new ConnectionPool(URL, POOL_SIZE, BORROW_TIMEOUT_MS, PROFILE);
+            if (PROFILE.isWal()) {
+                checkpointScheduler = new CheckpointScheduler(pool, PROFILE.getCheckpointIntervalSeconds());
+                checkpointScheduler.start();
+            }
+            System.out.println("✅ Connected to SQLite database (pool of " + POOL_SIZE + " connections, " + PROFILE + ").");
+        }
+        return pool;
+    }
 
     /**
-     * Returns a Connection object to the SQLite database.
-     * If the connection is closed or null, it creates a new one.
+     * Borrows a Connection to the SQLite database from the pool.
+     * Closing the connection returns it to the pool.
      *
      * @return Connection object or null if connection failed
      */
     public static Connection getConnection() {
         try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL);
-                System.out.println("✅ Connected to SQLite database.");
-            }
+            return getPool().borrow();
         } catch (SQLException e) {
             System.out.println("❌ Connection Failed: " + e.getMessage());
         }
-        return connection;
+        return null;
+    }
+
+    /**
+     * Copies everything in the write-ahead log into the database file and truncates the log,
+     * so the .db file alone holds all committed data (used before a backup).
+     */
+    public static synchronized void checkpoint() {
+        if (checkpointScheduler != null) checkpointScheduler.checkpoint("TRUNCATE");
+    }
+
+    /**
+     * Registers a callback that runs before the pool is shut down by {@link #closeConnection()}.
+     * The callback may still use {@link #getConnection()} to flush pending writes.
+     *
+     * @param listener callback to run
+     */
+    public static void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
     }
 
     /**
-     * Closes the database connection safely and sets the instance to null.
+     * Runs the close listeners, then shuts down the connection pool and closes all idle connections.
+     * Connections that are still borrowed are closed when they are returned.
      */
     public static void closeConnection() {
-        if (connection != null) {
+        // not synchronized: listeners may borrow connections while flushing
+        for (Runnable listener : closeListeners) {
             try {
-                connection.close();
-                connection = null;
-                System.out.println("🔒 Connection closed.");
-            } catch (SQLException e) {
+                listener.run();
+            } catch (RuntimeException e) {
                 e.printStackTrace();
             }
         }
+        shutdownPool();
+    }
+
+    private static synchronized void shutdownPool() {
+        if (checkpointScheduler != null) {
+            checkpointScheduler.stop();
+            checkpointScheduler.checkpoint("TRUNCATE");
+            checkpointScheduler = null;
+        }
+        if (pool != null) {
+            System.out.println("🔒 Connection pool closed. " + pool);
+            pool.shutdown();
+            pool = null;
+        }
     }
 
     public static String getDatabasePath() {
@@ -1,26 +1,24 @@
 package util;
 
-import java.sql.Connection;
-import java.sql.Statement;
-
 /**
  * DatabaseInitializer
  *
  * <p>
  * This class is responsible for initializing the SQLite database for the Soccer Management System.
- * It creates all required tables if they do not already exist, including users, teams, players, matches,
- * game events, and performance data.
+ * It holds the baseline layout of all tables (the same columns the DAOs query) and runs the
+ * {@link SchemaMigrator}, which creates missing tables and applies newer schema versions.
  * </p>
  *
  * <p>Main Features:
  * <ul>
- *   <li>Creates users table with roles (Admin/Viewer) and unique username</li>
+ *   <li>Creates users table with roles (Admin/Viewer), unique username and unique email</li>
  *   <li>Creates teams table with team name, coach, and founded year</li>
- *   <li>Creates players table linked to teams</li>
- *   <li>Creates matches table with team references, date, location, and result</li>
+ *   <li>Creates players table linked to teams, with a unique jersey number per team</li>
+ *   <li>Creates matches table with home/away team references, date, venue, and scores</li>
  *   <li>Creates game_event table to track in-match events like goals, cards, and substitutions</li>
  *   <li>Creates performance table linking player performance stats to matches</li>
- *   <li>All foreign keys are defined with proper cascading where needed</li>
+ *   <li>Triggers that stop a team from being scheduled against itself</li>
+ *   <li>On an up-to-date database startup costs a single version check</li>
  * </ul>
  * </p>
  *
@@ -36,86 +34,94 @@ import java.sql.Statement;
 public class DatabaseInitializer {
 
     /**
-     * Initializes the database by creating all necessary tables.
+     * Baseline schema (migration 1).
      *
      * <p>Tables created:
      * <ul>
-     *   <li><b>users:</b> id, username, password, role (Admin/Viewer), email</li>
-     *   <li><b>teams:</b> id, name, coach, founded_year</li>
-     *   <li><b>players:</b> id, name, age, position, team_id (FK)</li>
-     *   <li><b>matches:</b> id, team1_id (FK), team2_id (FK), match_date, location, result</li>
-     *   <li><b>game_event:</b> id, match_id (FK), player_id (FK), event_type, event_time, description</li>
-     *   <li><b>performance:</b> id, player_id (FK), match_id (FK), goals, assists, yellow_cards, red_cards, minutes_played, rating</li>
+     *   <li><b>users:</b> user_id, username, password, email, role (Admin/Viewer)</li>
+     *   <li><b>teams:</b> team_id, team_name, coach_name, founded_year</li>
+     *   <li><b>players:</b> player_id, full_name, age, nationality, position, team_id (FK), jersey_number</li>
+     *   <li><b>matches:</b> match_id, home_team (FK), away_team (FK), match_date, venue, home_score, away_score</li>
+     *   <li><b>game_event:</b> event_id, match_id (FK), player_id (FK), event_type, event_time</li>
+     *   <li><b>performance:</b> performance_id, player_id (FK), match_id (FK), goals, assists, minutes_played</li>
      * </ul>
      * </p>
      */
-    public static void initialize() {
-        String[] queries = {
-                "CREATE TABLE IF NOT EXISTS users (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "username TEXT NOT NULL UNIQUE," +
-                        "password TEXT NOT NULL," +
-                        "role TEXT CHECK(role IN ('Admin','Viewer')) NOT NULL," +
-                        "email TEXT);",
+    static final String[] BASELINE_SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS users (" +
+                    "user_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "username TEXT UNIQUE NOT NULL," +
+                    "password TEXT NOT NULL," +
+                    "email TEXT UNIQUE NOT NULL," +
+                    "role TEXT CHECK(role IN ('Admin','Viewer')) NOT NULL)",
 
-                "CREATE TABLE IF NOT EXISTS teams (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "name TEXT NOT NULL UNIQUE," +
-                        "coach TEXT," +
-                        "founded_year INTEGER);",
+            "CREATE TABLE IF NOT EXISTS teams (" +
+                    "team_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "team_name TEXT NOT NULL UNIQUE," +
+                    "coach_name TEXT," +
+                    "founded_year INTEGER)",
 
-                "CREATE TABLE IF NOT EXISTS players (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "name TEXT NOT NULL," +
-                        "age INTEGER," +
-                        "position TEXT," +
-                        "team_id INTEGER," +
-                        "FOREIGN KEY(team_id) REFERENCES teams(id) ON DELETE CASCADE);",
+            "CREATE TABLE IF NOT EXISTS players (" +
+                    "player_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "full_name TEXT NOT NULL," +
+                    "age INTEGER," +
+                    "nationality TEXT," +
+                    "position TEXT," +
+                    "team_id INTEGER," +
+                    "jersey_number INTEGER," +
+                    "FOREIGN KEY(team_id) REFERENCES teams(team_id) ON DELETE SET NULL," +
+                    "CONSTRAINT unique_jersey UNIQUE(team_id, jersey_number))",
 
-                "CREATE TABLE IF NOT EXISTS matches (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "team1_id INTEGER," +
-                        "team2_id INTEGER," +
-                        "match_date TEXT," +
-                        "location TEXT," +
-                        "result TEXT," +
-                        "FOREIGN KEY(team1_id) REFERENCES teams(id)," +
-                        "FOREIGN KEY(team2_id) REFERENCES teams(id));",
+            "CREATE TABLE IF NOT EXISTS matches (" +
+                    "match_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "home_team INTEGER NOT NULL," +
+                    "away_team INTEGER NOT NULL," +
+                    "match_date TEXT," +
+                    "venue TEXT," +
+                    "home_score INTEGER DEFAULT 0," +
+                    "away_score INTEGER DEFAULT 0," +
+                    "FOREIGN KEY(home_team) REFERENCES teams(team_id) ON DELETE CASCADE," +
+                    "FOREIGN KEY(away_team) REFERENCES teams(team_id) ON DELETE CASCADE)",
 
-                "CREATE TABLE IF NOT EXISTS game_event (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "match_id INTEGER NOT NULL," +
-                        "player_id INTEGER," +
-                        "event_type TEXT CHECK(event_type IN ('Goal','Assist','Yellow Card','Red Card','Substitution','Foul'))," +
-                        "event_time INTEGER," +
-                        "description TEXT," +
-                        "FOREIGN KEY(match_id) REFERENCES matches(id) ON DELETE CASCADE," +
-                        "FOREIGN KEY(player_id) REFERENCES players(id));",
+            "CREATE TABLE IF NOT EXISTS game_event (" +
+                    "event_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "match_id INTEGER NOT NULL," +
+                    "player_id INTEGER," +
+                    "event_type TEXT," +
+                    "event_time TEXT," +
+                    "FOREIGN KEY(match_id) REFERENCES matches(match_id) ON DELETE CASCADE," +
+                    "FOREIGN KEY(player_id) REFERENCES players(player_id) ON DELETE CASCADE)",
 
-                "CREATE TABLE IF NOT EXISTS performance (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "player_id INTEGER NOT NULL," +
-                        "match_id INTEGER NOT NULL," +
-                        "goals INTEGER DEFAULT 0," +
-                        "assists INTEGER DEFAULT 0," +
-                        "yellow_cards INTEGER DEFAULT 0," +
-                        "red_cards INTEGER DEFAULT 0," +
-                        "minutes_played INTEGER DEFAULT 0," +
-                        "rating REAL DEFAULT 0.0," +
-                        "FOREIGN KEY(player_id) REFERENCES players(id) ON DELETE CASCADE," +
-                        "FOREIGN KEY(match_id) REFERENCES matches(id) ON DELETE CASCADE);"
-        };
+            "CREATE TABLE IF NOT EXISTS performance (" +
+                    "performance_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "player_id INTEGER NOT NULL," +
+                    "match_id INTEGER NOT NULL," +
+                    "goals INTEGER DEFAULT 0," +
+                    "assists INTEGER DEFAULT 0," +
+                    "minutes_played INTEGER DEFAULT 0," +
+                    "FOREIGN KEY(player_id) REFERENCES players(player_id)," +
+                    "FOREIGN KEY(match_id) REFERENCES matches(match_id))",
 
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement()) {
+            "CREATE TRIGGER IF NOT EXISTS prevent_same_team_insert " +
+                    "BEFORE INSERT ON matches FOR EACH ROW " +
+                    "WHEN NEW.home_team = NEW.away_team " +
+                    "BEGIN SELECT RAISE(ABORT, 'Home team and Away team cannot be the same'); END",
 
-            for (String query : queries) {
-                stmt.execute(query);
-            }
-            System.out.println("✅ All tables created successfully.");
+            "CREATE TRIGGER IF NOT EXISTS prevent_same_team_update " +
+                    "BEFORE UPDATE ON matches FOR EACH ROW " +
+                    "WHEN NEW.home_team = NEW.away_team " +
+                    "BEGIN SELECT RAISE(ABORT, 'Home team and Away team cannot be the same'); END"
+    };
 
-        } catch (Exception e) {
-            System.out.println("❌ Error creating tables: " + e.getMessage());
+    /**
+     * Initializes the database: brings the schema up to the latest version and writes the
+     * index/query plan startup report.
+     */
+    public static void initialize() {
+        int version = SchemaMigrator.migrate();
+        if (version >= 0) {
+            System.out.println("✅ Database schema at version " + version + ".");
+            IndexMigration.writeStartupReport();
         }
     }
 }
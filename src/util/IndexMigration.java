@@ -0,0 +1,173 @@
+package util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IndexMigration
+ *
+ * <p>
+ * Defines the secondary indexes the DAO joins rely on, verifies they exist, and writes a startup
+ * report with the {@code EXPLAIN QUERY PLAN} of the dashboard queries so a missing index or a
+ * query that falls back to a full table scan is easy to spot.
+ * </p>
+ *
+ * <p>Indexes:
+ * <ul>
+ *   <li>Foreign keys: players.team_id, matches.home_team / away_team, game_event.match_id /
+ *       player_id, performance.player_id / match_id</li>
+ *   <li>Covering indexes for the dashboard: players listed by team, matches listed by date,
+ *       events of a match in time order, and per-player performance totals</li>
+ * </ul>
+ * </p>
+ *
+ * <p>The indexes are created by migration 2 of the {@link SchemaMigrator}.</p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * IndexMigration.writeStartupReport();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class IndexMigration {
+
+    /** File the startup report is written to. */
+    public static final String REPORT_FILE = "db_startup_report.txt";
+
+    /** Index name mapped to its CREATE statement. */
+    static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+    static {
+        INDEXES.put("idx_players_team", "CREATE INDEX IF NOT EXISTS idx_players_team ON players(team_id)");
+        INDEXES.put("idx_matches_home_team", "CREATE INDEX IF NOT EXISTS idx_matches_home_team ON matches(home_team)");
+        INDEXES.put("idx_matches_away_team", "CREATE INDEX IF NOT EXISTS idx_matches_away_team ON matches(away_team)");
+        INDEXES.put("idx_game_event_match", "CREATE INDEX IF NOT EXISTS idx_game_event_match ON game_event(match_id, event_time, event_type, player_id)");
+        INDEXES.put("idx_game_event_player", "CREATE INDEX IF NOT EXISTS idx_game_event_player ON game_event(player_id)");
+        INDEXES.put("idx_performance_player", "CREATE INDEX IF NOT EXISTS idx_performance_player ON performance(player_id, goals, assists, minutes_played)");
+        INDEXES.put("idx_performance_match", "CREATE INDEX IF NOT EXISTS idx_performance_match ON performance(match_id)");
+        INDEXES.put("idx_matches_date", "CREATE INDEX IF NOT EXISTS idx_matches_date ON matches(match_date, home_team, away_team, home_score, away_score)");
+    }
+
+    /** Dashboard queries whose plans go into the startup report. */
+    private static final Map<String, String> REPORT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        REPORT_QUERIES.put("players table", """
+                SELECT p.player_id, p.full_name, p.age, p.position, t.team_name, p.jersey_number
+                FROM players p LEFT JOIN teams t ON p.team_id = t.team_id""");
+        REPORT_QUERIES.put("matches table", """
+                SELECT m.match_id, t1.team_name, t2.team_name, m.match_date, m.home_score, m.away_score
+                FROM matches m
+                LEFT JOIN teams t1 ON m.home_team = t1.team_id
+                LEFT JOIN teams t2 ON m.away_team = t2.team_id""");
+        REPORT_QUERIES.put("events table", """
+                SELECT ge.event_id, ge.match_id, p.full_name, t.team_name, ge.event_type, ge.event_time
+                FROM game_event ge
+                LEFT JOIN players p ON ge.player_id = p.player_id
+                LEFT JOIN teams t ON p.team_id = t.team_id""");
+        REPORT_QUERIES.put("performance table", """
+                SELECT p.full_name, t.team_name, pf.goals, pf.assists, pf.minutes_played
+                FROM performance pf
+                JOIN players p ON pf.player_id = p.player_id
+                LEFT JOIN teams t ON p.team_id = t.team_id""");
+        REPORT_QUERIES.put("events of one match", """
+                SELECT event_time, event_type, player_id FROM game_event
+                WHERE match_id = 1 ORDER BY event_time""");
+        REPORT_QUERIES.put("matches of one team", """
+                SELECT match_id FROM matches WHERE home_team = 1
+                UNION ALL SELECT match_id FROM matches WHERE away_team = 1""");
+        REPORT_QUERIES.put("player totals", """
+                SELECT player_id, SUM(goals), SUM(assists), SUM(minutes_played)
+                FROM performance GROUP BY player_id""");
+    }
+
+    /**
+     * Verifies the indexes and writes the startup report. The indexes themselves are created
+     * by migration 2 of the {@link SchemaMigrator}.
+     */
+    public static void writeStartupReport() {
+        try (Connection conn = DBConnection.getConnection()) {
+            writeReport(conn);
+        } catch (SQLException e) {
+            System.out.println("❌ Startup report failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the names of the expected indexes that are missing from the database.
+     *
+     * @param conn connection to use
+     * @return missing index names, empty if everything is in place
+     * @throws SQLException if sqlite_master cannot be read
+     */
+    public static List<String> findMissingIndexes(Connection conn) throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?")) {
+            for (String name : INDEXES.keySet()) {
+                ps.setString(1, name);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) missing.add(name);
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Writes the index check and the query plans of the dashboard queries to {@link #REPORT_FILE}.
+     * A listing query may scan the table it lists; any other "SCAN" step (a joined table, or any
+     * table of a filtered query) is flagged as a regression.
+     */
+    static void writeReport(Connection conn) throws SQLException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(REPORT_FILE), StandardCharsets.UTF_8))) {
+            out.println("Soccer Management System - database startup report");
+            out.println("Generated: " + LocalDateTime.now());
+            out.println();
+
+            List<String> missing = findMissingIndexes(conn);
+            out.println(missing.isEmpty() ? "Indexes: all " + INDEXES.size() + " present" : "Indexes MISSING: " + missing);
+            if (!missing.isEmpty()) System.out.println("⚠️ Missing indexes: " + missing);
+            out.println();
+
+            int flagged = 0;
+            for (Map.Entry<String, String> query : REPORT_QUERIES.entrySet()) {
+                out.println("== " + query.getKey() + " ==");
+                boolean filtered = query.getValue().toUpperCase().contains("WHERE");
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + query.getValue())) {
+                    int tableAccess = 0;
+                    while (rs.next()) {
+                        String detail = rs.getString("detail");
+                        boolean access = detail.startsWith("SCAN") || detail.startsWith("SEARCH");
+                        boolean suspicious = detail.startsWith("SCAN") && (filtered || tableAccess > 0);
+                        if (access) tableAccess++;
+                        if (suspicious) flagged++;
+                        out.println((suspicious ? "  !! " : "     ") + detail);
+                    }
+                }
+                out.println();
+            }
+            out.println("Flagged plan steps: " + flagged);
+            if (flagged > 0) System.out.println("⚠️ " + flagged + " query plan step(s) fall back to a scan, see " + REPORT_FILE);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write " + REPORT_FILE + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PooledConnection
+ *
+ * <p>
+ * Holds one physical connection owned by a {@link ConnectionPool}. Every time the connection is
+ * borrowed a new lease (a {@link Connection} proxy) is created. Closing the lease returns the
+ * physical connection to the pool; any statement opened through the lease and left open by the
+ * caller is closed at that point so nothing leaks between borrowers.
+ * </p>
+ *
+ * <p>
+ * {@code prepareStatement(sql)} calls go through a per-connection {@link StatementCache}, so
+ * repeated DAO calls reuse the already compiled statement instead of parsing the SQL again.
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+class PooledConnection {
+
+    private final ConnectionPool pool;
+    private Connection physical;
+    private StatementCache statementCache;
+    private long lastReturned = System.currentTimeMillis();
+
+    PooledConnection(ConnectionPool pool, Connection physical) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = new StatementCache(physical, StatementCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Checks that the physical connection is still open. Connections that were idle for longer
+     * than {@code validateAfterIdleMs} are also validated with {@link Connection#isValid(int)}.
+     */
+    boolean isHealthy(long validateAfterIdleMs, int timeoutSeconds) {
+        try {
+            if (physical == null || physical.isClosed()) return false;
+            if (System.currentTimeMillis() - lastReturned < validateAfterIdleMs) return true;
+            return physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** Replaces a broken physical connection with a freshly opened one. */
+    void reopen(Connection fresh) {
+        closePhysical();
+        physical = fresh;
+        statementCache = new StatementCache(fresh, StatementCache.DEFAULT_CAPACITY);
+    }
+
+    /** Creates a new lease on the physical connection. */
+    Connection lease() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease());
+    }
+
+    /** Puts the physical connection back into auto-commit mode after a borrower used transactions. */
+    void resetState() {
+        lastReturned = System.currentTimeMillis();
+        try {
+            if (physical != null && !physical.isClosed() && !physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            // the health check will replace the connection on the next borrow
+            closePhysical();
+        }
+    }
+
+    /** Returns the statement cache of the current physical connection. */
+    StatementCache getStatementCache() { return statementCache; }
+
+    /** Closes the physical connection, ignoring errors. */
+    void closePhysical() {
+        if (physical == null) return;
+        statementCache.closeAll();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        physical = null;
+    }
+
+    /**
+     * Invocation handler behind a single lease. Only valid until {@code close()} is called.
+     */
+    private class Lease implements InvocationHandler {
+
+        private final List<Statement> openStatements = new ArrayList<>();
+        private boolean closed = false;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        closeStatements();
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical == null || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection" + (closed ? "[returned]" : "[" + physical + "]");
+                default:
+                    break;
+            }
+
+            if (closed) throw new SQLException("Connection has already been returned to the pool");
+
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String) {
+                Statement cached = null;
+                if (args.length == 1) {
+                    cached = statementCache.prepare((String) args[0]);
+                } else if (args.length == 2 && args[1] instanceof Integer) {
+                    cached = statementCache.prepare((String) args[0], (Integer) args[1]);
+                }
+                if (cached != null) {
+                    openStatements.add(cached);
+                    return cached;
+                }
+            }
+
+            try {
+                Object result = method.invoke(physical, args);
+                if (result instanceof Statement) openStatements.add((Statement) result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void closeStatements() {
+            for (Statement stmt : openStatements) {
+                try {
+                    stmt.close();
+                } catch (SQLException ignored) {
+                    // statement is already unusable, nothing else to do
+                }
+            }
+            openStatements.clear();
+        }
+    }
+}
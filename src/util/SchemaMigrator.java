@@ -0,0 +1,409 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SchemaMigrator
+ *
+ * <p>
+ * Versioned schema migration engine. Every change to the database layout is a numbered
+ * {@link Migration} made of idempotent SQL statements. Applied migrations are recorded in the
+ * {@code schema_version} table together with a checksum of their SQL, so an edited migration is
+ * detected instead of silently diverging.
+ * </p>
+ *
+ * <p>Startup cost:
+ * <ul>
+ *   <li>Up-to-date database: a single query on {@code schema_version}.</li>
+ *   <li>Older database: all pending migrations run in one transaction; if any statement fails the
+ *       whole upgrade is rolled back and the database keeps its previous version.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Migrations:
+ * <ol>
+ *   <li>Baseline tables and triggers ({@link DatabaseInitializer#BASELINE_SCHEMA})</li>
+ *   <li>Foreign-key and covering indexes ({@link IndexMigration#INDEXES})</li>
+ *   <li>Trigger-maintained row counters for the admin dashboard ({@code dashboard_counters})</li>
+ *   <li>FTS5 full-text index over players, teams, matches and events ({@code search_index})</li>
+ *   <li>Trigger-maintained per-player season totals ({@code player_season_stats})</li>
+ *   <li>Team rating history written by the rating engine ({@code team_rating_history})</li>
+ *   <li>{@code performance} rebuilt with cascading deletes, so foreign_keys can stay on</li>
+ * </ol>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * int version = SchemaMigrator.migrate();
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class SchemaMigrator {
+
+    private static final String VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                checksum TEXT NOT NULL,
+                applied_at TEXT NOT NULL DEFAULT (datetime('now')))""";
+
+    /** Tables whose row count is kept in {@code dashboard_counters}. */
+    static final String[] COUNTED_TABLES = {"players", "teams", "matches", "game_event"};
+
+    /**
+     * Indexed tables in {@link model.SearchHit.Kind} order: table, key, title, detail. A row is
+     * stored under rowid {@code key * 4 + kind}, so every source row has exactly one entry.
+     */
+    private static final String[][] SEARCH_SOURCES = {
+            {"players", "player_id", "full_name", "COALESCE(%1$snationality, '') || ' ' || COALESCE(%1$sposition, '')"},
+            {"teams", "team_id", "team_name", "COALESCE(%1$scoach_name, '')"},
+            {"matches", "match_id", "venue", "COALESCE(%1$smatch_date, '')"},
+            {"game_event", "event_id", "event_type", "COALESCE(%1$sevent_time, '')"},
+    };
+
+    /** Season of the match a performance row belongs to: the year of its date. */
+    private static final String SEASON_OF = "COALESCE((SELECT substr(match_date, 1, 4) FROM matches "
+            + "WHERE match_id = %1$smatch_id), 'unknown')";
+
+    /**
+     * Totals of every player and season computed from the base tables, in the column order of
+     * {@code player_season_stats}. Used to fill the summary and to verify it.
+     */
+    public static final String PLAYER_SEASON_TOTALS = "SELECT pf.player_id, "
+            + "COALESCE(substr(m.match_date, 1, 4), 'unknown'), COUNT(*), SUM(COALESCE(pf.goals, 0)), "
+            + "SUM(COALESCE(pf.assists, 0)), SUM(COALESCE(pf.minutes_played, 0)) "
+            + "FROM performance pf LEFT JOIN matches m ON m.match_id = pf.match_id GROUP BY 1, 2";
+
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        MIGRATIONS.add(new Migration(1, "baseline tables and triggers", DatabaseInitializer.BASELINE_SCHEMA));
+
+        List<String> indexes = new ArrayList<>(IndexMigration.INDEXES.values());
+        indexes.add("ANALYZE");
+        MIGRATIONS.add(new Migration(2, "foreign key and covering indexes", indexes));
+
+        MIGRATIONS.add(new Migration(3, "dashboard row counters", dashboardCounters()));
+
+        MIGRATIONS.add(new Migration(4, "full-text search index", searchIndex()));
+
+        MIGRATIONS.add(new Migration(5, "player season totals", playerSeasonStats()));
+
+        MIGRATIONS.add(new Migration(6, "team rating history",
+                "CREATE TABLE IF NOT EXISTS team_rating_history ("
+                        + "seq INTEGER PRIMARY KEY, match_id INTEGER NOT NULL, match_date TEXT, "
+                        + "home_team INTEGER NOT NULL, away_team INTEGER NOT NULL, "
+                        + "home_before REAL NOT NULL, away_before REAL NOT NULL, "
+                        + "home_after REAL NOT NULL, away_after REAL NOT NULL)",
+                "CREATE INDEX IF NOT EXISTS idx_rating_history_match ON team_rating_history(match_id)"));
+
+        MIGRATIONS.add(new Migration(7, "cascade performance deletes", cascadePerformance()));
+    }
+
+    /**
+     * One counter row per table, seeded from the current row count and kept up to date by an
+     * insert and a delete trigger (cascaded deletes fire them as well).
+     */
+    private static List<String> dashboardCounters() {
+        List<String> sql = new ArrayList<>();
+        sql.add("CREATE TABLE IF NOT EXISTS dashboard_counters ("
+                + "table_name TEXT PRIMARY KEY, row_count INTEGER NOT NULL DEFAULT 0)");
+        for (String table : COUNTED_TABLES) {
+            sql.add("INSERT OR REPLACE INTO dashboard_counters (table_name, row_count) "
+                    + "SELECT '" + table + "', COUNT(*) FROM " + table);
+            sql.add("CREATE TRIGGER IF NOT EXISTS count_" + table + "_insert AFTER INSERT ON " + table + " "
+                    + "BEGIN UPDATE dashboard_counters SET row_count = row_count + 1 WHERE table_name = '" + table + "'; END");
+            sql.add("CREATE TRIGGER IF NOT EXISTS count_" + table + "_delete AFTER DELETE ON " + table + " "
+                    + "BEGIN UPDATE dashboard_counters SET row_count = row_count - 1 WHERE table_name = '" + table + "'; END");
+        }
+        return sql;
+    }
+
+    /**
+     * FTS5 table filled from the current rows and kept in sync by insert, update and delete
+     * triggers on the source tables.
+     */
+    private static List<String> searchIndex() {
+        List<String> sql = new ArrayList<>();
+        sql.add("CREATE VIRTUAL TABLE IF NOT EXISTS search_index USING fts5(kind UNINDEXED, title, detail, "
+                + "tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3')");
+        sql.add("DELETE FROM search_index");
+        for (int kind = 0; kind < SEARCH_SOURCES.length; kind++) {
+            String table = SEARCH_SOURCES[kind][0];
+            String key = SEARCH_SOURCES[kind][1];
+            String title = SEARCH_SOURCES[kind][2];
+            String detail = SEARCH_SOURCES[kind][3];
+
+            sql.add("INSERT INTO search_index (rowid, kind, title, detail) SELECT " + key + " * 4 + " + kind + ", "
+                    + kind + ", " + title + ", " + String.format(detail, "") + " FROM " + table);
+
+            String insert = "INSERT INTO search_index (rowid, kind, title, detail) VALUES (NEW." + key + " * 4 + "
+                    + kind + ", " + kind + ", NEW." + title + ", " + String.format(detail, "NEW.") + ")";
+            String delete = "DELETE FROM search_index WHERE rowid = OLD." + key + " * 4 + " + kind;
+            sql.add("CREATE TRIGGER IF NOT EXISTS search_" + table + "_insert AFTER INSERT ON " + table
+                    + " BEGIN " + insert + "; END");
+            sql.add("CREATE TRIGGER IF NOT EXISTS search_" + table + "_update AFTER UPDATE ON " + table
+                    + " BEGIN " + delete + "; " + insert + "; END");
+            sql.add("CREATE TRIGGER IF NOT EXISTS search_" + table + "_delete AFTER DELETE ON " + table
+                    + " BEGIN " + delete + "; END");
+        }
+        return sql;
+    }
+
+    /**
+     * Summary of {@code performance} per player and season. Triggers add a row's values on
+     * insert, subtract them on delete and do both on update; moving a match to another year moves
+     * its rows to the other season. Totals that drop to zero appearances are removed.
+     */
+    private static List<String> playerSeasonStats() {
+        List<String> sql = new ArrayList<>();
+        sql.add("CREATE TABLE IF NOT EXISTS player_season_stats ("
+                + "player_id INTEGER NOT NULL, season TEXT NOT NULL, "
+                + "appearances INTEGER NOT NULL DEFAULT 0, goals INTEGER NOT NULL DEFAULT 0, "
+                + "assists INTEGER NOT NULL DEFAULT 0, minutes_played INTEGER NOT NULL DEFAULT 0, "
+                + "PRIMARY KEY (player_id, season)) WITHOUT ROWID");
+        sql.add("DELETE FROM player_season_stats");
+        sql.add("INSERT INTO player_season_stats " + PLAYER_SEASON_TOTALS);
+
+        sql.addAll(seasonStatsTriggers());
+
+        String moved = "SELECT player_id, %s, %s, %sCOALESCE(goals, 0), %sCOALESCE(assists, 0), "
+                + "%sCOALESCE(minutes_played, 0) FROM performance WHERE match_id = NEW.match_id";
+        sql.add("CREATE TRIGGER IF NOT EXISTS season_stats_match_date AFTER UPDATE OF match_date ON matches "
+                + "WHEN substr(OLD.match_date, 1, 4) IS NOT substr(NEW.match_date, 1, 4) BEGIN "
+                + seasonUpsert(String.format(moved, "COALESCE(substr(OLD.match_date, 1, 4), 'unknown')", "-1", "-", "-", "-")) + "; "
+                + seasonUpsert(String.format(moved, "COALESCE(substr(NEW.match_date, 1, 4), 'unknown')", "1", "", "", "")) + "; "
+                + "DELETE FROM player_season_stats WHERE appearances <= 0; END");
+        return sql;
+    }
+
+    /**
+     * Rebuilds {@code performance} with {@code ON DELETE CASCADE} on both foreign keys, so
+     * deleting a player, match or team with foreign_keys enabled also removes its performance
+     * rows instead of failing on them. SQLite cannot alter a
+     * constraint, so the rows are copied out, the table is recreated under the same name (a
+     * rename would trip over the triggers on {@code matches} that read it) and its indexes and
+     * season triggers are created again. Rows pointing at a missing player or match cannot be
+     * copied with the constraint enforced; they are dropped and the season totals recomputed.
+     *
+     * <p>A cascade runs after its parent row is gone, when the season triggers can no longer read
+     * the match date, so the rows of a deleted match (also one deleted with its team) are removed
+     * by a BEFORE DELETE trigger on {@code matches} instead.</p>
+     */
+    private static List<String> cascadePerformance() {
+        List<String> sql = new ArrayList<>();
+        sql.add("DROP TABLE IF EXISTS performance_old");
+        sql.add("CREATE TABLE performance_old AS SELECT * FROM performance");
+        sql.add("DROP TABLE performance");
+        sql.add("CREATE TABLE performance ("
+                + "performance_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "player_id INTEGER NOT NULL, "
+                + "match_id INTEGER NOT NULL, "
+                + "goals INTEGER DEFAULT 0, "
+                + "assists INTEGER DEFAULT 0, "
+                + "minutes_played INTEGER DEFAULT 0, "
+                + "FOREIGN KEY(player_id) REFERENCES players(player_id) ON DELETE CASCADE, "
+                + "FOREIGN KEY(match_id) REFERENCES matches(match_id) ON DELETE CASCADE)");
+        sql.add("INSERT INTO performance (performance_id, player_id, match_id, goals, assists, minutes_played) "
+                + "SELECT performance_id, player_id, match_id, goals, assists, minutes_played FROM performance_old "
+                + "WHERE player_id IN (SELECT player_id FROM players) AND match_id IN (SELECT match_id FROM matches)");
+        sql.add("DROP TABLE performance_old");
+        sql.add(IndexMigration.INDEXES.get("idx_performance_player"));
+        sql.add(IndexMigration.INDEXES.get("idx_performance_match"));
+        sql.addAll(seasonStatsTriggers());
+        sql.add("CREATE TRIGGER IF NOT EXISTS performance_match_delete BEFORE DELETE ON matches "
+                + "BEGIN DELETE FROM performance WHERE match_id = OLD.match_id; END");
+        sql.add("DELETE FROM player_season_stats");
+        sql.add("INSERT INTO player_season_stats " + PLAYER_SEASON_TOTALS);
+        sql.add("ANALYZE performance");
+        return sql;
+    }
+
+    /**
+     * Triggers that keep {@code player_season_stats} in step with {@code performance}: add a
+     * row's values on insert, subtract them on delete and do both on update.
+     */
+    private static List<String> seasonStatsTriggers() {
+        List<String> sql = new ArrayList<>();
+        String add = seasonDelta("NEW.player_id", String.format(SEASON_OF, "NEW."), "1",
+                "COALESCE(NEW.goals, 0)", "COALESCE(NEW.assists, 0)", "COALESCE(NEW.minutes_played, 0)");
+        String subtract = seasonDelta("OLD.player_id", String.format(SEASON_OF, "OLD."), "-1",
+                "-COALESCE(OLD.goals, 0)", "-COALESCE(OLD.assists, 0)", "-COALESCE(OLD.minutes_played, 0)");
+        // only the old row's player can have dropped to zero, so the primary key narrows the delete
+        String cleanup = "DELETE FROM player_season_stats WHERE player_id = OLD.player_id AND appearances <= 0";
+
+        sql.add("CREATE TRIGGER IF NOT EXISTS season_stats_insert AFTER INSERT ON performance BEGIN "
+                + add + "; END");
+        sql.add("CREATE TRIGGER IF NOT EXISTS season_stats_update AFTER UPDATE OF player_id, match_id, goals, "
+                + "assists, minutes_played ON performance BEGIN " + subtract + "; " + cleanup + "; " + add + "; END");
+        sql.add("CREATE TRIGGER IF NOT EXISTS season_stats_delete AFTER DELETE ON performance BEGIN "
+                + subtract + "; " + cleanup + "; END");
+        return sql;
+    }
+
+    /** Adds one row of values to the totals of a player and season, creating them if needed. */
+    private static String seasonDelta(String player, String season, String appearances,
+                                      String goals, String assists, String minutes) {
+        return seasonUpsert("SELECT " + player + ", " + season + ", " + appearances + ", " + goals + ", "
+                + assists + ", " + minutes + " WHERE true");
+    }
+
+    /** The SELECT must end in a WHERE clause, otherwise SQLite reads ON CONFLICT as a join constraint. */
+    private static String seasonUpsert(String select) {
+        return "INSERT INTO player_season_stats (player_id, season, appearances, goals, assists, minutes_played) "
+                + select + " ON CONFLICT (player_id, season) DO UPDATE SET "
+                + "appearances = appearances + excluded.appearances, goals = goals + excluded.goals, "
+                + "assists = assists + excluded.assists, minutes_played = minutes_played + excluded.minutes_played";
+    }
+
+    /**
+     * Brings the database up to the latest schema version.
+     *
+     * @return the schema version after the upgrade, or -1 if the upgrade failed
+     */
+    public static int migrate() {
+        try (Connection conn = DBConnection.getConnection()) {
+            Map<Integer, String> applied = readAppliedVersions(conn);
+            int current = applied.isEmpty() ? 0 : Collections.max(applied.keySet());
+            verifyChecksums(applied);
+
+            if (current >= getLatestVersion()) return current;
+            return upgrade(conn, current);
+        } catch (SQLException e) {
+            System.out.println("❌ Schema migration failed: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /** Returns the version of the newest registered migration. */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /** Returns the registered migrations in version order. */
+    public static List<Migration> getMigrations() {
+        return Collections.unmodifiableList(MIGRATIONS);
+    }
+
+    /**
+     * Reads version and checksum of every applied migration. A missing schema_version table
+     * means a fresh (or pre-migration) database at version 0.
+     */
+    private static Map<Integer, String> readAppliedVersions(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) applied.put(rs.getInt("version"), rs.getString("checksum"));
+        } catch (SQLException e) {
+            if (!String.valueOf(e.getMessage()).contains("no such table")) throw e;
+        }
+        return applied;
+    }
+
+    private static void verifyChecksums(Map<Integer, String> applied) {
+        for (Migration m : MIGRATIONS) {
+            String stored = applied.get(m.getVersion());
+            if (stored != null && !stored.equals(m.getChecksum())) {
+                System.out.println("⚠️ Migration " + m.getVersion() + " (" + m.getDescription()
+                        + ") was changed after it was applied to this database.");
+            }
+        }
+    }
+
+    /** Applies every migration newer than {@code current} in a single transaction. */
+    private static int upgrade(Connection conn, int current) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement record = conn.prepareStatement(
+                     "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+            stmt.execute(VERSION_TABLE);
+
+            // another instance may have upgraded between our check and taking the write lock
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                if (rs.next()) current = Math.max(current, rs.getInt(1));
+            }
+
+            int version = current;
+            for (Migration m : MIGRATIONS) {
+                if (m.getVersion() <= current) continue;
+                for (String sql : m.getStatements()) stmt.execute(sql);
+                record.setInt(1, m.getVersion());
+                record.setString(2, m.getDescription());
+                record.setString(3, m.getChecksum());
+                record.executeUpdate();
+                version = m.getVersion();
+                System.out.println("✅ Applied migration " + m.getVersion() + ": " + m.getDescription());
+            }
+            conn.commit();
+            return version;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * A single numbered schema change.
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<String> statements;
+        private final String checksum;
+
+        /**
+         * @param version     version reached after this migration, strictly increasing
+         * @param description short human readable description
+         * @param statements  idempotent SQL statements, executed in order
+         */
+        public Migration(int version, String description, List<String> statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = Collections.unmodifiableList(new ArrayList<>(statements));
+            this.checksum = sha256(String.join(";\n", statements));
+        }
+
+        public Migration(int version, String description, String... statements) {
+            this(version, description, Arrays.asList(statements));
+        }
+
+        /** Returns the version reached after this migration. */
+        public int getVersion() { return version; }
+
+        /** Returns the description of this migration. */
+        public String getDescription() { return description; }
+
+        /** Returns the SQL statements of this migration. */
+        public List<String> getStatements() { return statements; }
+
+        /** Returns the SHA-256 checksum of the SQL statements. */
+        public String getChecksum() { return checksum; }
+
+        private static String sha256(String text) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder(hash.length * 2);
+                for (byte b : hash) hex.append(String.format("%02x", b));
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
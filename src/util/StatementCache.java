@@ -0,0 +1,247 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StatementCache
+ *
+ * <p>
+ * LRU cache of prepared statements for a single physical connection, keyed by SQL text.
+ * Statements handed out by the cache are proxies: closing them (for example from
+ * try-with-resources) only clears their parameters and returns them to the cache, so the next
+ * {@code prepareStatement} call with the same SQL skips parsing. When the cache is full the least
+ * recently used statement is closed right away (or as soon as its current user returns it).
+ * </p>
+ *
+ * <p>
+ * A cache belongs to exactly one {@link PooledConnection}, and a pooled connection is used by one
+ * borrower at a time, so the cache itself needs no locking. Hit/miss/eviction counters are kept
+ * per cache and summed over all caches.
+ * </p>
+ *
+ * <p>The capacity can be changed with the system property {@code soccer.db.statementCacheSize}.</p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class StatementCache {
+
+    /** Number of statements kept per connection. */
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("soccer.db.statementCacheSize", 64);
+
+    /** Marker for statements prepared without the autoGeneratedKeys flag. */
+    private static final int NO_KEYS_FLAG = -1;
+
+    private static final LongAdder TOTAL_HITS = new LongAdder();
+    private static final LongAdder TOTAL_MISSES = new LongAdder();
+    private static final LongAdder TOTAL_EVICTIONS = new LongAdder();
+
+    private final Connection physical;
+    private final int capacity;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param physical connection the statements are prepared on
+     * @param capacity maximum number of cached statements
+     */
+    StatementCache(Connection physical, int capacity) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached one when possible.
+     *
+     * @param sql               SQL text
+     * @param autoGeneratedKeys {@link java.sql.Statement#RETURN_GENERATED_KEYS} or
+     *                          {@link java.sql.Statement#NO_GENERATED_KEYS}, or -1 if not specified
+     * @return a statement proxy; closing it returns the statement to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == NO_KEYS_FLAG ? sql : autoGeneratedKeys + "\u0000" + sql;
+        Entry entry = entries.get(key);
+
+        if (entry != null && !entry.inUse && !entry.statement.isClosed()) {
+            hits++;
+            TOTAL_HITS.increment();
+        } else {
+            misses++;
+            TOTAL_MISSES.increment();
+            PreparedStatement stmt = autoGeneratedKeys == NO_KEYS_FLAG
+                    ? physical.prepareStatement(sql)
+                    : physical.prepareStatement(sql, autoGeneratedKeys);
+            if (entry != null && entry.inUse) {
+                // the same SQL is already checked out in this lease: hand out an uncached statement
+                return stmt;
+            }
+            entry = new Entry(stmt);
+            entries.put(key, entry);
+            evictOverflow();
+        }
+
+        entry.inUse = true;
+        return entry.checkout();
+    }
+
+    /** Prepares a statement without the autoGeneratedKeys flag. */
+    PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, NO_KEYS_FLAG);
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            evictions++;
+            TOTAL_EVICTIONS.increment();
+            if (eldest.inUse) {
+                eldest.evicted = true;   // closed when its user returns it
+            } else {
+                eldest.closeQuietly();
+            }
+        }
+    }
+
+    /** Closes every cached statement. Called when the physical connection goes away. */
+    void closeAll() {
+        for (Entry entry : entries.values()) entry.closeQuietly();
+        entries.clear();
+    }
+
+    /** Returns the number of statements currently cached. */
+    public int size() { return entries.size(); }
+
+    /** Returns the number of cache hits on this connection. */
+    public long getHits() { return hits; }
+
+    /** Returns the number of cache misses on this connection. */
+    public long getMisses() { return misses; }
+
+    /** Returns the number of statements evicted on this connection. */
+    public long getEvictions() { return evictions; }
+
+    /** Returns the number of cache hits across all connections. */
+    public static long getTotalHits() { return TOTAL_HITS.sum(); }
+
+    /** Returns the number of cache misses across all connections. */
+    public static long getTotalMisses() { return TOTAL_MISSES.sum(); }
+
+    /** Returns the number of statements evicted across all connections. */
+    public static long getTotalEvictions() { return TOTAL_EVICTIONS.sum(); }
+
+    /** Returns a one-line summary of the global counters. */
+    public static String describeTotals() {
+        return "StatementCache[hits=" + getTotalHits() + ", misses=" + getTotalMisses()
+                + ", evictions=" + getTotalEvictions() + "]";
+    }
+
+    /**
+     * A cached statement and its checkout state.
+     */
+    private static class Entry {
+        final PreparedStatement statement;
+        boolean inUse = false;
+        boolean evicted = false;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement checkout() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Checkout(this));
+        }
+
+        /** Resets the statement for the next user, or closes it if it was evicted meanwhile. */
+        void giveBack() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // nothing useful to do with a statement that cannot be closed
+            }
+        }
+    }
+
+    /**
+     * Invocation handler behind one checkout of a cached statement.
+     * Result sets opened through the checkout are closed when it is returned.
+     */
+    private static class Checkout implements InvocationHandler {
+        private final Entry entry;
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private boolean closed = false;
+
+        Checkout(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        for (ResultSet rs : resultSets) {
+                            try { rs.close(); } catch (SQLException ignored) { }
+                        }
+                        resultSets.clear();
+                        entry.giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (closed) throw new SQLException("Statement has already been returned to the cache");
+
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet) resultSets.add((ResultSet) result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
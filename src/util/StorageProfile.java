@@ -0,0 +1,147 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * StorageProfile
+ *
+ * <p>
+ * Describes the SQLite pragmas applied to every new database connection. The defaults put the
+ * database in WAL mode so viewers keep reading while an admin writes match events, and relax
+ * fsync to once per checkpoint instead of once per commit.
+ * </p>
+ *
+ * <p>Settings (system property, default):
+ * <ul>
+ *   <li>{@code soccer.db.journalMode} - journal_mode, {@code WAL}</li>
+ *   <li>{@code soccer.db.synchronous} - synchronous, {@code NORMAL}</li>
+ *   <li>{@code soccer.db.foreignKeys} - foreign_keys, {@code true}</li>
+ *   <li>{@code soccer.db.mmapSize} - mmap_size in bytes, 64 MB</li>
+ *   <li>{@code soccer.db.cacheSize} - cache_size (negative means KiB), {@code -16000}</li>
+ *   <li>{@code soccer.db.tempStore} - temp_store, {@code MEMORY}</li>
+ *   <li>{@code soccer.db.busyTimeoutMs} - busy_timeout in milliseconds, {@code 5000}</li>
+ *   <li>{@code soccer.db.checkpointSeconds} - interval of the WAL checkpoint scheduler, {@code 30}</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>
+ * StorageProfile profile = StorageProfile.fromSystemProperties();
+ * profile.apply(connection);
+ * </pre>
+ * </p>
+ *
+ * @author Loay
+ * @version 1.0
+ */
+public class StorageProfile {
+
+    private String journalMode = "WAL";
+    private String synchronous = "NORMAL";
+    private boolean foreignKeys = true;
+    private long mmapSize = 64L * 1024 * 1024;
+    private int cacheSize = -16000;
+    private String tempStore = "MEMORY";
+    private int busyTimeoutMs = 5000;
+    private int checkpointIntervalSeconds = 30;
+
+    /**
+     * Builds a profile from the {@code soccer.db.*} system properties, falling back to the defaults.
+     *
+     * @return the configured StorageProfile
+     */
+    public static StorageProfile fromSystemProperties() {
+        StorageProfile p = new StorageProfile();
+        p.journalMode = System.getProperty("soccer.db.journalMode", p.journalMode).toUpperCase();
+        p.synchronous = System.getProperty("soccer.db.synchronous", p.synchronous).toUpperCase();
+        p.foreignKeys = Boolean.parseBoolean(System.getProperty("soccer.db.foreignKeys", String.valueOf(p.foreignKeys)));
+        p.mmapSize = Long.getLong("soccer.db.mmapSize", p.mmapSize);
+        p.cacheSize = Integer.getInteger("soccer.db.cacheSize", p.cacheSize);
+        p.tempStore = System.getProperty("soccer.db.tempStore", p.tempStore).toUpperCase();
+        p.busyTimeoutMs = Integer.getInteger("soccer.db.busyTimeoutMs", p.busyTimeoutMs);
+        p.checkpointIntervalSeconds = Integer.getInteger("soccer.db.checkpointSeconds", p.checkpointIntervalSeconds);
+        return p;
+    }
+
+    /**
+     * Applies the pragmas to a freshly opened connection.
+     *
+     * @param conn connection to configure
+     * @throws SQLException if one of the pragmas is rejected
+     */
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // busy_timeout first so the journal_mode switch waits for other connections
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMs);
+            stmt.execute("PRAGMA journal_mode = " + journalMode);
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA foreign_keys = " + (foreignKeys ? "ON" : "OFF"));
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+
+    /** Returns true if the profile uses write-ahead logging. */
+    public boolean isWal() { return "WAL".equals(journalMode); }
+
+    // ---------- Getters & Setters ----------
+
+    /** Returns the journal mode. */
+    public String getJournalMode() { return journalMode; }
+
+    /** Sets the journal mode (WAL, DELETE, TRUNCATE, ...). */
+    public void setJournalMode(String journalMode) { this.journalMode = journalMode.toUpperCase(); }
+
+    /** Returns the synchronous level. */
+    public String getSynchronous() { return synchronous; }
+
+    /** Sets the synchronous level (OFF, NORMAL, FULL). */
+    public void setSynchronous(String synchronous) { this.synchronous = synchronous.toUpperCase(); }
+
+    /** Returns whether foreign key enforcement is enabled. */
+    public boolean isForeignKeys() { return foreignKeys; }
+
+    /** Enables or disables foreign key enforcement. */
+    public void setForeignKeys(boolean foreignKeys) { this.foreignKeys = foreignKeys; }
+
+    /** Returns the memory-mapped I/O size in bytes. */
+    public long getMmapSize() { return mmapSize; }
+
+    /** Sets the memory-mapped I/O size in bytes. */
+    public void setMmapSize(long mmapSize) { this.mmapSize = mmapSize; }
+
+    /** Returns the page cache size (negative values are KiB). */
+    public int getCacheSize() { return cacheSize; }
+
+    /** Sets the page cache size (negative values are KiB). */
+    public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+
+    /** Returns where temporary tables and indexes are stored. */
+    public String getTempStore() { return tempStore; }
+
+    /** Sets where temporary tables and indexes are stored (DEFAULT, FILE, MEMORY). */
+    public void setTempStore(String tempStore) { this.tempStore = tempStore.toUpperCase(); }
+
+    /** Returns how long a connection waits on a locked database, in milliseconds. */
+    public int getBusyTimeoutMs() { return busyTimeoutMs; }
+
+    /** Sets how long a connection waits on a locked database, in milliseconds. */
+    public void setBusyTimeoutMs(int busyTimeoutMs) { this.busyTimeoutMs = busyTimeoutMs; }
+
+    /** Returns the interval of the WAL checkpoint scheduler in seconds (0 disables it). */
+    public int getCheckpointIntervalSeconds() { return checkpointIntervalSeconds; }
+
+    /** Sets the interval of the WAL checkpoint scheduler in seconds (0 disables it). */
+    public void setCheckpointIntervalSeconds(int checkpointIntervalSeconds) { this.checkpointIntervalSeconds = checkpointIntervalSeconds; }
+
+    @Override
+    public String toString() {
+        return "StorageProfile[journal_mode=" + journalMode + ", synchronous=" + synchronous
+                + ", foreign_keys=" + foreignKeys + ", mmap_size=" + mmapSize + ", cache_size=" + cacheSize
+                + ", temp_store=" + tempStore + ", busy_timeout=" + busyTimeoutMs
+                + ", checkpoint=" + checkpointIntervalSeconds + "s]";
+    }
+}